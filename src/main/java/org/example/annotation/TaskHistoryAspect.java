@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.example.config.cache.CacheInvalidationService;
 import org.example.dto.NotificationDto;
 import org.example.entity.Status;
 import org.example.entity.TaskEntity;
@@ -13,13 +14,13 @@ import org.example.exception.NotFoundException;
 import org.example.repository.TaskHistoryRepository;
 import org.example.repository.TaskRepository;
 import org.example.service.NotificationService;
-import org.example.service.TaskService;
 import org.example.service.UserService;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.lang.reflect.UndeclaredThrowableException;
 import java.time.LocalDateTime;
 import java.util.Objects;
-import java.util.Optional;
 
 @Aspect
 @Component
@@ -30,47 +31,74 @@ public class TaskHistoryAspect {
     private final NotificationService notificationService;
     private final TaskRepository taskRepository;
     private final TaskHistoryRepository taskHistoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheInvalidationService cacheInvalidationService;
 
+    // Аспект стоит снаружи @Transactional сервиса, поэтому сам открывает транзакцию:
+    // сервис к ней присоединяется и получает ту же managed-сущность из persistence context
+    // без второго SELECT, а история пишется атомарно со сменой статуса
     @Around("@annotation(org.example.annotation.TrackTaskHistory)")
     public Object TaskChangeStatus(ProceedingJoinPoint joinPoint) throws Throwable{
 
         Object[] args = joinPoint.getArgs();
         Long taskId = (Long) args[0];
         Status newStatus = (Status) args[1];
-        TaskEntity task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new NotFoundException("Task not found"));
-        Status oldStatus = task.getStatus();
 
-        Object result = joinPoint.proceed();
+        StatusChange change = transactionTemplate.execute(status -> {
+            TaskEntity task = taskRepository.findById(taskId)
+                    .orElseThrow(() -> new NotFoundException("Task not found"));
+            Status oldStatus = task.getStatus();
 
-        UserEntity currentUser = userService.getCurrentUser();
+            Object result = proceed(joinPoint);
 
-        TaskHistoryEntity taskHistory = TaskHistoryEntity.builder()
-                .oldStatus(oldStatus)
-                .newStatus(newStatus)
-                .task(task)
-                .changedBy(currentUser)
-                .changedAt(LocalDateTime.now())
-                .build();
+            UserEntity currentUser = userService.getCurrentUser();
 
-        taskHistoryRepository.save(taskHistory);
+            TaskHistoryEntity taskHistory = TaskHistoryEntity.builder()
+                    .oldStatus(oldStatus)
+                    .newStatus(newStatus)
+                    .task(task)
+                    .changedBy(currentUser)
+                    .changedAt(LocalDateTime.now())
+                    .build();
+
+            taskHistoryRepository.save(taskHistory);
+            cacheInvalidationService.evictTaskHistory(taskId);
 
-        UserEntity assignee = task.getAssignee();
-        if(assignee != null && !Objects.equals(currentUser.getId(), assignee.getId())){
+            UserEntity assignee = task.getAssignee();
+            if(assignee == null || Objects.equals(currentUser.getId(), assignee.getId())){
+                return new StatusChange(result, null, null);
+            }
 
             NotificationDto dto = NotificationDto.builder()
                     .type("STATUS_CHANGED")
                     .message(String.format("Пользователь %s измени статус вашей задачи на %s",
-                            currentUser.getFirstName(), task.getStatus()))
+                            currentUser.getFirstName(), newStatus))
                     .entityType("TASK")
                     .entityId(taskId)
                     .build();
 
-            notificationService.sendPersonalNotification(assignee.getEmail(), dto);
+            return new StatusChange(result, assignee.getEmail(), dto);
+        });
 
+        // Уведомление уходит только после коммита
+        if(change.notification() != null){
+            notificationService.sendPersonalNotification(change.recipientEmail(), change.notification());
         }
 
-        return result;
+        return change.result();
+    }
+
+    private static Object proceed(ProceedingJoinPoint joinPoint) {
+        try {
+            return joinPoint.proceed();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+
+    private record StatusChange(Object result, String recipientEmail, NotificationDto notification) {
     }
 
 }
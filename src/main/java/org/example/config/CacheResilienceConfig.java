@@ -0,0 +1,16 @@
+package org.example.config;
+
+import org.example.config.cache.ResilientCacheErrorHandler;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.context.annotation.Configuration;
+
+// Остальные настройки кэширования (менеджер, генератор ключей) берутся из бинов по умолчанию
+@Configuration
+public class CacheResilienceConfig implements CachingConfigurer {
+
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new ResilientCacheErrorHandler();
+    }
+}
@@ -16,6 +16,18 @@ public class JwtProperties {
     private String secret;
     private Duration accessTokenExpiration;
     private Duration refreshTokenExpiration;
+    private long verifiedTokenCacheSize = 10_000;
+
+    // TOKEN - principal собирается из claims и локального снапшота пользователя,
+    // DATABASE - как раньше, findByEmail на каждый запрос
+    private PrincipalSource principalSource = PrincipalSource.TOKEN;
+    private long userSnapshotCacheSize = 10_000;
+    private Duration userSnapshotTtl = Duration.ofMinutes(10);
+
+    public enum PrincipalSource {
+        TOKEN,
+        DATABASE
+    }
 
     public void setSecret(String secret) {
         this.secret = secret;
@@ -28,4 +40,20 @@ public class JwtProperties {
     public void setRefreshTokenExpiration(Duration refreshTokenExpiration) {
         this.refreshTokenExpiration = refreshTokenExpiration;
     }
+
+    public void setVerifiedTokenCacheSize(long verifiedTokenCacheSize) {
+        this.verifiedTokenCacheSize = verifiedTokenCacheSize;
+    }
+
+    public void setPrincipalSource(PrincipalSource principalSource) {
+        this.principalSource = principalSource;
+    }
+
+    public void setUserSnapshotCacheSize(long userSnapshotCacheSize) {
+        this.userSnapshotCacheSize = userSnapshotCacheSize;
+    }
+
+    public void setUserSnapshotTtl(Duration userSnapshotTtl) {
+        this.userSnapshotTtl = userSnapshotTtl;
+    }
 }
\ No newline at end of file
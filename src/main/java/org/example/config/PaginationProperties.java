@@ -0,0 +1,16 @@
+package org.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "task-manager.pagination")
+@Getter
+@Setter
+public class PaginationProperties {
+
+    // Ключ HMAC токенов курсора. Смена ключа делает недействительными курсоры, выданные ранее
+    private String cursorSecret;
+}
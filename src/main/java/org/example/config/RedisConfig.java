@@ -1,42 +1,55 @@
 package org.example.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.config.cache.CacheCircuitBreaker;
+import org.example.config.cache.CacheEvictionEngine;
+import org.example.config.cache.CacheLoadLease;
+import org.example.config.cache.CacheValueCodec;
+import org.example.config.cache.CacheValueSerializers;
+import org.example.config.cache.CacheValueSizeStatistics;
+import org.example.config.cache.CircuitBreakingCacheManager;
+import org.example.config.cache.CircuitBreakingRedisCacheWriter;
+import org.example.config.cache.FirstPageIndex;
+import org.example.config.cache.LocalCacheInvalidationBus;
+import org.example.config.cache.TagAwareRedisCacheWriter;
+import org.example.config.cache.TwoLevelCacheManager;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
-import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
 @Profile("!test")
 public class RedisConfig {
 
-    @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-
-        BasicPolymorphicTypeValidator validator = BasicPolymorphicTypeValidator.builder()
-                .allowIfSubType("java.util")
-                .allowIfSubType("org.example")
-                .build();
-
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.activateDefaultTyping(
-                validator,
-                ObjectMapper.DefaultTyping.NON_FINAL
-        );
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    // Создаются при старте: метрики попаданий по имени кэша есть еще до первого запроса
+    private static final List<String> CACHE_NAMES = List.of(
+            "taskPages", "commentPages", "projectPages", "taskHistory",
+            "myTeams", "teamMembers", "myInvitations", "myPendingInvitations"
+    );
 
-        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                     CacheEvictionEngine cacheEvictionEngine,
+                                     TaskCacheProperties cacheProperties,
+                                     LocalCacheInvalidationBus localCacheInvalidationBus,
+                                     CacheLoadLease cacheLoadLease,
+                                     FirstPageIndex firstPageIndex,
+                                     CacheValueSizeStatistics cacheValueSizeStatistics,
+                                     CacheCircuitBreaker cacheCircuitBreaker,
+                                     MeterRegistry meterRegistry) {
 
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .serializeKeysWith(
@@ -46,17 +59,82 @@ public class RedisConfig {
                 )
                 .serializeValuesWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(
-                                jsonSerializer
+                                CacheValueSerializers.polymorphicJson()
                         )
                 )
-                .entryTtl(Duration.ofMinutes(30))
+                .entryTtl(cacheProperties.getPageTtl())
                 .disableCachingNullValues();
 
-        return RedisCacheManager.builder(redisConnectionFactory)
+        Map<String, RedisCacheConfiguration> pageConfigs = new HashMap<>();
+        CACHE_NAMES.forEach(cacheName -> pageConfigs.put(cacheName, defaultConfig));
+        if (cacheProperties.getValueCodec() == CacheValueCodec.SMILE) {
+            CacheValueSerializers.PAGE_ITEM_TYPES.forEach((cacheName, itemType) -> pageConfigs.put(
+                    cacheName,
+                    defaultConfig.serializeValuesWith(
+                            RedisSerializationContext.SerializationPair.fromSerializer(
+                                    CacheValueSerializers.smilePage(itemType, cacheProperties.getValueCompressionThreshold())
+                            )
+                    )
+            ));
+        }
+
+        // Предохранитель снаружи: ошибки слушателей записи тоже считаются отказами Redis
+        RedisCacheWriter cacheWriter = new CircuitBreakingRedisCacheWriter(
+                new TagAwareRedisCacheWriter(
+                        RedisCacheWriter.nonLockingRedisCacheWriter(redisConnectionFactory),
+                        List.of(cacheEvictionEngine, firstPageIndex, cacheValueSizeStatistics)
+                ),
+                cacheCircuitBreaker
+        );
+
+        if (!cacheProperties.isL1Enabled()) {
+            // Без L1 попадания считает сам RedisCache, Boot публикует их как cache.gets{name,result}
+            return RedisCacheManager.builder(cacheWriter)
+                    .cacheDefaults(defaultConfig)
+                    .withInitialCacheConfigurations(pageConfigs)
+                    .enableStatistics()
+                    .transactionAware()
+                    .build();
+        }
+
+        // Отложенную до коммита запись берет на себя двухуровневый менеджер, чтобы она касалась обоих уровней
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(cacheWriter)
                 .cacheDefaults(defaultConfig)
-                .transactionAware()
+                .withInitialCacheConfigurations(pageConfigs)
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(
+                redisCacheManager,
+                cacheProperties,
+                localCacheInvalidationBus,
+                cacheLoadLease,
+                meterRegistry
+        );
+        cacheManager.setTransactionAware(true);
+        cacheManager.afterPropertiesSet();
+        cacheCircuitBreaker.onRecovery(cacheManager::clearLocalCaches);
+
+        // Без Redis инвалидации других нод не доходят до L1, поэтому при открытом предохранителе
+        // обходится и он. Без L1 обход, в том числе по CacheBypassKey, делает CircuitBreakingRedisCacheWriter:
+        // обертка менеджера спрятала бы RedisCache от биндера метрик cache.gets
+        return new CircuitBreakingCacheManager(cacheManager, cacheCircuitBreaker);
+
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory redisConnectionFactory,
+            LocalCacheInvalidationBus localCacheInvalidationBus) {
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(
+                localCacheInvalidationBus,
+                new ChannelTopic(LocalCacheInvalidationBus.CHANNEL)
+        );
 
+        return container;
     }
 
 }
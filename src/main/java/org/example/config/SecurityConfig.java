@@ -4,7 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.example.security.filter.JwtAuthenticationFilter;
 import org.example.security.handlers.CustomAccessDeniedHandler;
 import org.example.security.handlers.JwtAuthEntryPoint;
-import org.example.service.JwtService;
+import org.example.security.principal.JwtPrincipalResolver;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
@@ -35,14 +35,13 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 @EnableMethodSecurity
 public class SecurityConfig {
 
-    private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final JwtPrincipalResolver jwtPrincipalResolver;
     private final JwtAuthEntryPoint jwtAuthEntryPoint;
     private final CustomAccessDeniedHandler customAccessDeniedHandler;
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtService, userDetailsService);
+        return new JwtAuthenticationFilter(jwtPrincipalResolver);
     }
 
     @Bean(name = "actuatorUds")
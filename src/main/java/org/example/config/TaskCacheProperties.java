@@ -0,0 +1,118 @@
+package org.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.example.config.cache.CacheValueCodec;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "task-manager.cache")
+@Getter
+@Setter
+public class TaskCacheProperties {
+
+    private long membershipCacheSize = 50_000;
+    private Duration membershipTtl = Duration.ofMinutes(10);
+
+    private Duration pageTtl = Duration.ofMinutes(30);
+
+    // generation - счетчики поколений в ключах, tag-index - SET ключей на каждую область
+    private String evictionEngine = "generation";
+    private Duration tagReaperInterval = Duration.ofMinutes(10);
+
+    // L1 - локальный кэш страниц на каждой ноде перед Redis (L2)
+    private boolean l1Enabled = true;
+    private long l1MaxSize = 10_000;
+    private Duration l1Ttl = Duration.ofMinutes(1);
+
+    // Формат значений кэшей страниц и сжатие Deflate для значений больше порога (-1 - без сжатия)
+    private CacheValueCodec valueCodec = CacheValueCodec.SMILE;
+    private int valueCompressionThreshold = 1024;
+
+    // Аренда загрузки ключа между нодами: пока она держится, остальные ждут значение в Redis
+    private Duration loadLeaseTtl = Duration.ofSeconds(5);
+    private Duration loadLeasePollInterval = Duration.ofMillis(25);
+
+    // Новые задачи и комментарии вклеиваются в закэшированные первые страницы вместо их инвалидации
+    private boolean writeThrough = true;
+
+    // Предохранитель Redis: столько подряд ошибок или медленных вызовов переводят кэши в обход,
+    // проба PING с заданным интервалом возвращает их обратно
+    private int breakerFailureThreshold = 5;
+    private Duration breakerSlowCallThreshold = Duration.ofMillis(250);
+    private Duration breakerProbeInterval = Duration.ofSeconds(5);
+
+    // Сколько пропущенных за время обхода тегов хранить для повтора; при переполнении кэши сбрасываются целиком
+    private int missedInvalidationsCapacity = 10_000;
+
+    public void setMembershipCacheSize(long membershipCacheSize) {
+        this.membershipCacheSize = membershipCacheSize;
+    }
+
+    public void setMembershipTtl(Duration membershipTtl) {
+        this.membershipTtl = membershipTtl;
+    }
+
+    public void setPageTtl(Duration pageTtl) {
+        this.pageTtl = pageTtl;
+    }
+
+    public void setEvictionEngine(String evictionEngine) {
+        this.evictionEngine = evictionEngine;
+    }
+
+    public void setTagReaperInterval(Duration tagReaperInterval) {
+        this.tagReaperInterval = tagReaperInterval;
+    }
+
+    public void setL1Enabled(boolean l1Enabled) {
+        this.l1Enabled = l1Enabled;
+    }
+
+    public void setL1MaxSize(long l1MaxSize) {
+        this.l1MaxSize = l1MaxSize;
+    }
+
+    public void setL1Ttl(Duration l1Ttl) {
+        this.l1Ttl = l1Ttl;
+    }
+
+    public void setValueCodec(CacheValueCodec valueCodec) {
+        this.valueCodec = valueCodec;
+    }
+
+    public void setValueCompressionThreshold(int valueCompressionThreshold) {
+        this.valueCompressionThreshold = valueCompressionThreshold;
+    }
+
+    public void setLoadLeaseTtl(Duration loadLeaseTtl) {
+        this.loadLeaseTtl = loadLeaseTtl;
+    }
+
+    public void setLoadLeasePollInterval(Duration loadLeasePollInterval) {
+        this.loadLeasePollInterval = loadLeasePollInterval;
+    }
+
+    public void setWriteThrough(boolean writeThrough) {
+        this.writeThrough = writeThrough;
+    }
+
+    public void setBreakerFailureThreshold(int breakerFailureThreshold) {
+        this.breakerFailureThreshold = breakerFailureThreshold;
+    }
+
+    public void setBreakerSlowCallThreshold(Duration breakerSlowCallThreshold) {
+        this.breakerSlowCallThreshold = breakerSlowCallThreshold;
+    }
+
+    public void setBreakerProbeInterval(Duration breakerProbeInterval) {
+        this.breakerProbeInterval = breakerProbeInterval;
+    }
+
+    public void setMissedInvalidationsCapacity(int missedInvalidationsCapacity) {
+        this.missedInvalidationsCapacity = missedInvalidationsCapacity;
+    }
+}
@@ -1,8 +1,10 @@
 package org.example.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
-import org.example.service.JwtService;
-import org.example.service.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.example.security.principal.JwtPrincipalResolver;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.simp.stomp.StompCommand;
@@ -13,12 +15,15 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
+
+@Slf4j
 @RequiredArgsConstructor
 @Component
 public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
-    private final JwtService jwtService;
-    private final UserService userService;
+    private final JwtPrincipalResolver jwtPrincipalResolver;
+    private final MeterRegistry meterRegistry;
 
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel){
@@ -32,6 +37,9 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
         if(StompCommand.CONNECT.equals(accessor.getCommand())){
 
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "anonymous";
+
             String authHeader = accessor.getFirstNativeHeader("Authorization");
 
             if(authHeader != null && authHeader.startsWith("Bearer ")){
@@ -40,10 +48,11 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
                 try{
 
-                    if(jwtService.isTokenValid(token)){
+                    Optional<UserDetails> principal = jwtPrincipalResolver.resolve(token);
 
-                        String username = jwtService.extractUsername(token);
-                        UserDetails userDetails = userService.loadUserByUsername(username);
+                    if(principal.isPresent()){
+
+                        UserDetails userDetails = principal.get();
 
                         UsernamePasswordAuthenticationToken authentication =
                                 new UsernamePasswordAuthenticationToken(
@@ -52,14 +61,24 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
                                         userDetails.getAuthorities()
                                 );
                         accessor.setUser(authentication);
+                        outcome = "authenticated";
 
+                    } else {
+                        outcome = "rejected";
                     }
 
                 } catch(Exception ex){
-                    System.err.println("WebSocket authentication failed: " + ex.getMessage());
+                    outcome = "error";
+                    log.warn("WebSocket authentication failed: {}", ex.getMessage());
                 }
             }
 
+            sample.stop(Timer.builder("task_manager_ws_connect_timer")
+                    .description("Time taken to authenticate a STOMP CONNECT")
+                    .tag("service", "task-manager")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+
         }
 
         return message;
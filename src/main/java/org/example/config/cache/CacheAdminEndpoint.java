@@ -0,0 +1,270 @@
+package org.example.config.cache;
+
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Statistic;
+import lombok.RequiredArgsConstructor;
+import org.example.config.TaskCacheProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+// /actuator/cacheadmin на management-порту (цепочка actuatorChain, роль ADMIN):
+// GET - состояние кэшей страниц, DELETE /{project|task|user|team}/{id} - ручная инвалидация области
+// теми же тегами, что сбрасывает CacheInvalidationService при изменении сущности.
+// L1, попадания, размеры значений и история инвалидаций - по текущей ноде, Redis - общий.
+// Число записей в Redis считается одним проходом SCAN по ключам кэшей, без KEYS и --bigkeys.
+// SCAN и INFO идут через предохранитель: при недоступном Redis отчет не ждет таймаутов
+@Component
+@Endpoint(id = "cacheadmin")
+@RequiredArgsConstructor
+public class CacheAdminEndpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheAdminEndpoint.class);
+
+    private static final String KEY_SEPARATOR = "::";
+    private static final int SCAN_BATCH_SIZE = 1000;
+
+    // TwoLevelCache: попадания по уровням. Без L1 - метрики RedisCache, которые публикует Boot
+    private static final String LAYERED_REQUESTS_METER = "task_manager_cache_requests_total";
+    private static final String REDIS_REQUESTS_METER = "cache.gets";
+
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate redis;
+    private final MeterRegistry meterRegistry;
+    private final TaskCacheProperties cacheProperties;
+    private final CacheValueSizeStatistics valueSizeStatistics;
+    private final CacheInvalidationHistory invalidationHistory;
+    private final CacheInvalidationService cacheInvalidationService;
+    private final CacheCircuitBreaker circuitBreaker;
+
+    @ReadOperation
+    public CacheAdminReport report() {
+        Collection<String> cacheNames = cacheManager.getCacheNames();
+        Map<String, Long> redisEntries = countRedisEntries(cacheNames);
+
+        Map<String, CacheReport> caches = new TreeMap<>();
+        for (String cacheName : cacheNames) {
+            caches.put(cacheName, cacheReport(cacheName, redisEntries));
+        }
+
+        return new CacheAdminReport(
+                cacheProperties.getPageTtl(),
+                cacheProperties.isL1Enabled() ? cacheProperties.getL1Ttl() : null,
+                caches,
+                redisReport(),
+                invalidationReport()
+        );
+    }
+
+    @DeleteOperation
+    public void evict(@Selector String scope, @Selector Long id) {
+        switch (scope) {
+            case "project" -> cacheInvalidationService.evictTaskPagesByProjectId(id);
+            case "task" -> {
+                cacheInvalidationService.evictCommentPagesByTaskId(id);
+                cacheInvalidationService.evictTaskHistory(id);
+            }
+            // Тег пользователя покрывает и страницы проектов, и список его команд
+            case "user" -> {
+                cacheInvalidationService.evictProjectPagesByUserId(id);
+                cacheInvalidationService.evictInvitationsByUserId(id);
+            }
+            case "team" -> cacheInvalidationService.evictTeamRelatedCaches(id);
+            default -> throw new InvalidEndpointRequestException(
+                    "Unknown cache scope: " + scope, "Cache scope must be one of: project, task, user, team");
+        }
+
+        log.info("Cache scope {}:{} evicted via actuator", scope, id);
+    }
+
+    private CacheReport cacheReport(String cacheName, Map<String, Long> redisEntries) {
+        long averageValueSize = valueSizeStatistics.averageValueSize(cacheName);
+        Long entries = redisEntries.get(cacheName);
+
+        Long l1Entries = null;
+        Long l1Evictions = null;
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> local) {
+            l1Entries = local.estimatedSize();
+            l1Evictions = local.stats().evictionCount();
+        }
+
+        long hits;
+        long misses;
+        if (!meterRegistry.find(LAYERED_REQUESTS_METER).tag("cache", cacheName).meters().isEmpty()) {
+            // Каждый промах L1 доходит до L2, поэтому промахом считается только промах L2
+            hits = count(LAYERED_REQUESTS_METER, "cache", cacheName, "result", "hit");
+            misses = count(LAYERED_REQUESTS_METER, "cache", cacheName, "layer", "l2", "result", "miss");
+        } else {
+            hits = count(REDIS_REQUESTS_METER, "cache", cacheName, "result", "hit");
+            misses = count(REDIS_REQUESTS_METER, "cache", cacheName, "result", "miss");
+        }
+
+        return new CacheReport(
+                entries,
+                entries != null ? entries * averageValueSize : null,
+                l1Entries,
+                // Оценка по сериализованному размеру: объекты в куче занимают больше
+                l1Entries != null ? l1Entries * averageValueSize : null,
+                l1Evictions,
+                valueSizeStatistics.writes(cacheName),
+                averageValueSize,
+                hits,
+                misses,
+                hits + misses == 0 ? null : (double) hits / (hits + misses)
+        );
+    }
+
+    private long count(String meterName, String... tags) {
+        long total = 0;
+        for (Meter meter : meterRegistry.find(meterName).tags(tags).meters()) {
+            for (Measurement measurement : meter.measure()) {
+                if (measurement.getStatistic() == Statistic.COUNT) {
+                    total += (long) measurement.getValue();
+                }
+            }
+        }
+        return total;
+    }
+
+    // Ключи RedisCache имеют вид "cacheName::key"; служебные ключи (cacheGen::, cacheLease::) не совпадут по имени
+    private Map<String, Long> countRedisEntries(Collection<String> cacheNames) {
+        Map<String, Long> counts = new HashMap<>();
+        ScanOptions options = ScanOptions.scanOptions()
+                .match("*" + KEY_SEPARATOR + "*")
+                .count(SCAN_BATCH_SIZE)
+                .build();
+
+        // Через предохранитель идет каждый шаг курсора, а не весь проход: hasNext на границе пачки -
+        // отдельный SCAN, и долгий обход большого keyspace не засчитывается как медленный вызов
+        try (Cursor<String> keys = circuitBreaker.call(() -> redis.scan(options))) {
+            while (circuitBreaker.call(keys::hasNext)) {
+                String key = keys.next();
+                String cacheName = key.substring(0, key.indexOf(KEY_SEPARATOR));
+                if (cacheNames.contains(cacheName)) {
+                    counts.merge(cacheName, 1L, Long::sum);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to count Redis cache entries: {}", e.getMessage());
+            return Map.of();
+        }
+
+        for (String cacheName : cacheNames) {
+            counts.putIfAbsent(cacheName, 0L);
+        }
+        return counts;
+    }
+
+    private RedisReport redisReport() {
+        Properties info;
+        try {
+            info = circuitBreaker.call(() -> redis.execute(
+                    (RedisCallback<Properties>) connection -> connection.serverCommands().info()));
+        } catch (Exception e) {
+            log.warn("Failed to read Redis INFO: {}", e.getMessage());
+            return null;
+        }
+
+        if (info == null) {
+            return null;
+        }
+
+        return new RedisReport(
+                longValue(info, "used_memory"),
+                longValue(info, "maxmemory"),
+                longValue(info, "evicted_keys"),
+                longValue(info, "expired_keys")
+        );
+    }
+
+    private static Long longValue(Properties info, String name) {
+        String value = info.getProperty(name);
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private InvalidationReport invalidationReport() {
+        List<CacheInvalidationHistory.Operation> recent = invalidationHistory.recent();
+
+        long totalMicros = 0;
+        long maxMicros = 0;
+        long failed = 0;
+        for (CacheInvalidationHistory.Operation operation : recent) {
+            totalMicros += operation.durationMicros();
+            maxMicros = Math.max(maxMicros, operation.durationMicros());
+            if (!operation.succeeded()) {
+                failed++;
+            }
+        }
+
+        return new InvalidationReport(
+                recent.size(),
+                recent.isEmpty() ? 0 : totalMicros / recent.size(),
+                maxMicros,
+                failed,
+                recent
+        );
+    }
+
+    public record CacheAdminReport(Duration pageTtl,
+                                   Duration l1Ttl,
+                                   Map<String, CacheReport> caches,
+                                   RedisReport redis,
+                                   InvalidationReport invalidations) {
+    }
+
+    // null - значение недоступно: Redis не ответил или у кэша нет L1
+    public record CacheReport(Long redisEntries,
+                              Long redisEstimatedBytes,
+                              Long l1Entries,
+                              Long l1EstimatedBytes,
+                              Long l1Evictions,
+                              long writes,
+                              long averageValueSize,
+                              long hits,
+                              long misses,
+                              Double hitRatio) {
+    }
+
+    public record RedisReport(Long usedMemoryBytes,
+                              Long maxMemoryBytes,
+                              Long evictedKeys,
+                              Long expiredKeys) {
+    }
+
+    public record InvalidationReport(int operations,
+                                     long averageMicros,
+                                     long maxMicros,
+                                     long failed,
+                                     List<CacheInvalidationHistory.Operation> recent) {
+    }
+}
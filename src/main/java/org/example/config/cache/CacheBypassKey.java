@@ -0,0 +1,24 @@
+package org.example.config.cache;
+
+import java.util.UUID;
+
+// Ключ вызова, который должен пройти мимо кэша: поколение области недоступно, поэтому настоящий ключ
+// не построить. По такому ключу кэш не читается и не пишется, даже если предохранитель уже закрылся:
+// с L1 его отсекает CircuitBreakingCache, без L1 - CircuitBreakingRedisCacheWriter по MARKER в ключе.
+// equals по ссылке, а в toString - случайный nonce: ключ не совпадет ни с одной записью
+public final class CacheBypassKey {
+
+    // Схемы @CacheKeySchema не дают сегмента без "=", поэтому в настоящих ключах маркер не встречается
+    public static final String MARKER = "|bypass|";
+
+    private final String description;
+
+    public CacheBypassKey(String methodName) {
+        this.description = methodName + MARKER + UUID.randomUUID();
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
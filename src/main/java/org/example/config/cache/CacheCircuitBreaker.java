@@ -0,0 +1,199 @@
+package org.example.config.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.example.config.TaskCacheProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+// Предохранитель вокруг Redis для кэшей. После breaker-failure-threshold подряд ошибок или медленных
+// вызовов переходит в OPEN: кэши обходятся, чтения идут в Postgres, инвалидации копятся в MissedInvalidations.
+// Из OPEN выводит только фоновая проба PING, после нее выполняются обработчики восстановления
+@Component
+@RequiredArgsConstructor
+public class CacheCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(CacheCircuitBreaker.class);
+
+    private final StringRedisTemplate redis;
+    private final TaskCacheProperties cacheProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final List<Runnable> recoveryHandlers = new CopyOnWriteArrayList<>();
+
+    private volatile Instant openedAt;
+
+    private Counter successCalls;
+    private Counter failedCalls;
+    private Counter slowCalls;
+    private Counter rejectedCalls;
+    private Counter openTransitions;
+    private Counter closeTransitions;
+
+    @PostConstruct
+    public void initMetrics() {
+        Gauge.builder("task_manager_cache_breaker_open", state, current -> current.get() == State.OPEN ? 1 : 0)
+                .description("1 while Redis-backed caches are bypassed because the circuit breaker is open")
+                .tag("service", "task-manager")
+                .register(meterRegistry);
+
+        this.successCalls = callCounter("success");
+        this.failedCalls = callCounter("failure");
+        this.slowCalls = callCounter("slow");
+        this.rejectedCalls = callCounter("rejected");
+
+        this.openTransitions = transitionCounter(State.OPEN);
+        this.closeTransitions = transitionCounter(State.CLOSED);
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public boolean isClosed() {
+        return state.get() == State.CLOSED;
+    }
+
+    // null - предохранитель закрыт
+    public Instant getOpenedAt() {
+        return isClosed() ? null : openedAt;
+    }
+
+    public void onRecovery(Runnable handler) {
+        recoveryHandlers.add(handler);
+    }
+
+    // Открытый предохранитель не пускает вызов в Redis. Исключение вызова пробрасывается как есть
+    public <T> T call(Supplier<T> call) {
+        if (!isClosed()) {
+            rejectedCalls.increment();
+            throw new CacheUnavailableException("Redis circuit breaker is open");
+        }
+
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            failedCalls.increment();
+            recordFailure(e.getMessage());
+            throw e;
+        }
+
+        if (System.nanoTime() - start > cacheProperties.getBreakerSlowCallThreshold().toNanos()) {
+            slowCalls.increment();
+            recordFailure("slow call");
+        } else {
+            successCalls.increment();
+            consecutiveFailures.set(0);
+        }
+
+        return result;
+    }
+
+    public void run(Runnable call) {
+        call(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    // Для отказов, после которых кэш нельзя использовать корректно (например, неизвестно поколение ключа)
+    public void tripOpen(String reason) {
+        open(reason);
+    }
+
+    @Scheduled(fixedDelayString = "${task-manager.cache.breaker-probe-interval:PT5S}")
+    public void probe() {
+        if (isClosed()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            redis.execute((RedisCallback<String>) connection -> connection.ping());
+        } catch (Exception e) {
+            log.debug("Redis probe failed: {}", e.getMessage());
+            return;
+        }
+
+        if (System.nanoTime() - start > cacheProperties.getBreakerSlowCallThreshold().toNanos()) {
+            log.debug("Redis probe succeeded but was slow, circuit stays open");
+            return;
+        }
+
+        close();
+    }
+
+    private void recordFailure(String reason) {
+        if (consecutiveFailures.incrementAndGet() >= cacheProperties.getBreakerFailureThreshold()) {
+            open(reason);
+        }
+    }
+
+    private void open(String reason) {
+        if (!state.compareAndSet(State.CLOSED, State.OPEN)) {
+            return;
+        }
+
+        openedAt = Instant.now();
+        openTransitions.increment();
+        log.warn("Redis circuit breaker opened, caches are bypassed: {}", reason);
+    }
+
+    private void close() {
+        consecutiveFailures.set(0);
+        if (!state.compareAndSet(State.OPEN, State.CLOSED)) {
+            return;
+        }
+
+        closeTransitions.increment();
+        log.info("Redis circuit breaker closed after being open since {}", openedAt);
+
+        for (Runnable handler : recoveryHandlers) {
+            try {
+                handler.run();
+            } catch (Exception e) {
+                log.error("Cache recovery handler failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private Counter callCounter(String outcome) {
+        return Counter.builder("task_manager_cache_breaker_calls_total")
+                .description("Redis cache calls seen by the circuit breaker: success, failure, slow, "
+                        + "or rejected while the circuit was open")
+                .tag("service", "task-manager")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Counter transitionCounter(State target) {
+        return Counter.builder("task_manager_cache_breaker_transitions_total")
+                .description("Circuit breaker state changes")
+                .tag("service", "task-manager")
+                .tag("to", target.name().toLowerCase())
+                .register(meterRegistry);
+    }
+}
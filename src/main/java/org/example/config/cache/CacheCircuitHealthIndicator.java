@@ -0,0 +1,32 @@
+package org.example.config.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+// /actuator/health/cacheCircuit. Открытый предохранитель - DEGRADED, а не DOWN: API работает без кэша,
+// и нода не должна выпадать из балансировки из-за Redis (стандартный индикатор redis отключен)
+@Component
+@RequiredArgsConstructor
+public class CacheCircuitHealthIndicator implements HealthIndicator {
+
+    public static final Status DEGRADED = new Status("DEGRADED", "Redis is unavailable, caches are bypassed");
+
+    private final CacheCircuitBreaker circuitBreaker;
+    private final MissedInvalidations missedInvalidations;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = circuitBreaker.isClosed()
+                ? Health.up()
+                : Health.status(DEGRADED).withDetail("openedAt", circuitBreaker.getOpenedAt());
+
+        return builder
+                .withDetail("circuit", circuitBreaker.getState())
+                .withDetail("missedInvalidations", missedInvalidations.size())
+                .withDetail("missedInvalidationsOverflowed", missedInvalidations.isOverflowed())
+                .build();
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.config.cache;
+
+// Уведомление о записи значения в Redis, redisKey - полный ключ вместе с префиксом кэша,
+// valueSize - размер сериализованного значения в байтах
+public interface CacheEntryWriteListener {
+
+    // До записи значения: индекс, по которому ищет инвалидация, должен знать ключ раньше, чем его можно прочитать
+    default void onEntryWriting(String cacheName, String redisKey) {
+    }
+
+    void onEntryWritten(String cacheName, String redisKey, int valueSize);
+}
@@ -0,0 +1,21 @@
+package org.example.config.cache;
+
+import java.util.Collection;
+
+// Способ удаления закэшированных страниц. Выбирается через task-manager.cache.eviction-engine
+public interface CacheEvictionEngine extends CacheEntryWriteListener {
+
+    // Часть ключа кэша, зависящая от области (поколение для generation-движка)
+    long keyGeneration(CacheTag tag);
+
+    void evict(CacheTag tag);
+
+    // Пакетная инвалидация: реализации выполняют ее одним pipeline
+    default void evictAll(Collection<CacheTag> tags) {
+        tags.forEach(this::evict);
+    }
+
+    @Override
+    default void onEntryWritten(String cacheName, String redisKey, int valueSize) {
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.config.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.example.config.TaskCacheProperties;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+// Счетчики поколений для проекта, задачи и пользователя. Текущее поколение входит в ключ
+// кэша, поэтому инвалидация - это один INCR, а старые записи просто доживают свой TTL.
+// Значения счетчиков держатся и локально, чтобы попадание в L1 не требовало похода в Redis;
+// локальная копия сбрасывается рассылкой тегов из CacheInvalidationService.
+// Все обращения идут через CacheCircuitBreaker; при открытом предохранителе - CacheUnavailableException.
+@Component
+@RequiredArgsConstructor
+public class CacheGenerationService {
+
+    private static final String KEY_PREFIX = "cacheGen::";
+
+    private final StringRedisTemplate redis;
+    private final TaskCacheProperties cacheProperties;
+    private final LocalCacheInvalidationBus invalidationBus;
+    private final CacheCircuitBreaker circuitBreaker;
+
+    private Cache<CacheTag, Long> localGenerations;
+
+    @PostConstruct
+    public void init() {
+        this.localGenerations = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getL1MaxSize())
+                .expireAfterWrite(cacheProperties.getL1Ttl())
+                .build();
+
+        invalidationBus.subscribe(CacheInvalidationService.PAGE_TAGS_REGION, this::onTagsEvicted);
+        // Пока Redis был недоступен, рассылки с других нод не приходили
+        circuitBreaker.onRecovery(localGenerations::invalidateAll);
+    }
+
+    // Локальная копия не используется при открытом предохранителе: она могла устареть
+    public long current(CacheTag tag) {
+        if (!circuitBreaker.isClosed()) {
+            throw new CacheUnavailableException("Redis circuit breaker is open, generation of " + tag + " is unknown");
+        }
+        return localGenerations.get(tag, this::fetch);
+    }
+
+    public long bump(CacheTag tag) {
+        Long value = circuitBreaker.call(() -> redis.opsForValue().increment(counterKey(tag)));
+        return value != null ? value : 0L;
+    }
+
+    // Все INCR одним pipeline - один round-trip на пачку инвалидаций
+    public void bumpAll(Collection<CacheTag> tags) {
+        circuitBreaker.run(() -> redis.executePipelined((RedisCallback<Object>) connection -> {
+            for (CacheTag tag : tags) {
+                connection.stringCommands().incr(counterKey(tag).getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        }));
+    }
+
+    // Без поколения нельзя построить верный ключ, поэтому отказ сразу открывает предохранитель
+    private long fetch(CacheTag tag) {
+        String value;
+        try {
+            value = circuitBreaker.call(() -> redis.opsForValue().get(counterKey(tag)));
+        } catch (CacheUnavailableException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            circuitBreaker.tripOpen("generation of " + tag + " is unavailable: " + e.getMessage());
+            throw new CacheUnavailableException("Generation of " + tag + " is unavailable", e);
+        }
+        return value != null ? Long.parseLong(value) : 0L;
+    }
+
+    private void onTagsEvicted(String payload) {
+        for (String tag : payload.split(",")) {
+            localGenerations.invalidate(CacheTag.parse(tag));
+        }
+    }
+
+    private String counterKey(CacheTag tag) {
+        return KEY_PREFIX + tag;
+    }
+}
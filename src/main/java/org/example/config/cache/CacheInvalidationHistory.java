@@ -0,0 +1,46 @@
+package org.example.config.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+// Последние операции инвалидации на этой ноде: какие теги, сколько заняло обращение к Redis и
+// удалось ли оно. Хранится ограниченное число операций, старые вытесняются
+@Component
+public class CacheInvalidationHistory {
+
+    static final int CAPACITY = 100;
+
+    private final Deque<Operation> operations = new ArrayDeque<>(CAPACITY);
+
+    public void record(Collection<CacheTag> tags, long durationNanos, boolean succeeded) {
+        Operation operation = new Operation(
+                Instant.now(),
+                tags.stream().map(CacheTag::toString).toList(),
+                durationNanos / 1_000,
+                succeeded
+        );
+
+        synchronized (operations) {
+            if (operations.size() == CAPACITY) {
+                operations.removeLast();
+            }
+            operations.addFirst(operation);
+        }
+    }
+
+    // Сначала самые новые
+    public List<Operation> recent() {
+        synchronized (operations) {
+            return new ArrayList<>(operations);
+        }
+    }
+
+    public record Operation(Instant at, List<String> tags, long durationMicros, boolean succeeded) {
+    }
+}
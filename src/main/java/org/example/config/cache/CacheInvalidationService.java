@@ -1,131 +1,274 @@
 package org.example.config.cache;
 
+import jakarta.annotation.PostConstruct;
 import lombok.AllArgsConstructor;
-import org.example.entity.ProjectEntity;
-import org.example.entity.TeamMemberEntity;
-import org.example.repository.ProjectRepository;
-import org.example.repository.TaskRepository;
+import org.example.dto.CommentResponseDto;
+import org.example.dto.TaskResponseDto;
 import org.example.repository.TeamMemberRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.redis.core.Cursor;
-import org.springframework.data.redis.core.ScanOptions;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 public class CacheInvalidationService {
 
-    private final StringRedisTemplate redis;
-    private final ProjectRepository projectRepository;
-    private final TaskRepository taskRepository;
+    // Регион шины, через который ноды сбрасывают L1 и локальные счетчики поколений. Payload: "proj:1,task:5"
+    public static final String PAGE_TAGS_REGION = "pageTags";
+
+    private final CacheEvictionEngine cacheEvictionEngine;
     private static final Logger log = LoggerFactory.getLogger(CacheInvalidationService.class);
 
     private final TeamMemberRepository teamMemberRepository;
-
+    private final LocalCacheInvalidationBus invalidationBus;
+    private final PageWriteThroughService pageWriteThroughService;
+    private final PageVersionService pageVersionService;
+    private final CacheInvalidationHistory invalidationHistory;
+    private final CacheCircuitBreaker circuitBreaker;
+    private final MissedInvalidations missedInvalidations;
+    private final CacheManager cacheManager;
+
+    @PostConstruct
+    public void init() {
+        circuitBreaker.onRecovery(this::replayMissedInvalidations);
+    }
 
     public void evictTaskPagesByProjectId(Long projectId) {
-        String marker = "|projId=" + projectId + "|";
-        String pattern = "taskPages::*" + marker + "*";
-
-        deleteByScan(pattern);
+        evict(CacheTag.project(projectId));
     }
 
     public void evictCommentPagesByTaskId(Long taskId) {
-        String marker = "|taskId=" + taskId + "|";
-        String pattern = "commentPages::*" + marker + "*";
+        evict(CacheTag.task(taskId));
+    }
 
-        deleteByScan(pattern);
+    // Новый элемент вклеивается в закэшированные первые страницы после коммита,
+    // без write-through - прежняя инвалидация всех страниц области
+    public void taskCreated(Long projectId, TaskResponseDto task) {
+        if (!pageWriteThroughService.isEnabled()) {
+            evictTaskPagesByProjectId(projectId);
+            return;
+        }
+
+        runAfterCommit(() -> writeThrough(CacheTag.project(projectId),
+                () -> pageWriteThroughService.taskCreated(projectId, task)));
     }
 
-    public void evictProjectPagesByUserId(Long userId) {
-        String marker = "|usId=" + userId + "|";
-        String pattern = "projectPages::*" + marker + "*";
+    public void commentCreated(Long taskId, CommentResponseDto comment) {
+        if (!pageWriteThroughService.isEnabled()) {
+            evictCommentPagesByTaskId(taskId);
+            return;
+        }
 
-        deleteByScan(pattern);
+        runAfterCommit(() -> writeThrough(CacheTag.task(taskId),
+                () -> pageWriteThroughService.commentCreated(taskId, comment)));
     }
 
-    public void evictTeamRelatedCaches(Long teamId){
-        evictProjectPagesForAllTeamMembers(teamId);
+    public void evictProjectPagesByUserId(Long userId) {
+        evict(CacheTag.user(userId));
+    }
 
-        List<ProjectEntity> projects = projectRepository.findAllProjectsByTeamId(teamId);
+    // Тег пользователя покрывает и страницы проектов, и список его команд
+    public void evictTeamsByUserId(Long userId) {
+        evict(CacheTag.user(userId));
+    }
 
-        if (projects.isEmpty()){
-            log.info("No projects found for team: {}.", teamId);
-        } else {
-            for (ProjectEntity project : projects){
+    public void evictTaskHistory(Long taskId) {
+        evict(CacheTag.taskHistory(taskId));
+    }
 
-                evictTaskPagesByProjectId(project.getId());
+    public void evictTeamMembers(Long teamId) {
+        evict(CacheTag.team(teamId));
+    }
 
-                List<Long> taskIds = taskRepository.findTaskIdsByProject_Id(project.getId());
+    public void evictInvitationsByUserId(Long userId) {
+        evict(CacheTag.invitations(userId));
+    }
 
-                for (Long taskId : taskIds){
-                    evictCommentPagesByTaskId(taskId);
-                }
-            }
-        }
+    // Состав команды влияет на страницы проектов и списки команд участников и на список участников команды.
+    // Страницы задач и комментариев общие на проект/задачу и от состава не зависят: членство и view
+    // (ALL или ASSIGNEE) CacheScopeResolver вычисляет при каждом построении ключа, до чтения кэша.
+    // Поэтому стоимость не зависит от числа проектов и задач - O(участников) тегов одним пакетом.
+    public void evictTeamRelatedCaches(Long teamId){
+        evictProjectPagesForAllTeamMembers(teamId);
+        evictTeamMembers(teamId);
     }
 
     public void evictProjectPagesForAllTeamMembers(Long teamId){
 
-        List<TeamMemberEntity> teamMembers = teamMemberRepository.findAllByTeamId(teamId);
+        List<Long> userIds = teamMemberRepository.findUserIdsByTeamId(teamId);
 
-        if (teamMembers.isEmpty()) {
+        if (userIds.isEmpty()) {
             log.info("No members found for team: {}. Skipping cache invalidation.", teamId);
             return;
         }
 
-        List<Long> userIds = teamMembers.stream()
-                .map(member -> member.getUser().getId())
-                .toList();
-
-        log.info("Found {} unique user(s) in team: {}. Invalidating caches...", userIds.size(), teamId);
-
         for(Long userId : userIds){
             evictProjectPagesByUserId(userId);
         }
 
-        log.info("Completed cache invalidation for team: {}. Invalidated {} user caches.", teamId, userIds.size());
+        log.info("Invalidated project pages of {} member(s) of team: {}", userIds.size(), teamId);
+    }
+
+    // Внутри транзакции теги копятся в буфере, привязанном к ней, и уходят в Redis одним пакетом
+    // после коммита: при откате кэш не трогается, а параллельный читатель не закэширует данные до коммита
+    private void evict(CacheTag tag) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateNow(List.of(tag), () -> cacheEvictionEngine.evict(tag));
+            return;
+        }
 
+        pendingTags().add(tag);
     }
 
-    private void deleteByScan(String pattern) {
-        List<String> keysToDelete = new ArrayList<>();
+    // Длительность обращения к движку попадает в историю инвалидаций (actuator cacheadmin)
+    private void recordEviction(Collection<CacheTag> tags, Runnable eviction) {
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            eviction.run();
+            succeeded = true;
+        } finally {
+            invalidationHistory.record(tags, System.nanoTime() - start, succeeded);
+        }
+    }
 
-        assert redis.getConnectionFactory() != null;
-        try (var connection = redis.getConnectionFactory().getConnection()){
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
 
-            ScanOptions options = ScanOptions.scanOptions()
-                    .match(pattern)
-                    .count(500)
-                    .build();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
 
-            try (Cursor<byte[]> cursor = connection.scan(options)) {
-                while (cursor.hasNext()) {
-                    byte[] keyBytes = cursor.next();
-                    String key = new String(keyBytes, StandardCharsets.UTF_8);
-                    keysToDelete.add(key);
-                }
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 
-                log.info("Pattern: {} | Keys found: {}", pattern, keysToDelete.size());
+    @SuppressWarnings("unchecked")
+    private Set<CacheTag> pendingTags() {
+        Set<CacheTag> pending = (Set<CacheTag>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+
+        Set<CacheTag> created = new LinkedHashSet<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
 
+            @Override
+            public void afterCommit() {
+                flushPending(created);
             }
 
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationService.this);
+            }
+        });
+
+        return created;
+    }
+
+    private void flushPending(Collection<CacheTag> tags) {
+        if (tags.isEmpty()) {
+            return;
+        }
+
+        invalidateNow(tags, () -> cacheEvictionEngine.evictAll(tags));
+    }
+
+    // При открытом предохранителе или отказе Redis теги откладываются в MissedInvalidations
+    // и повторяются после восстановления, вызывающий код ошибку не видит
+    private void invalidateNow(Collection<CacheTag> tags, Runnable eviction) {
+        if (!circuitBreaker.isClosed()) {
+            missedInvalidations.add(tags);
+            return;
+        }
+
+        try {
+            recordEviction(tags, eviction);
+        } catch (Exception e) {
+            log.error("Failed to evict cache tags {}, queued for replay: {}", tags, e.getMessage());
+            missedInvalidations.add(tags);
+        }
+
+        invalidationBus.broadcast(PAGE_TAGS_REGION, tags.stream()
+                .map(CacheTag::toString)
+                .collect(Collectors.joining(",")));
+
+        bumpVersions(tags);
+    }
+
+    private void writeThrough(CacheTag scope, Runnable patch) {
+        if (!circuitBreaker.isClosed()) {
+            missedInvalidations.add(List.of(scope));
+            return;
         }
 
-        if(!keysToDelete.isEmpty()){
-            redis.delete(keysToDelete);
+        try {
+            patch.run();
+        } catch (Exception e) {
+            log.error("Write-through for {} failed, queued for replay: {}", scope, e.getMessage());
+            missedInvalidations.add(List.of(scope));
+        }
+
+        bumpVersions(List.of(scope));
+    }
+
+    private void bumpVersions(Collection<CacheTag> tags) {
+        try {
+            pageVersionService.bumpAll(tags);
+        } catch (Exception e) {
+            log.error("Failed to bump page versions of {}, queued for replay: {}", tags, e.getMessage());
+            missedInvalidations.add(tags);
+        }
+    }
+
+    // Вызывается при закрытии предохранителя
+    public void replayMissedInvalidations() {
+        MissedInvalidations.Drained missed = missedInvalidations.drain();
+        if (missed.isEmpty()) {
+            return;
+        }
 
-            log.info("Pattern: {} | Keys deleted: {}", pattern, keysToDelete.size());
-        } else {
-            log.info("Pattern: {} | Keys found: 0 | Keys deleted: 0", pattern);
+        if (missed.overflowed()) {
+            clearAllCaches();
+            return;
         }
 
+        log.info("Replaying {} missed cache invalidation(s)", missed.tags().size());
+        flushPending(missed.tags());
+    }
+
+    // Пропущенных тегов больше, чем помещается в очередь: сбрасываются все кэши и эпоха ETag
+    private void clearAllCaches() {
+        log.warn("Missed cache invalidations overflowed, clearing all caches");
+
+        try {
+            for (String cacheName : cacheManager.getCacheNames()) {
+                Cache cache = cacheManager.getCache(cacheName);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+            pageVersionService.bumpEpoch();
+        } catch (Exception e) {
+            log.error("Failed to clear caches after Redis recovery, will retry on next recovery: {}", e.getMessage());
+            missedInvalidations.markOverflowed();
+        }
     }
 
 }
@@ -0,0 +1,37 @@
+package org.example.config.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Схема ключа для методов с keyGenerator = "universalKeyGenerator".
+// Шаблон разбирается один раз при старте, на горячем пути только дописываются сегменты.
+//
+// Плейсхолдеры:
+//   {<параметр>} - значение параметра метода (Long, Integer, String, enum)
+//   {limit}      - нормализованный параметр limit
+//   {cursor}     - "first" или "<cur|prev|at>CreatAt=..|curId=.." из параметра cursor (KeysetCursor)
+//   {version}    - "g=<поколение тега scope>", для первых и предыдущих страниц проекта и задачи еще "|h=<голова>"
+//   {view}       - эффективная видимость задач проекта (только scope = PROJECT)
+//   {user}, {role} - id и роль текущего пользователя
+//
+// Каждый параметр метода обязан попасть в ключ, иначе приложение не стартует.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CacheKeySchema {
+
+    String value();
+
+    // Тег, поколение которого входит в {version}
+    CacheTag.Type scope();
+
+    // Параметр с id сущности тега; пустой - id текущего пользователя (scope = USER)
+    String scopeParam() default "";
+
+    // Запись общая для всех, кому доступен scope: ключ не содержит {user},
+    // поэтому доступ проверяется при построении ключа
+    boolean shared() default false;
+}
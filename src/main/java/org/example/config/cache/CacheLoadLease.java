@@ -0,0 +1,66 @@
+package org.example.config.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.example.config.TaskCacheProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Короткая аренда на загрузку ключа кэша между нодами: SET NX PX с токеном владельца.
+// TTL страхует от упавшего загрузчика, снимает аренду только тот, кто ее взял.
+@Component
+@RequiredArgsConstructor
+public class CacheLoadLease {
+
+    private static final String KEY_PREFIX = "cacheLease::";
+
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class
+    );
+
+    private static final Logger log = LoggerFactory.getLogger(CacheLoadLease.class);
+
+    private final StringRedisTemplate redis;
+    private final TaskCacheProperties cacheProperties;
+
+    // Пустой Optional - аренду уже держит другая нода. При недоступном Redis загружаем без аренды
+    public Optional<String> tryAcquire(String cacheName, Object key) {
+        String token = UUID.randomUUID().toString();
+
+        try {
+            Boolean acquired = redis.opsForValue()
+                    .setIfAbsent(leaseKey(cacheName, key), token, cacheProperties.getLoadLeaseTtl());
+            return Boolean.TRUE.equals(acquired) ? Optional.of(token) : Optional.empty();
+        } catch (Exception e) {
+            log.warn("Failed to acquire cache load lease for {}::{}: {}", cacheName, key, e.getMessage());
+            return Optional.of(token);
+        }
+    }
+
+    public boolean isHeld(String cacheName, Object key) {
+        try {
+            return Boolean.TRUE.equals(redis.hasKey(leaseKey(cacheName, key)));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    public void release(String cacheName, Object key, String token) {
+        try {
+            redis.execute(RELEASE_SCRIPT, List.of(leaseKey(cacheName, key)), token);
+        } catch (Exception e) {
+            log.warn("Failed to release cache load lease for {}::{}: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    private String leaseKey(String cacheName, Object key) {
+        return KEY_PREFIX + cacheName + "::" + key;
+    }
+}
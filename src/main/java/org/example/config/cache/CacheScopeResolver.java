@@ -0,0 +1,107 @@
+package org.example.config.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.example.config.TaskCacheProperties;
+import org.example.entity.TeamEntity;
+import org.example.entity.TeamRole;
+import org.example.entity.UserEntity;
+import org.example.exception.NotFoundException;
+import org.example.repository.ProjectRepository;
+import org.example.repository.TaskRepository;
+import org.example.service.TeamAccessService;
+import org.springframework.stereotype.Component;
+
+// Область видимости страницы для ключа кэша. Записи общие для всех, кто видит одно и то же,
+// поэтому членство в команде проверяется здесь, до чтения кэша, а не только в теле метода.
+@Component
+@RequiredArgsConstructor
+public class CacheScopeResolver {
+
+    public static final String VIEW_ALL = "ALL";
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final TeamAccessService teamAccessService;
+    private final TaskCacheProperties cacheProperties;
+
+    // Команда проекта и задачи не меняется, поэтому id команды можно держать локально
+    private Cache<Long, Long> projectTeams;
+    private Cache<Long, Long> taskTeams;
+
+    @PostConstruct
+    public void init() {
+        this.projectTeams = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMembershipCacheSize())
+                .expireAfterAccess(cacheProperties.getMembershipTtl())
+                .build();
+        this.taskTeams = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMembershipCacheSize())
+                .expireAfterAccess(cacheProperties.getMembershipTtl())
+                .build();
+    }
+
+    // OWNER/MANAGER видят все задачи проекта - одна запись на проект, MEMBER - только свои
+    public String taskPageView(Long projectId, UserEntity user) {
+        TeamRole role = teamRole(projectTeamId(projectId), user);
+
+        if (role == TeamRole.OWNER || role == TeamRole.MANAGER) {
+            return VIEW_ALL;
+        }
+        return "ASSIGNEE:" + user.getId();
+    }
+
+    // История задачи: OWNER/MANAGER - одна запись на задачу, MEMBER видит только свою задачу,
+    // поэтому его запись отдельная, а чужую задачу отсекает сервис при промахе
+    public String taskHistoryView(Long taskId, UserEntity user) {
+        TeamRole role = teamRole(taskTeamId(taskId), user);
+
+        if (role == TeamRole.OWNER || role == TeamRole.MANAGER) {
+            return VIEW_ALL;
+        }
+        return "ASSIGNEE:" + user.getId();
+    }
+
+    public String view(CacheTag scope, UserEntity user) {
+        return switch (scope.type()) {
+            case PROJECT -> taskPageView(scope.id(), user);
+            case TASK_HISTORY -> taskHistoryView(scope.id(), user);
+            default -> throw new IllegalArgumentException("No view for " + scope);
+        };
+    }
+
+    // Комментарии одинаковы для всех участников команды, нужна только проверка членства
+    public void checkCommentAccess(Long taskId, UserEntity user) {
+        teamRole(taskTeamId(taskId), user);
+    }
+
+    // Проверка для общих записей, в ключе которых нет пользователя (CacheKeySchema.shared)
+    public void checkAccess(CacheTag scope, UserEntity user) {
+        switch (scope.type()) {
+            case PROJECT -> teamRole(projectTeamId(scope.id()), user);
+            case TASK -> checkCommentAccess(scope.id(), user);
+            case TEAM -> teamRole(scope.id(), user);
+            default -> throw new IllegalArgumentException("No access check for " + scope);
+        }
+    }
+
+    private Long projectTeamId(Long projectId) {
+        return projectTeams.get(projectId, id -> projectRepository.findTeamIdById(id)
+                .orElseThrow(() -> new NotFoundException("Project not found")));
+    }
+
+    private Long taskTeamId(Long taskId) {
+        return taskTeams.get(taskId, id -> taskRepository.findTeamIdById(id)
+                .orElseThrow(() -> new NotFoundException("Task not found")));
+    }
+
+    private TeamRole teamRole(Long teamId, UserEntity user) {
+        TeamEntity team = TeamEntity.builder()
+                .id(teamId)
+                .build();
+
+        return teamAccessService.getMembershipOrThrow(team, user).getRole();
+    }
+}
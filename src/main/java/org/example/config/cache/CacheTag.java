@@ -0,0 +1,108 @@
+package org.example.config.cache;
+
+// Область инвалидации кэша: все закэшированные записи проекта, задачи, команды или пользователя
+public record CacheTag(Type type, Long id) {
+
+    public enum Type {
+        PROJECT("proj"),
+        TASK("task"),
+        USER("user"),
+        TASK_HISTORY("taskHist"),
+        TEAM("team"),
+        // Приглашения, полученные пользователем
+        INVITATIONS("invites"),
+        // Счетчики "головы" списка: входят только в ключи первых страниц (write-through)
+        PROJECT_HEAD("projHead"),
+        TASK_HEAD("taskHead"),
+        // Версии для ETag страниц: растут при любом изменении области, включая write-through
+        PROJECT_VERSION("projVer"),
+        TASK_VERSION("taskVer"),
+        USER_VERSION("userVer"),
+        // Общая эпоха ETag: растет при полном сбросе кэшей, когда версии отдельных областей неизвестны
+        EPOCH("epoch");
+
+        private final String prefix;
+
+        Type(String prefix) {
+            this.prefix = prefix;
+        }
+
+        public String getPrefix() {
+            return prefix;
+        }
+
+        // Первые страницы этой области версионируются счетчиком головы
+        public boolean hasHead() {
+            return this == PROJECT || this == TASK;
+        }
+
+        // Страницы этой области отдаются с ETag
+        public boolean hasVersion() {
+            return this == PROJECT || this == TASK || this == USER;
+        }
+    }
+
+    // Обратное преобразование для toString(): "proj:12" -> PROJECT, 12
+    public static CacheTag parse(String value) {
+        int separator = value.indexOf(':');
+        String prefix = value.substring(0, separator);
+
+        for (Type type : Type.values()) {
+            if (type.getPrefix().equals(prefix)) {
+                return new CacheTag(type, Long.valueOf(value.substring(separator + 1)));
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown cache tag: " + value);
+    }
+
+    public static CacheTag project(Long projectId) {
+        return new CacheTag(Type.PROJECT, projectId);
+    }
+
+    public static CacheTag task(Long taskId) {
+        return new CacheTag(Type.TASK, taskId);
+    }
+
+    public static CacheTag user(Long userId) {
+        return new CacheTag(Type.USER, userId);
+    }
+
+    public static CacheTag taskHistory(Long taskId) {
+        return new CacheTag(Type.TASK_HISTORY, taskId);
+    }
+
+    public static CacheTag team(Long teamId) {
+        return new CacheTag(Type.TEAM, teamId);
+    }
+
+    public static CacheTag invitations(Long userId) {
+        return new CacheTag(Type.INVITATIONS, userId);
+    }
+
+    public static CacheTag epoch() {
+        return new CacheTag(Type.EPOCH, 0L);
+    }
+
+    public CacheTag head() {
+        return switch (type) {
+            case PROJECT -> new CacheTag(Type.PROJECT_HEAD, id);
+            case TASK -> new CacheTag(Type.TASK_HEAD, id);
+            default -> throw new IllegalArgumentException("No head counter for " + this);
+        };
+    }
+
+    public CacheTag version() {
+        return switch (type) {
+            case PROJECT -> new CacheTag(Type.PROJECT_VERSION, id);
+            case TASK -> new CacheTag(Type.TASK_VERSION, id);
+            case USER -> new CacheTag(Type.USER_VERSION, id);
+            default -> throw new IllegalArgumentException("No version counter for " + this);
+        };
+    }
+
+    @Override
+    public String toString() {
+        return type.getPrefix() + ":" + id;
+    }
+}
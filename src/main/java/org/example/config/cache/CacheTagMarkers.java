@@ -0,0 +1,66 @@
+package org.example.config.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Связь кэшей с областями инвалидации: по маркеру в ключе определяется тег записи.
+// Один тип тега может покрывать несколько кэшей (USER - страницы проектов и список команд)
+final class CacheTagMarkers {
+
+    private static final Map<String, Marker> MARKERS = Map.of(
+            "taskPages", new Marker("|projId=", CacheTag.Type.PROJECT),
+            "commentPages", new Marker("|taskId=", CacheTag.Type.TASK),
+            "projectPages", new Marker("|usId=", CacheTag.Type.USER),
+            "taskHistory", new Marker("|taskId=", CacheTag.Type.TASK_HISTORY),
+            "myTeams", new Marker("|usId=", CacheTag.Type.USER),
+            "teamMembers", new Marker("|teamId=", CacheTag.Type.TEAM),
+            "myInvitations", new Marker("|usId=", CacheTag.Type.INVITATIONS),
+            "myPendingInvitations", new Marker("|usId=", CacheTag.Type.INVITATIONS)
+    );
+
+    private CacheTagMarkers() {
+    }
+
+    static boolean isTagged(String cacheName) {
+        return MARKERS.containsKey(cacheName);
+    }
+
+    static List<String> cacheNamesOf(CacheTag.Type type) {
+        return MARKERS.entrySet().stream()
+                .filter(entry -> entry.getValue().type() == type)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    // key - ключ кэша, с префиксом "cacheName::" или без него
+    static Optional<CacheTag> tagOf(String cacheName, String key) {
+        Marker marker = MARKERS.get(cacheName);
+        if (marker == null) {
+            return Optional.empty();
+        }
+
+        Long id = marker.extractId(key);
+        return id == null ? Optional.empty() : Optional.of(new CacheTag(marker.type(), id));
+    }
+
+    private record Marker(String prefix, CacheTag.Type type) {
+
+        Long extractId(String key) {
+            int start = key.indexOf(prefix);
+            if (start < 0) {
+                return null;
+            }
+            start += prefix.length();
+
+            int end = key.indexOf('|', start);
+            String id = end < 0 ? key.substring(start) : key.substring(start, end);
+
+            try {
+                return Long.valueOf(id);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.config.cache;
+
+// Redis для кэшей недоступен: предохранитель открыт или обращение к счетчикам не удалось
+public class CacheUnavailableException extends RuntimeException {
+
+    public CacheUnavailableException(String message) {
+        super(message);
+    }
+
+    public CacheUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
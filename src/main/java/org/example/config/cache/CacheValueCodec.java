@@ -0,0 +1,11 @@
+package org.example.config.cache;
+
+// Формат значений кэшей страниц. Выбирается через task-manager.cache.value-codec
+public enum CacheValueCodec {
+
+    // Полиморфный JSON с именами классов (GenericJackson2JsonRedisSerializer)
+    JSON,
+
+    // Smile по схеме кэша: тип страницы известен заранее, имена классов не пишутся
+    SMILE
+}
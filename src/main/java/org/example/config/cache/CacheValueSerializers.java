@@ -0,0 +1,60 @@
+package org.example.config.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.dto.CommentResponseDto;
+import org.example.dto.ProjectResponseDto;
+import org.example.dto.TaskResponseDto;
+import org.example.pagination.KeysetPageResponseDto;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Map;
+
+// Сериализаторы значений кэша: общий полиморфный JSON и Smile по схеме для кэшей страниц
+public final class CacheValueSerializers {
+
+    // cacheName -> тип элементов страницы KeysetPageResponseDto<T>
+    public static final Map<String, Class<?>> PAGE_ITEM_TYPES = Map.of(
+            "taskPages", TaskResponseDto.class,
+            "commentPages", CommentResponseDto.class,
+            "projectPages", ProjectResponseDto.class
+    );
+
+    private CacheValueSerializers() {
+    }
+
+    public static GenericJackson2JsonRedisSerializer polymorphicJson() {
+        BasicPolymorphicTypeValidator validator = BasicPolymorphicTypeValidator.builder()
+                .allowIfSubType("java.util")
+                .allowIfSubType("org.example")
+                .build();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.activateDefaultTyping(
+                validator,
+                ObjectMapper.DefaultTyping.NON_FINAL
+        );
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        return new GenericJackson2JsonRedisSerializer(objectMapper);
+    }
+
+    public static RedisSerializer<Object> smilePage(Class<?> itemType, int compressionThreshold) {
+        ObjectMapper smileMapper = SmileMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+
+        return new SmileCacheValueSerializer(
+                smileMapper,
+                smileMapper.getTypeFactory().constructParametricType(KeysetPageResponseDto.class, itemType),
+                compressionThreshold
+        );
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.config.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Число записей и суммарный размер значений, записанных в Redis этой нодой, по каждому кэшу.
+// Средний размер значения - основа оценки памяти кэша в CacheAdminEndpoint
+@Component
+public class CacheValueSizeStatistics implements CacheEntryWriteListener {
+
+    private final Map<String, Sizes> sizes = new ConcurrentHashMap<>();
+
+    @Override
+    public void onEntryWritten(String cacheName, String redisKey, int valueSize) {
+        Sizes cacheSizes = sizes.computeIfAbsent(cacheName, name -> new Sizes());
+        cacheSizes.writes.increment();
+        cacheSizes.bytes.add(valueSize);
+    }
+
+    public long writes(String cacheName) {
+        Sizes cacheSizes = sizes.get(cacheName);
+        return cacheSizes != null ? cacheSizes.writes.sum() : 0L;
+    }
+
+    // 0 - в кэш еще ничего не записывалось
+    public long averageValueSize(String cacheName) {
+        Sizes cacheSizes = sizes.get(cacheName);
+        if (cacheSizes == null) {
+            return 0L;
+        }
+
+        long writes = cacheSizes.writes.sum();
+        return writes == 0 ? 0L : cacheSizes.bytes.sum() / writes;
+    }
+
+    private static final class Sizes {
+        private final LongAdder writes = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.config.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Обход кэшей целиком, пока предохранитель Redis открыт: без Redis не доходят инвалидации с других нод,
+// поэтому L1 тоже не читается. Загрузчик @Cacheable вызывается напрямую, запись и удаление пропускаются -
+// после восстановления L1 очищается, а пропущенные теги повторяет CacheInvalidationService.
+// Так же обрабатывается CacheBypassKey независимо от состояния предохранителя
+public class CircuitBreakingCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final CacheCircuitBreaker circuitBreaker;
+
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public CircuitBreakingCacheManager(CacheManager delegate, CacheCircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+
+        return caches.computeIfAbsent(name, cacheName -> new CircuitBreakingCache(target, circuitBreaker));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    static final class CircuitBreakingCache implements Cache {
+
+        private final Cache target;
+        private final CacheCircuitBreaker circuitBreaker;
+
+        CircuitBreakingCache(Cache target, CacheCircuitBreaker circuitBreaker) {
+            this.target = target;
+            this.circuitBreaker = circuitBreaker;
+        }
+
+        Cache getTargetCache() {
+            return target;
+        }
+
+        @Override
+        public String getName() {
+            return target.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return target.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return usesCache(key) ? target.get(key) : null;
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return usesCache(key) ? target.get(key, type) : null;
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            if (usesCache(key)) {
+                return target.get(key, valueLoader);
+            }
+
+            try {
+                return valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            if (usesCache(key)) {
+                target.put(key, value);
+            }
+        }
+
+        @Override
+        public void evict(Object key) {
+            if (usesCache(key)) {
+                target.evict(key);
+            }
+        }
+
+        @Override
+        public void clear() {
+            if (circuitBreaker.isClosed()) {
+                target.clear();
+            }
+        }
+
+        private boolean usesCache(Object key) {
+            return !(key instanceof CacheBypassKey) && circuitBreaker.isClosed();
+        }
+    }
+}
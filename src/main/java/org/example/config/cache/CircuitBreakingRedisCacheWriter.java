@@ -0,0 +1,126 @@
+package org.example.config.cache;
+
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+// Пропускает обращения RedisCache через CacheCircuitBreaker: ошибки и медленные вызовы учитываются,
+// при открытом предохранителе чтение - промах, запись и удаление пропускаются без похода в Redis.
+// Так же обрабатываются ключи CacheBypassKey: иначе без L1 страница легла бы под ключ, который никто не прочтет
+public class CircuitBreakingRedisCacheWriter implements RedisCacheWriter {
+
+    private static final byte[] BYPASS_MARKER = CacheBypassKey.MARKER.getBytes(StandardCharsets.UTF_8);
+
+    private final RedisCacheWriter delegate;
+    private final CacheCircuitBreaker circuitBreaker;
+
+    public CircuitBreakingRedisCacheWriter(RedisCacheWriter delegate, CacheCircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key) {
+        if (!usesCache(key)) {
+            return null;
+        }
+        return circuitBreaker.call(() -> delegate.get(name, key));
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key, Duration ttl) {
+        if (!usesCache(key)) {
+            return null;
+        }
+        return circuitBreaker.call(() -> delegate.get(name, key, ttl));
+    }
+
+    @Override
+    public boolean supportsAsyncRetrieve() {
+        return delegate.supportsAsyncRetrieve();
+    }
+
+    @Override
+    public CompletableFuture<byte[]> retrieve(String name, byte[] key, Duration ttl) {
+        if (isBypass(key)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return delegate.retrieve(name, key, ttl);
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, Duration ttl) {
+        if (usesCache(key)) {
+            circuitBreaker.run(() -> delegate.put(name, key, value, ttl));
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> store(String name, byte[] key, byte[] value, Duration ttl) {
+        if (isBypass(key)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return delegate.store(name, key, value, ttl);
+    }
+
+    @Override
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+        if (!usesCache(key)) {
+            return null;
+        }
+        return circuitBreaker.call(() -> delegate.putIfAbsent(name, key, value, ttl));
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        if (usesCache(key)) {
+            circuitBreaker.run(() -> delegate.remove(name, key));
+        }
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        if (circuitBreaker.isClosed()) {
+            circuitBreaker.run(() -> delegate.clean(name, pattern));
+        }
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        delegate.clearStatistics(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        return new CircuitBreakingRedisCacheWriter(
+                delegate.withStatisticsCollector(cacheStatisticsCollector),
+                circuitBreaker
+        );
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return delegate.getCacheStatistics(cacheName);
+    }
+
+    private boolean usesCache(byte[] key) {
+        return !isBypass(key) && circuitBreaker.isClosed();
+    }
+
+    private static boolean isBypass(byte[] key) {
+        outer:
+        for (int start = 0; start <= key.length - BYPASS_MARKER.length; start++) {
+            for (int i = 0; i < BYPASS_MARKER.length; i++) {
+                if (key[start + i] != BYPASS_MARKER[i]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,370 @@
+package org.example.config.cache;
+
+import org.example.entity.UserEntity;
+import org.example.pagination.KeysetCursor;
+import org.example.pagination.PaginationMode;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Скомпилированная CacheKeySchema одного метода: список сегментов и индексы нужных параметров.
+// Разбор шаблона и проверки выполняются в compile(), generate() только дописывает сегменты в StringBuilder.
+final class CompiledCacheKey {
+
+    static final String LIMIT = "limit";
+    static final String CURSOR = "cursor";
+
+    private static final Set<String> BUILT_INS = Set.of("limit", "cursor", "version", "view", "user", "role");
+
+    private static final Set<CacheTag.Type> VIEW_SCOPES = EnumSet.of(CacheTag.Type.PROJECT, CacheTag.Type.TASK_HISTORY);
+    private static final Set<CacheTag.Type> ACCESS_CHECKED_SCOPES =
+            EnumSet.of(CacheTag.Type.PROJECT, CacheTag.Type.TASK, CacheTag.Type.TEAM);
+
+    private final String template;
+    private final CacheTag.Type scopeType;
+    private final boolean shared;
+
+    private final int scopeIndex;
+    private final int limitIndex;
+    private final int cursorIndex;
+
+    private final boolean usesView;
+    private final boolean usesVersion;
+    private final boolean hasHead;
+
+    private final Segment[] segments;
+
+    private final CacheEvictionEngine cacheEvictionEngine;
+    private final CacheScopeResolver cacheScopeResolver;
+    private final PageWriteThroughService pageWriteThroughService;
+
+    private CompiledCacheKey(String template,
+                             CacheKeySchema schema,
+                             int scopeIndex,
+                             int limitIndex,
+                             int cursorIndex,
+                             List<Segment> segments,
+                             CacheEvictionEngine cacheEvictionEngine,
+                             CacheScopeResolver cacheScopeResolver,
+                             PageWriteThroughService pageWriteThroughService) {
+        this.template = template;
+        this.scopeType = schema.scope();
+        this.shared = schema.shared();
+        this.scopeIndex = scopeIndex;
+        this.limitIndex = limitIndex;
+        this.cursorIndex = cursorIndex;
+        this.usesView = segments.contains(Segment.VIEW);
+        this.usesVersion = segments.contains(Segment.VERSION);
+        this.hasHead = scopeType.hasHead();
+        this.segments = segments.toArray(Segment[]::new);
+        this.cacheEvictionEngine = cacheEvictionEngine;
+        this.cacheScopeResolver = cacheScopeResolver;
+        this.pageWriteThroughService = pageWriteThroughService;
+    }
+
+    static CompiledCacheKey compile(Method method,
+                                    CacheEvictionEngine cacheEvictionEngine,
+                                    CacheScopeResolver cacheScopeResolver,
+                                    PageWriteThroughService pageWriteThroughService) {
+        CacheKeySchema schema = method.getAnnotation(CacheKeySchema.class);
+        if (schema == null) {
+            throw invalid(method, "@CacheKeySchema is missing");
+        }
+
+        Parameter[] parameters = method.getParameters();
+        List<Segment> segments = parse(method, schema.value(), parameters);
+
+        Set<String> referenced = new HashSet<>();
+        for (Segment segment : segments) {
+            switch (segment.kind) {
+                case PARAM -> referenced.add(parameters[segment.index].getName());
+                case LIMIT -> referenced.add(LIMIT);
+                case CURSOR -> referenced.add(CURSOR);
+                default -> {
+                }
+            }
+        }
+
+        for (Parameter parameter : parameters) {
+            if (!referenced.contains(parameter.getName())) {
+                throw invalid(method, "parameter '" + parameter.getName() + "' is not part of the key");
+            }
+        }
+
+        int limitIndex = indexOf(parameters, LIMIT);
+        int cursorIndex = indexOf(parameters, CURSOR);
+
+        if (referenced.contains(LIMIT)) {
+            requireType(method, parameters, limitIndex, LIMIT, Integer.class);
+        }
+
+        boolean usesVersion = segments.contains(Segment.VERSION);
+        boolean hasHead = schema.scope().hasHead();
+        if (referenced.contains(CURSOR) || (usesVersion && hasHead)) {
+            requireType(method, parameters, cursorIndex, CURSOR, KeysetCursor.class);
+        }
+
+        boolean perUser = segments.contains(Segment.USER);
+
+        // Пустой scopeParam - область текущего пользователя, такой ключ обязан содержать {user}
+        int scopeIndex = -1;
+        if (schema.scopeParam().isEmpty()) {
+            if (!perUser) {
+                throw invalid(method, "scopeParam is required unless the key contains {user}");
+            }
+        } else {
+            scopeIndex = indexOf(parameters, schema.scopeParam());
+            requireType(method, parameters, scopeIndex, schema.scopeParam(), Long.class);
+        }
+
+        boolean usesView = segments.contains(Segment.VIEW);
+        if (usesView && !VIEW_SCOPES.contains(schema.scope())) {
+            throw invalid(method, "{view} is not supported for scope " + schema.scope());
+        }
+
+        if (schema.shared() == perUser) {
+            throw invalid(method, schema.shared()
+                    ? "shared key must not contain {user}"
+                    : "key does not depend on the user, declare shared = true or add {user}");
+        }
+        if (schema.shared() && !usesView && !ACCESS_CHECKED_SCOPES.contains(schema.scope())) {
+            throw invalid(method, "no access check for shared scope " + schema.scope());
+        }
+
+        return new CompiledCacheKey(schema.value(), schema, scopeIndex, limitIndex,
+                cursorIndex, segments,
+                cacheEvictionEngine, cacheScopeResolver, pageWriteThroughService);
+    }
+
+    String generate(Object[] params, UserEntity user) {
+        KeysetCursor cursor = cursorIndex >= 0 ? (KeysetCursor) params[cursorIndex] : null;
+        boolean first = cursor == null;
+
+        Long scopeId = scopeIndex >= 0 ? (Long) params[scopeIndex] : user.getId();
+        CacheTag scope = new CacheTag(scopeType, scopeId);
+
+        // Проверка доступа до обращения к поколениям: чужой scope не должен давать ни ключ, ни Redis-запрос
+        String view = null;
+        if (usesView) {
+            view = cacheScopeResolver.view(scope, user);
+        } else if (shared) {
+            cacheScopeResolver.checkAccess(scope, user);
+        }
+
+        long generation = 0L;
+        long head = -1L;
+        if (usesVersion) {
+            generation = cacheEvictionEngine.keyGeneration(scope);
+            // Новый элемент встает в начало выдачи: кроме первой меняются только страницы перед курсором
+            if (hasHead && (first || cursor.mode() == PaginationMode.PREVIOUS)) {
+                head = pageWriteThroughService.headGeneration(scope);
+            }
+        }
+
+        StringBuilder key = new StringBuilder(template.length() + 48);
+        for (Segment segment : segments) {
+            switch (segment.kind) {
+                case LITERAL -> key.append(segment.literal);
+                case PARAM -> appendValue(key, params[segment.index]);
+                case LIMIT -> key.append(normalizeLimit((Integer) params[limitIndex]));
+                case CURSOR -> appendCursor(key, cursor);
+                case VERSION -> {
+                    key.append("g=").append(generation);
+                    if (head >= 0) {
+                        key.append("|h=").append(head);
+                    }
+                }
+                case VIEW -> key.append(view);
+                case USER -> key.append(user.getId());
+                case ROLE -> key.append(user.getRole());
+            }
+        }
+        return key.toString();
+    }
+
+    static int normalizeLimit(Integer limit) {
+        return limit != null && limit > 0 ? Math.min(limit, 50) : 10;
+    }
+
+    private static void appendValue(StringBuilder key, Object value) {
+        if (value instanceof Long number) {
+            key.append(number.longValue());
+        } else if (value instanceof Integer number) {
+            key.append(number.intValue());
+        } else {
+            key.append(value);
+        }
+    }
+
+    private static void appendCursor(StringBuilder key, KeysetCursor cursor) {
+        if (cursor == null) {
+            key.append("first");
+            return;
+        }
+        key.append(switch (cursor.mode()) {
+            case PREVIOUS -> "prevCreatAt=";
+            case AT -> "atCreatAt=";
+            default -> "curCreatAt=";
+        });
+        appendIsoDateTime(key, cursor.createdAt());
+        key.append("|curId=").append(cursor.id().longValue());
+    }
+
+    // То же, что DateTimeFormatter.ISO_LOCAL_DATE_TIME, без разбора шаблона и промежуточных строк
+    static void appendIsoDateTime(StringBuilder key, LocalDateTime value) {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            key.append(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            return;
+        }
+
+        appendPadded(key, year, 4);
+        key.append('-');
+        appendPadded(key, value.getMonthValue(), 2);
+        key.append('-');
+        appendPadded(key, value.getDayOfMonth(), 2);
+        key.append('T');
+        appendPadded(key, value.getHour(), 2);
+        key.append(':');
+        appendPadded(key, value.getMinute(), 2);
+        key.append(':');
+        appendPadded(key, value.getSecond(), 2);
+
+        int nano = value.getNano();
+        if (nano != 0) {
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            key.append('.');
+            appendPadded(key, nano, digits);
+        }
+    }
+
+    private static void appendPadded(StringBuilder key, int value, int width) {
+        for (int bound = 10, i = 1; i < width; i++, bound *= 10) {
+            if (value < bound) {
+                key.append('0');
+            }
+        }
+        key.append(value);
+    }
+
+    private static List<Segment> parse(Method method, String template, Parameter[] parameters) {
+        List<Segment> segments = new ArrayList<>();
+        int position = 0;
+
+        while (position < template.length()) {
+            int open = template.indexOf('{', position);
+            int close = template.indexOf('}', position);
+
+            if (open < 0) {
+                if (close >= 0) {
+                    throw invalid(method, "unbalanced '}' at " + close);
+                }
+                segments.add(Segment.literal(template.substring(position)));
+                break;
+            }
+            if (close >= 0 && close < open) {
+                throw invalid(method, "unbalanced '}' at " + close);
+            }
+
+            close = template.indexOf('}', open);
+            if (close < 0) {
+                throw invalid(method, "unclosed '{' at " + open);
+            }
+            if (open > position) {
+                segments.add(Segment.literal(template.substring(position, open)));
+            }
+
+            String name = template.substring(open + 1, close);
+            if (name.isEmpty() || name.indexOf('{') >= 0) {
+                throw invalid(method, "malformed placeholder at " + open);
+            }
+            segments.add(placeholder(method, name, parameters));
+
+            position = close + 1;
+        }
+
+        return segments;
+    }
+
+    private static Segment placeholder(Method method, String name, Parameter[] parameters) {
+        if (BUILT_INS.contains(name)) {
+            return switch (name) {
+                case "limit" -> Segment.LIMIT;
+                case "cursor" -> Segment.CURSOR;
+                case "version" -> Segment.VERSION;
+                case "view" -> Segment.VIEW;
+                case "user" -> Segment.USER;
+                default -> Segment.ROLE;
+            };
+        }
+
+        int index = indexOf(parameters, name);
+        if (index < 0) {
+            throw invalid(method, "unknown placeholder {" + name + "}");
+        }
+
+        Class<?> type = parameters[index].getType();
+        if (!(type == Long.class || type == Integer.class || type == String.class
+                || type == long.class || type == int.class || type.isEnum())) {
+            throw invalid(method, "parameter '" + name + "' of type " + type.getSimpleName()
+                    + " cannot be written into a key");
+        }
+        return Segment.param(index);
+    }
+
+    private static int indexOf(Parameter[] parameters, String name) {
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].getName().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void requireType(Method method, Parameter[] parameters, int index, String name, Class<?> type) {
+        if (index < 0) {
+            throw invalid(method, "parameter '" + name + "' is required");
+        }
+        if (parameters[index].getType() != type) {
+            throw invalid(method, "parameter '" + name + "' must be " + type.getSimpleName());
+        }
+    }
+
+    private static IllegalStateException invalid(Method method, String reason) {
+        return new IllegalStateException(String.format("Invalid cache key schema for %s.%s: %s",
+                method.getDeclaringClass().getSimpleName(), method.getName(), reason));
+    }
+
+    private enum Kind {
+        LITERAL, PARAM, LIMIT, CURSOR, VERSION, VIEW, USER, ROLE
+    }
+
+    private record Segment(Kind kind, String literal, int index) {
+
+        static final Segment LIMIT = new Segment(Kind.LIMIT, null, -1);
+        static final Segment CURSOR = new Segment(Kind.CURSOR, null, -1);
+        static final Segment VERSION = new Segment(Kind.VERSION, null, -1);
+        static final Segment VIEW = new Segment(Kind.VIEW, null, -1);
+        static final Segment USER = new Segment(Kind.USER, null, -1);
+        static final Segment ROLE = new Segment(Kind.ROLE, null, -1);
+
+        static Segment literal(String text) {
+            return new Segment(Kind.LITERAL, text, -1);
+        }
+
+        static Segment param(int index) {
+            return new Segment(Kind.PARAM, null, index);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.config.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+// L2-кэш Hibernate живет в heap каждой ноды. После коммита изменения или удаления
+// кэшируемой сущности остальные ноды выбрасывают свою копию. Сообщение: "<entityName>|<id>"
+@Component
+@RequiredArgsConstructor
+public class EntityCacheInvalidationListener
+        implements PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    public static final String REGION = "entity";
+
+    private static final Logger log = LoggerFactory.getLogger(EntityCacheInvalidationListener.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final LocalCacheInvalidationBus invalidationBus;
+
+    private SessionFactoryImplementor sessionFactory;
+
+    @PostConstruct
+    public void init() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+
+        invalidationBus.subscribe(REGION, this::evictLocal);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        invalidationBus.publish(REGION, event.getPersister().getEntityName() + "|" + event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        invalidationBus.publish(REGION, event.getPersister().getEntityName() + "|" + event.getId());
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    private void evictLocal(String payload) {
+        int separator = payload.lastIndexOf('|');
+        if (separator < 0) {
+            log.warn("Malformed entity cache invalidation: {}", payload);
+            return;
+        }
+
+        String entityName = payload.substring(0, separator);
+        Long id;
+        try {
+            id = Long.valueOf(payload.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            // Исключение из обработчика прервало бы dispatch остальным подписчикам региона
+            log.warn("Malformed entity cache invalidation: {}", payload);
+            return;
+        }
+
+        sessionFactory.getCache().evictEntityData(entityName, id);
+
+        // Ключ natural id по идентификатору не найти: удаление membership сбрасывает регион целиком
+        EntityPersister persister = sessionFactory.getMappingMetamodel().findEntityDescriptor(entityName);
+        if (persister != null && persister.hasNaturalIdCache()) {
+            sessionFactory.getCache().evictNaturalIdData(entityName);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.config.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+// Hit ratio регионов L2-кэша Hibernate (требует hibernate.generate_statistics)
+@Component
+@RequiredArgsConstructor
+public class EntityCacheMetrics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats = statistics.getDomainDataRegionStatistics(region);
+
+            FunctionCounter.builder("task_manager_entity_cache_requests_total", stats,
+                            CacheRegionStatistics::getHitCount)
+                    .tag("service", "task-manager")
+                    .tag("region", region)
+                    .tag("result", "hit")
+                    .register(registry);
+
+            FunctionCounter.builder("task_manager_entity_cache_requests_total", stats,
+                            CacheRegionStatistics::getMissCount)
+                    .tag("service", "task-manager")
+                    .tag("region", region)
+                    .tag("result", "miss")
+                    .register(registry);
+
+            FunctionCounter.builder("task_manager_entity_cache_puts_total", stats,
+                            CacheRegionStatistics::getPutCount)
+                    .tag("service", "task-manager")
+                    .tag("region", region)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.config.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.example.config.TaskCacheProperties;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.Set;
+
+// Redis SET ключей закэшированных первых страниц по области (proj/task): по нему write-through
+// находит страницы, в которые нужно вклеить новый элемент
+@Component
+@RequiredArgsConstructor
+public class FirstPageIndex implements CacheEntryWriteListener {
+
+    private static final String KEY_PREFIX = "firstPages::";
+    private static final String FIRST_PAGE_SUFFIX = "|first";
+
+    private final StringRedisTemplate redis;
+    private final TaskCacheProperties cacheProperties;
+
+    @Override
+    public void onEntryWritten(String cacheName, String redisKey, int valueSize) {
+        if (!cacheProperties.isWriteThrough() || !redisKey.endsWith(FIRST_PAGE_SUFFIX)) {
+            return;
+        }
+
+        Optional<CacheTag> tag = CacheTagMarkers.tagOf(cacheName, redisKey);
+        if (tag.isEmpty() || !tag.get().type().hasHead()) {
+            return;
+        }
+
+        String setKey = indexKey(tag.get());
+        redis.opsForSet().add(setKey, redisKey);
+        redis.expire(setKey, cacheProperties.getPageTtl().multipliedBy(2));
+    }
+
+    public Set<String> members(CacheTag tag) {
+        Set<String> members = redis.opsForSet().members(indexKey(tag));
+        return members != null ? members : Set.of();
+    }
+
+    public void remove(CacheTag tag, Object... redisKeys) {
+        if (redisKeys.length > 0) {
+            redis.opsForSet().remove(indexKey(tag), redisKeys);
+        }
+    }
+
+    private String indexKey(CacheTag tag) {
+        return KEY_PREFIX + tag;
+    }
+}
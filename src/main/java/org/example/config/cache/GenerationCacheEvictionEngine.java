@@ -0,0 +1,38 @@
+package org.example.config.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+@Component
+@ConditionalOnProperty(name = "task-manager.cache.eviction-engine", havingValue = "generation", matchIfMissing = true)
+@RequiredArgsConstructor
+public class GenerationCacheEvictionEngine implements CacheEvictionEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(GenerationCacheEvictionEngine.class);
+
+    private final CacheGenerationService cacheGenerationService;
+
+    @Override
+    public long keyGeneration(CacheTag tag) {
+        return cacheGenerationService.current(tag);
+    }
+
+    @Override
+    public void evict(CacheTag tag) {
+        long generation = cacheGenerationService.bump(tag);
+
+        log.info("Cache tag: {} | New generation: {}", tag, generation);
+    }
+
+    @Override
+    public void evictAll(Collection<CacheTag> tags) {
+        cacheGenerationService.bumpAll(tags);
+
+        log.info("Cache tags: {} | Generations bumped", tags);
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.config.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Рассылает инвалидации локальных (in-process) кэшей на все ноды через Redis pub/sub.
+// Формат сообщения: "<region>|<payload>"
+@Component
+@RequiredArgsConstructor
+public class LocalCacheInvalidationBus implements MessageListener {
+
+    public static final String CHANNEL = "task-manager:local-cache-invalidation";
+
+    private static final Logger log = LoggerFactory.getLogger(LocalCacheInvalidationBus.class);
+
+    private final StringRedisTemplate redis;
+
+    private final Map<String, List<Consumer<String>>> handlers = new ConcurrentHashMap<>();
+
+    public void subscribe(String region, Consumer<String> handler) {
+        handlers.computeIfAbsent(region, key -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    public void publish(String region, String payload) {
+        try {
+            redis.convertAndSend(CHANNEL, region + "|" + payload);
+        } catch (Exception e) {
+            log.warn("Failed to publish local cache invalidation {}|{}: {}", region, payload, e.getMessage());
+        }
+    }
+
+    // Применяет инвалидацию на текущей ноде сразу, не дожидаясь собственного сообщения из канала
+    public void broadcast(String region, String payload) {
+        dispatch(region, payload);
+        publish(region, payload);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+
+        int separator = body.indexOf('|');
+        if (separator < 0) {
+            log.warn("Malformed local cache invalidation message: {}", body);
+            return;
+        }
+
+        dispatch(body.substring(0, separator), body.substring(separator + 1));
+    }
+
+    private void dispatch(String region, String payload) {
+        handlers.getOrDefault(region, List.of())
+                .forEach(handler -> handler.accept(payload));
+    }
+}
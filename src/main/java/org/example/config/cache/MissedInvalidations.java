@@ -0,0 +1,73 @@
+package org.example.config.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.example.config.TaskCacheProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+// Теги, инвалидация которых не дошла до Redis. Повторяются после восстановления предохранителя;
+// при переполнении точечный повтор невозможен, и кэши сбрасываются целиком.
+// Очередь локальна для ноды: если нода упадет до восстановления, устаревшие страницы доживут до TTL
+@Component
+@RequiredArgsConstructor
+public class MissedInvalidations {
+
+    private final TaskCacheProperties cacheProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final Set<CacheTag> tags = new LinkedHashSet<>();
+    private boolean overflowed;
+
+    @PostConstruct
+    public void initMetrics() {
+        Gauge.builder("task_manager_cache_missed_invalidations", this, MissedInvalidations::size)
+                .description("Cache tags waiting to be invalidated once Redis is reachable again")
+                .tag("service", "task-manager")
+                .register(meterRegistry);
+    }
+
+    public synchronized void add(Collection<CacheTag> missed) {
+        if (overflowed) {
+            return;
+        }
+
+        tags.addAll(missed);
+        if (tags.size() > cacheProperties.getMissedInvalidationsCapacity()) {
+            tags.clear();
+            overflowed = true;
+        }
+    }
+
+    public synchronized void markOverflowed() {
+        tags.clear();
+        overflowed = true;
+    }
+
+    public synchronized Drained drain() {
+        Drained drained = new Drained(new LinkedHashSet<>(tags), overflowed);
+        tags.clear();
+        overflowed = false;
+        return drained;
+    }
+
+    public synchronized int size() {
+        return tags.size();
+    }
+
+    public synchronized boolean isOverflowed() {
+        return overflowed;
+    }
+
+    public record Drained(Set<CacheTag> tags, boolean overflowed) {
+
+        public boolean isEmpty() {
+            return tags.isEmpty() && !overflowed;
+        }
+    }
+}
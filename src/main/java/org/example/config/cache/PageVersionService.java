@@ -0,0 +1,93 @@
+package org.example.config.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.example.entity.UserEntity;
+import org.example.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Монотонные версии областей проекта, задачи и пользователя для weak ETag страниц.
+// Растут теми же путями записи, что и инвалидация кэша (после коммита), поэтому совпадение ETag
+// позволяет ответить 304 без загрузки и сериализации страницы.
+// Версия читается до загрузки страницы: запись между чтением и загрузкой дает лишний 200, но не ложный 304.
+@Component
+@RequiredArgsConstructor
+public class PageVersionService {
+
+    private static final Logger log = LoggerFactory.getLogger(PageVersionService.class);
+
+    private final CacheGenerationService cacheGenerationService;
+    private final CacheScopeResolver cacheScopeResolver;
+    private final LocalCacheInvalidationBus invalidationBus;
+    private final UserService userService;
+
+    // Ошибка Redis пробрасывается: CacheInvalidationService повторит теги после восстановления
+    public void bumpAll(Collection<CacheTag> scopes) {
+        List<CacheTag> versions = scopes.stream()
+                .filter(scope -> scope.type().hasVersion())
+                .map(CacheTag::version)
+                .toList();
+        if (versions.isEmpty()) {
+            return;
+        }
+
+        cacheGenerationService.bumpAll(versions);
+
+        // Локальные копии версий на всех нодах сбрасываются той же рассылкой, что и поколения
+        invalidationBus.broadcast(CacheInvalidationService.PAGE_TAGS_REGION, versions.stream()
+                .map(CacheTag::toString)
+                .collect(Collectors.joining(",")));
+    }
+
+    // Проверка доступа идет до чтения версии: чужой проект не получает ни 304, ни ETag
+    public String taskPageETag(Long projectId) {
+        UserEntity user = userService.getCurrentUser();
+        String view = cacheScopeResolver.taskPageView(projectId, user);
+
+        return eTag(CacheTag.project(projectId), view);
+    }
+
+    public String commentPageETag(Long taskId) {
+        UserEntity user = userService.getCurrentUser();
+        cacheScopeResolver.checkCommentAccess(taskId, user);
+
+        return eTag(CacheTag.task(taskId), CacheScopeResolver.VIEW_ALL);
+    }
+
+    public String projectPageETag() {
+        UserEntity user = userService.getCurrentUser();
+
+        return eTag(CacheTag.user(user.getId()), String.valueOf(user.getRole()));
+    }
+
+    // После полного сброса кэшей меняются ETag всех областей, в том числе пропустивших инвалидацию
+    public void bumpEpoch() {
+        cacheGenerationService.bump(CacheTag.epoch());
+        invalidationBus.broadcast(CacheInvalidationService.PAGE_TAGS_REGION, CacheTag.epoch().toString());
+    }
+
+    // null - версия недоступна (Redis), страница отдается как обычно
+    private String eTag(CacheTag scope, String view) {
+        long epoch;
+        long version;
+        try {
+            epoch = cacheGenerationService.current(CacheTag.epoch());
+            version = cacheGenerationService.current(scope.version());
+        } catch (CacheUnavailableException e) {
+            log.debug("Page version for {} is unavailable, skipping ETag: {}", scope, e.getMessage());
+            return null;
+        } catch (DataAccessException e) {
+            // Только ошибки Redis: ошибка в коде не должна молча отключать ETag
+            log.warn("Page version for {} is unavailable, skipping ETag: {}", scope, e.getMessage());
+            return null;
+        }
+
+        return "W/\"" + scope + "." + epoch + "." + version + "." + view + "\"";
+    }
+}
@@ -0,0 +1,171 @@
+package org.example.config.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.example.config.TaskCacheProperties;
+import org.example.dto.CommentResponseDto;
+import org.example.dto.TaskResponseDto;
+import org.example.pagination.KeysetCursor;
+import org.example.pagination.KeysetCursorCodec;
+import org.example.pagination.KeysetEntity;
+import org.example.pagination.KeysetListing;
+import org.example.pagination.KeysetPageResponseDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+// Write-through для новых задач и комментариев. Список отсортирован createdAt desc, id desc,
+// поэтому новый элемент всегда встает в начало первой страницы, а страницы после курсора не меняются.
+// Первые страницы дополнительно версионируются счетчиком "головы" (h): при вставке он увеличивается,
+// а пропатченные копии пишутся под новые ключи. Загрузчик, прочитавший БД до коммита,
+// запишет результат под старый h, и устаревшая страница уже не будет прочитана.
+@Component
+@RequiredArgsConstructor
+public class PageWriteThroughService {
+
+    private static final Logger log = LoggerFactory.getLogger(PageWriteThroughService.class);
+
+    private final CacheManager cacheManager;
+    private final CacheEvictionEngine cacheEvictionEngine;
+    private final CacheGenerationService cacheGenerationService;
+    private final FirstPageIndex firstPageIndex;
+    private final LocalCacheInvalidationBus invalidationBus;
+    private final TaskCacheProperties cacheProperties;
+    private final KeysetCursorCodec cursorCodec;
+
+    public boolean isEnabled() {
+        return cacheProperties.isWriteThrough();
+    }
+
+    // Часть ключа первой страницы; без write-through всегда 0 и не требует Redis
+    public long headGeneration(CacheTag scope) {
+        return isEnabled() ? cacheGenerationService.current(scope.head()) : 0L;
+    }
+
+    public void taskCreated(Long projectId, TaskResponseDto task) {
+        Predicate<String> visible = key -> key.contains("|view=" + CacheScopeResolver.VIEW_ALL + "|")
+                || (task.getAssigneeId() != null && key.contains("|view=ASSIGNEE:" + task.getAssigneeId() + "|"));
+
+        patchFirstPages("taskPages", CacheTag.project(projectId), KeysetListing.projectTasks(projectId),
+                visible, task);
+    }
+
+    public void commentCreated(Long taskId, CommentResponseDto comment) {
+        patchFirstPages("commentPages", CacheTag.task(taskId), KeysetListing.taskComments(taskId),
+                key -> true, comment);
+    }
+
+    private <T extends KeysetEntity> void patchFirstPages(String cacheName,
+                                                          CacheTag scope,
+                                                          KeysetListing listing,
+                                                          Predicate<String> containsItem,
+                                                          T item) {
+        try {
+            Cache cache = targetCache(cacheName);
+            String redisKeyPrefix = cacheName + "::";
+
+            long generation = cacheEvictionEngine.keyGeneration(scope);
+            CacheTag head = scope.head();
+            long currentHead = cacheGenerationService.current(head);
+            String currentVersion = "|g=" + generation + "|h=" + currentHead + "|";
+
+            // Страницы читаются до увеличения h, после него старые ключи уже никто не прочитает
+            Map<String, Object> pages = new LinkedHashMap<>();
+            List<Object> outdated = new ArrayList<>();
+            for (String redisKey : firstPageIndex.members(scope)) {
+                String key = redisKey.substring(redisKeyPrefix.length());
+                Cache.ValueWrapper page = key.contains(currentVersion) ? cache.get(key) : null;
+
+                if (page != null && page.get() != null) {
+                    pages.put(key, page.get());
+                }
+                outdated.add(redisKey);
+            }
+
+            long newHead = cacheGenerationService.bump(head);
+            invalidationBus.broadcast(CacheInvalidationService.PAGE_TAGS_REGION, head.toString());
+
+            // Между чтением и увеличением h прошла другая вставка: прочитанные страницы ее не содержат,
+            // и запись под новый h потеряла бы ее элемент. Страницы области сбрасываются целиком
+            if (newHead != currentHead + 1) {
+                log.info("Cache tag: {} | Concurrent write-through detected, evicting first pages", scope);
+                evict(scope);
+                return;
+            }
+
+            String newVersion = "|g=" + generation + "|h=" + newHead + "|";
+            pages.forEach((key, page) -> {
+                @SuppressWarnings("unchecked")
+                KeysetPageResponseDto<T> typed = (KeysetPageResponseDto<T>) page;
+
+                Object patched = containsItem.test(key) ? splice(typed, listing, item) : typed;
+                cache.put(key.replace(currentVersion, newVersion), patched);
+            });
+
+            firstPageIndex.remove(scope, outdated.toArray());
+
+            log.info("Cache tag: {} | First pages patched: {}", scope, pages.size());
+        } catch (Exception e) {
+            log.warn("Write-through for {} failed, evicting instead: {}", scope, e.getMessage());
+
+            evict(scope);
+        }
+    }
+
+    private void evict(CacheTag scope) {
+        cacheEvictionEngine.evict(scope);
+        invalidationBus.broadcast(CacheInvalidationService.PAGE_TAGS_REGION, scope.toString());
+    }
+
+    private <T extends KeysetEntity> KeysetPageResponseDto<T> splice(KeysetPageResponseDto<T> page,
+                                                                     KeysetListing listing,
+                                                                     T item) {
+        List<T> current = page.getItems() != null ? page.getItems() : List.of();
+
+        // Страницу мог уже перечитать загрузчик после коммита
+        boolean alreadyPresent = current.stream()
+                .anyMatch(existing -> Objects.equals(existing.getId(), item.getId()));
+        if (alreadyPresent) {
+            return page;
+        }
+
+        List<T> items = new ArrayList<>(current.size() + 1);
+        items.add(item);
+        items.addAll(current);
+
+        boolean hasNext = page.isHasNext();
+        String nextCursor = page.getNextCursor();
+
+        if (items.size() > page.getLimit()) {
+            items = new ArrayList<>(items.subList(0, page.getLimit()));
+            hasNext = true;
+            nextCursor = cursorCodec.encode(KeysetCursor.next(listing, items.get(items.size() - 1)));
+        }
+
+        return KeysetPageResponseDto.<T>builder()
+                .items(items)
+                .limit(page.getLimit())
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .sort(page.getSort())
+                .build();
+    }
+
+    // Вызывается в afterCommit: отложенная запись декоратора туда уже не попадет
+    private Cache targetCache(String cacheName) {
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(cacheName), cacheName);
+        if (cache instanceof CircuitBreakingCacheManager.CircuitBreakingCache breaking) {
+            cache = breaking.getTargetCache();
+        }
+        return cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+    }
+}
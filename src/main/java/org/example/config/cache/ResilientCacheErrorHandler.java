@@ -0,0 +1,34 @@
+package org.example.config.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+
+// Ошибка кэша не должна ронять запрос: чтение считается промахом (метод выполняется и идет в Postgres),
+// неудачные запись и удаление только логируются. Учет ошибок для предохранителя - в CircuitBreakingRedisCacheWriter
+public class ResilientCacheErrorHandler implements CacheErrorHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ResilientCacheErrorHandler.class);
+
+    @Override
+    public void handleCacheGetError(RuntimeException exception, Cache cache, Object key) {
+        log.warn("Cache {} get failed for key {}, loading from database: {}",
+                cache.getName(), key, exception.getMessage());
+    }
+
+    @Override
+    public void handleCachePutError(RuntimeException exception, Cache cache, Object key, Object value) {
+        log.warn("Cache {} put failed for key {}: {}", cache.getName(), key, exception.getMessage());
+    }
+
+    @Override
+    public void handleCacheEvictError(RuntimeException exception, Cache cache, Object key) {
+        log.warn("Cache {} evict failed for key {}: {}", cache.getName(), key, exception.getMessage());
+    }
+
+    @Override
+    public void handleCacheClearError(RuntimeException exception, Cache cache) {
+        log.warn("Cache {} clear failed: {}", cache.getName(), exception.getMessage());
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.config.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Значение = 1 байт заголовка (RAW/DEFLATE) + Smile. Сжимаются только значения больше порога,
+// мелкие страницы не стоят затрат CPU на Deflate.
+public class SmileCacheValueSerializer implements RedisSerializer<Object> {
+
+    static final byte RAW = 0;
+    static final byte DEFLATE = 1;
+
+    private final ObjectMapper smileMapper;
+    private final JavaType valueType;
+    private final int compressionThreshold;
+
+    // compressionThreshold < 0 - сжатие выключено
+    public SmileCacheValueSerializer(ObjectMapper smileMapper, JavaType valueType, int compressionThreshold) {
+        this.smileMapper = smileMapper;
+        this.valueType = valueType;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        byte[] smile;
+        try {
+            smile = smileMapper.writerFor(valueType).writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write cache value as Smile", e);
+        }
+
+        if (compressionThreshold < 0 || smile.length < compressionThreshold) {
+            return withHeader(RAW, smile, smile.length);
+        }
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(smile);
+            deflater.finish();
+
+            byte[] buffer = new byte[smile.length + 64];
+            int length = deflater.deflate(buffer);
+            if (!deflater.finished() || length >= smile.length) {
+                return withHeader(RAW, smile, smile.length);
+            }
+
+            return withHeader(DEFLATE, buffer, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        // Неизвестный заголовок - значение в старом формате (JSON начинается с '{' или '['):
+        // считаем его промахом, запись перезапишется при следующей загрузке
+        byte[] smile = switch (bytes[0]) {
+            case RAW -> Arrays.copyOfRange(bytes, 1, bytes.length);
+            case DEFLATE -> inflate(bytes);
+            default -> null;
+        };
+
+        if (smile == null) {
+            return null;
+        }
+
+        try {
+            return smileMapper.readValue(smile, valueType);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read Smile cache value", e);
+        }
+    }
+
+    private byte[] inflate(byte[] bytes) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, 1, bytes.length - 1);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && inflater.needsInput()) {
+                    throw new SerializationException("Truncated compressed cache value");
+                }
+                out.write(buffer, 0, length);
+            }
+
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new SerializationException("Corrupted compressed cache value", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] withHeader(byte header, byte[] payload, int length) {
+        byte[] result = new byte[length + 1];
+        result[0] = header;
+        System.arraycopy(payload, 0, result, 1, length);
+        return result;
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.config.cache;
+
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Делегирует все операции в обычный RedisCacheWriter и сообщает слушателям (движок инвалидации,
+// индекс первых страниц, статистика размеров значений) о ключах до и после записи
+public class TagAwareRedisCacheWriter implements RedisCacheWriter {
+
+    private final RedisCacheWriter delegate;
+    private final List<CacheEntryWriteListener> writeListeners;
+
+    public TagAwareRedisCacheWriter(RedisCacheWriter delegate, List<CacheEntryWriteListener> writeListeners) {
+        this.delegate = delegate;
+        this.writeListeners = writeListeners;
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key) {
+        return delegate.get(name, key);
+    }
+
+    @Override
+    public byte[] get(String name, byte[] key, Duration ttl) {
+        return delegate.get(name, key, ttl);
+    }
+
+    @Override
+    public boolean supportsAsyncRetrieve() {
+        return delegate.supportsAsyncRetrieve();
+    }
+
+    @Override
+    public CompletableFuture<byte[]> retrieve(String name, byte[] key, Duration ttl) {
+        return delegate.retrieve(name, key, ttl);
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, Duration ttl) {
+        entryWriting(name, key);
+        delegate.put(name, key, value, ttl);
+        entryWritten(name, key, value);
+    }
+
+    @Override
+    public CompletableFuture<Void> store(String name, byte[] key, byte[] value, Duration ttl) {
+        entryWriting(name, key);
+        return delegate.store(name, key, value, ttl)
+                .thenRun(() -> entryWritten(name, key, value));
+    }
+
+    @Override
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, Duration ttl) {
+        entryWriting(name, key);
+        byte[] existing = delegate.putIfAbsent(name, key, value, ttl);
+        if (existing == null) {
+            entryWritten(name, key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        delegate.remove(name, key);
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        delegate.clean(name, pattern);
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        delegate.clearStatistics(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        return new TagAwareRedisCacheWriter(
+                delegate.withStatisticsCollector(cacheStatisticsCollector),
+                writeListeners
+        );
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return delegate.getCacheStatistics(cacheName);
+    }
+
+    private void entryWriting(String name, byte[] key) {
+        String redisKey = new String(key, StandardCharsets.UTF_8);
+        writeListeners.forEach(listener -> listener.onEntryWriting(name, redisKey));
+    }
+
+    private void entryWritten(String name, byte[] key, byte[] value) {
+        String redisKey = new String(key, StandardCharsets.UTF_8);
+        writeListeners.forEach(listener -> listener.onEntryWritten(name, redisKey, value.length));
+    }
+}
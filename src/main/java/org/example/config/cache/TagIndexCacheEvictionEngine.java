@@ -0,0 +1,204 @@
+package org.example.config.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.example.config.TaskCacheProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+// Для каждой области (proj:{id}, task:{id}, user:{id}) держит Redis SET с ключами записей.
+// Инвалидация = SMEMBERS + pipelined UNLINK, т.е. O(затронутых ключей), а не проход по keyspace.
+@Component
+@ConditionalOnProperty(name = "task-manager.cache.eviction-engine", havingValue = "tag-index")
+@RequiredArgsConstructor
+public class TagIndexCacheEvictionEngine implements CacheEvictionEngine {
+
+    static final String TAG_SET_PREFIX = "cacheTags::";
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final Logger log = LoggerFactory.getLogger(TagIndexCacheEvictionEngine.class);
+
+    private final StringRedisTemplate redis;
+    private final TaskCacheProperties cacheProperties;
+
+    @Override
+    public long keyGeneration(CacheTag tag) {
+        return 0L;
+    }
+
+    // SADD до SET: инвалидация между SET и SADD не нашла бы новую запись, и она жила бы до TTL
+    @Override
+    public void onEntryWriting(String cacheName, String redisKey) {
+        index(cacheName, redisKey);
+    }
+
+    // Повторный SADD после SET: сборщик мог удалить ключ из индекса, пока значение еще не было записано
+    @Override
+    public void onEntryWritten(String cacheName, String redisKey, int valueSize) {
+        index(cacheName, redisKey);
+    }
+
+    private void index(String cacheName, String redisKey) {
+        if (!CacheTagMarkers.isTagged(cacheName)) {
+            return;
+        }
+
+        Optional<CacheTag> tag = CacheTagMarkers.tagOf(cacheName, redisKey);
+        if (tag.isEmpty()) {
+            log.warn("Cache key {} has no tag marker, tag index is not updated", redisKey);
+            return;
+        }
+
+        String setKey = tagSetKey(tag.get());
+
+        redis.opsForSet().add(setKey, redisKey);
+        redis.expire(setKey, cacheProperties.getPageTtl().multipliedBy(2));
+    }
+
+    @Override
+    public void evict(CacheTag tag) {
+        String setKey = tagSetKey(tag);
+
+        Set<String> members = redis.opsForSet().members(setKey);
+        if (members == null || members.isEmpty()) {
+            log.info("Cache tag: {} | Keys found: 0", tag);
+            return;
+        }
+
+        List<String> keys = new ArrayList<>(members);
+
+        // SREM только прочитанных ключей: записи, добавленные параллельно, остаются в индексе
+        redis.executePipelined((RedisCallback<Object>) connection -> {
+            for (int from = 0; from < keys.size(); from += BATCH_SIZE) {
+                byte[][] batch = toBytes(keys.subList(from, Math.min(from + BATCH_SIZE, keys.size())));
+                connection.keyCommands().unlink(batch);
+                connection.setCommands().sRem(setKey.getBytes(StandardCharsets.UTF_8), batch);
+            }
+            return null;
+        });
+
+        log.info("Cache tag: {} | Keys unlinked: {}", tag, keys.size());
+    }
+
+    // Первый pipeline читает все индексы, второй удаляет найденные ключи
+    @Override
+    @SuppressWarnings("unchecked")
+    public void evictAll(Collection<CacheTag> tags) {
+        List<String> setKeys = tags.stream()
+                .map(this::tagSetKey)
+                .toList();
+
+        List<Object> memberSets = redis.executePipelined((RedisCallback<Object>) connection -> {
+            for (String setKey : setKeys) {
+                connection.setCommands().sMembers(setKey.getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+
+        int total = 0;
+        List<List<String>> keysBySet = new ArrayList<>();
+        for (Object members : memberSets) {
+            List<String> keys = members == null ? List.of() : new ArrayList<>((Set<String>) members);
+            keysBySet.add(keys);
+            total += keys.size();
+        }
+
+        if (total == 0) {
+            log.info("Cache tags: {} | Keys found: 0", tags);
+            return;
+        }
+
+        redis.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < setKeys.size(); i++) {
+                List<String> keys = keysBySet.get(i);
+                byte[] setKey = setKeys.get(i).getBytes(StandardCharsets.UTF_8);
+
+                for (int from = 0; from < keys.size(); from += BATCH_SIZE) {
+                    byte[][] batch = toBytes(keys.subList(from, Math.min(from + BATCH_SIZE, keys.size())));
+                    connection.keyCommands().unlink(batch);
+                    connection.setCommands().sRem(setKey, batch);
+                }
+            }
+            return null;
+        });
+
+        log.info("Cache tags: {} | Keys unlinked: {}", tags, total);
+    }
+
+    // Удаляет из индексов ключи, которые уже истекли по TTL
+    @Scheduled(fixedDelayString = "${task-manager.cache.tag-reaper-interval:PT10M}")
+    public void reapDanglingMembers() {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(TAG_SET_PREFIX + "*")
+                .count(100)
+                .build();
+
+        int removed = 0;
+
+        try (Cursor<String> tagSets = redis.scan(options)) {
+            while (tagSets.hasNext()) {
+                removed += reapTagSet(tagSets.next());
+            }
+        }
+
+        log.info("Tag index reaper | Dangling keys removed: {}", removed);
+    }
+
+    private int reapTagSet(String setKey) {
+        List<String> members = new ArrayList<>();
+
+        try (Cursor<String> cursor = redis.opsForSet().scan(setKey, ScanOptions.scanOptions().count(BATCH_SIZE).build())) {
+            cursor.forEachRemaining(members::add);
+        }
+
+        if (members.isEmpty()) {
+            return 0;
+        }
+
+        List<Object> exists = redis.executePipelined((RedisCallback<Object>) connection -> {
+            for (String member : members) {
+                connection.keyCommands().exists(member.getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+
+        List<String> dangling = new ArrayList<>();
+        for (int i = 0; i < members.size(); i++) {
+            if (Boolean.FALSE.equals(exists.get(i))) {
+                dangling.add(members.get(i));
+            }
+        }
+
+        if (!dangling.isEmpty()) {
+            redis.opsForSet().remove(setKey, dangling.toArray());
+        }
+
+        return dangling.size();
+    }
+
+    private String tagSetKey(CacheTag tag) {
+        return TAG_SET_PREFIX + tag;
+    }
+
+    private static byte[][] toBytes(List<String> keys) {
+        byte[][] result = new byte[keys.size()][];
+        for (int i = 0; i < keys.size(); i++) {
+            result[i] = keys.get(i).getBytes(StandardCharsets.UTF_8);
+        }
+        return result;
+    }
+}
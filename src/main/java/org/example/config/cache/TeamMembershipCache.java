@@ -0,0 +1,81 @@
+package org.example.config.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.example.config.TaskCacheProperties;
+import org.example.entity.TeamRole;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+// (teamId, userId) -> TeamRole. Кэшируется только наличие членства,
+// поэтому новый участник виден сразу, а инвалидация нужна при смене роли или удалении.
+@Component
+@RequiredArgsConstructor
+public class TeamMembershipCache {
+
+    private static final String REGION = "membership";
+    private static final String ALL_USERS = "*";
+
+    private final TaskCacheProperties cacheProperties;
+    private final LocalCacheInvalidationBus invalidationBus;
+
+    private Cache<MembershipKey, TeamRole> roles;
+
+    @PostConstruct
+    public void init() {
+        this.roles = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMembershipCacheSize())
+                .expireAfterWrite(cacheProperties.getMembershipTtl())
+                .recordStats()
+                .build();
+
+        invalidationBus.subscribe(REGION, this::onRemoteInvalidation);
+    }
+
+    public Optional<TeamRole> get(Long teamId, Long userId) {
+        return Optional.ofNullable(roles.getIfPresent(new MembershipKey(teamId, userId)));
+    }
+
+    public void put(Long teamId, Long userId, TeamRole role) {
+        roles.put(new MembershipKey(teamId, userId), role);
+    }
+
+    public void evict(Long teamId, Long userId) {
+        evictLocal(teamId, userId);
+        invalidationBus.publish(REGION, teamId + ":" + userId);
+    }
+
+    public void evictTeam(Long teamId) {
+        evictTeamLocal(teamId);
+        invalidationBus.publish(REGION, teamId + ":" + ALL_USERS);
+    }
+
+    public Cache<MembershipKey, TeamRole> getRoles() {
+        return roles;
+    }
+
+    private void evictLocal(Long teamId, Long userId) {
+        roles.invalidate(new MembershipKey(teamId, userId));
+    }
+
+    private void evictTeamLocal(Long teamId) {
+        roles.asMap().keySet().removeIf(key -> key.teamId().equals(teamId));
+    }
+
+    private void onRemoteInvalidation(String payload) {
+        String[] parts = payload.split(":");
+        Long teamId = Long.valueOf(parts[0]);
+
+        if (ALL_USERS.equals(parts[1])) {
+            evictTeamLocal(teamId);
+        } else {
+            evictLocal(teamId, Long.valueOf(parts[1]));
+        }
+    }
+
+    public record MembershipKey(Long teamId, Long userId) {
+    }
+}
@@ -0,0 +1,257 @@
+package org.example.config.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+// L1 (Caffeine, в памяти ноды) перед L2 (Redis). Промах L1 читает L2 и прогревает L1,
+// запись идет в оба уровня. Инвалидации по тегам приходят через TwoLevelCacheManager.
+// get(key, loader) (@Cacheable(sync = true)) - single-flight: внутри ноды ключ грузит один поток,
+// между нодами - владелец аренды CacheLoadLease, остальные ждут появления значения в Redis.
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Cache<Object, Object> local;
+    private final org.springframework.cache.Cache remote;
+    private final LocalCacheInvalidationBus invalidationBus;
+    private final CacheLoadLease loadLease;
+    private final Duration leaseTtl;
+    private final Duration leasePollInterval;
+
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+
+    private final Counter loadsExecuted;
+    private final Counter loadsCoalesced;
+    private final Counter loadsFromRemoteLoader;
+    private final Counter loadsAfterLeaseTimeout;
+
+    public TwoLevelCache(String name,
+                         Cache<Object, Object> local,
+                         org.springframework.cache.Cache remote,
+                         LocalCacheInvalidationBus invalidationBus,
+                         CacheLoadLease loadLease,
+                         Duration leaseTtl,
+                         Duration leasePollInterval,
+                         MeterRegistry meterRegistry) {
+        super(false);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationBus = invalidationBus;
+        this.loadLease = loadLease;
+        this.leaseTtl = leaseTtl;
+        this.leasePollInterval = leasePollInterval;
+
+        this.l1Hits = requestCounter(meterRegistry, "l1", "hit");
+        this.l1Misses = requestCounter(meterRegistry, "l1", "miss");
+        this.l2Hits = requestCounter(meterRegistry, "l2", "hit");
+        this.l2Misses = requestCounter(meterRegistry, "l2", "miss");
+
+        this.loadsExecuted = loadCounter(meterRegistry, "executed");
+        this.loadsCoalesced = loadCounter(meterRegistry, "coalesced");
+        this.loadsFromRemoteLoader = loadCounter(meterRegistry, "remote_loader");
+        this.loadsAfterLeaseTimeout = loadCounter(meterRegistry, "lease_timeout");
+
+        Gauge.builder("task_manager_cache_hit_ratio", this, TwoLevelCache::hitRatio)
+                .description("Share of lookups served from L1 or L2 since start, NaN before the first lookup")
+                .tag("service", "task-manager")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    // Каждый запрос проходит через L1, поэтому знаменатель - обращения к L1
+    private double hitRatio() {
+        double lookups = l1Hits.count() + l1Misses.count();
+        return lookups == 0 ? Double.NaN : (l1Hits.count() + l2Hits.count()) / lookups;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = local.getIfPresent(key);
+        if (value != null) {
+            l1Hits.increment();
+            return value;
+        }
+        l1Misses.increment();
+
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper == null || wrapper.get() == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+
+        local.put(key, wrapper.get());
+        return wrapper.get();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            loadsCoalesced.increment();
+            return (T) await(running, key, valueLoader);
+        }
+
+        try {
+            Object value = loadWithLease(key, valueLoader);
+            own.complete(value);
+            return (T) value;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    private Object loadWithLease(Object key, Callable<?> valueLoader) {
+        Optional<String> token = loadLease.tryAcquire(name, key);
+        if (token.isPresent()) {
+            try {
+                return loadAndPut(key, valueLoader);
+            } finally {
+                loadLease.release(name, key, token.get());
+            }
+        }
+
+        // Ключ уже грузит другая нода: ждем значение в Redis, пока держится ее аренда
+        long deadline = System.nanoTime() + leaseTtl.toNanos();
+        while (System.nanoTime() < deadline) {
+            sleep(leasePollInterval);
+
+            ValueWrapper loaded = remote.get(key);
+            if (loaded != null && loaded.get() != null) {
+                loadsFromRemoteLoader.increment();
+                local.put(key, loaded.get());
+                return loaded.get();
+            }
+
+            if (!loadLease.isHeld(name, key)) {
+                break;
+            }
+        }
+
+        loadsAfterLeaseTimeout.increment();
+        return loadAndPut(key, valueLoader);
+    }
+
+    private Object loadAndPut(Object key, Callable<?> valueLoader) {
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+
+        loadsExecuted.increment();
+        put(key, value);
+        return value;
+    }
+
+    private Object await(CompletableFuture<Object> running, Object key, Callable<?> valueLoader) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for cache value", e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        local.put(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        evictLocal(key.toString());
+        invalidationBus.publish(TwoLevelCacheManager.REGION, name + "|" + key);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        clearLocal();
+        invalidationBus.publish(TwoLevelCacheManager.REGION, name + "|" + TwoLevelCacheManager.ALL_KEYS);
+    }
+
+    void evictLocal(String key) {
+        local.invalidate(key);
+    }
+
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    void evictLocalByTag(CacheTag tag) {
+        local.asMap().keySet().removeIf(key -> CacheTagMarkers.tagOf(name, key.toString())
+                .filter(tag::equals)
+                .isPresent());
+    }
+
+    private Counter loadCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("task_manager_cache_loads_total")
+                .description("Cache loads on miss: executed locally, coalesced with a running load, "
+                        + "served by another node's loader, or executed after the lease wait timed out")
+                .tag("service", "task-manager")
+                .tag("cache", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Counter requestCounter(MeterRegistry meterRegistry, String layer, String result) {
+        return Counter.builder("task_manager_cache_requests_total")
+                .description("Cache lookups by layer (l1 - in-process, l2 - Redis) and result")
+                .tag("service", "task-manager")
+                .tag("cache", name)
+                .tag("layer", layer)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.config.TaskCacheProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Создает TwoLevelCache поверх кэшей Redis-менеджера и разносит по нодам инвалидации L1:
+// по тегам (рассылка CacheInvalidationService) и по отдельным ключам (evict/clear)
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    static final String REGION = "l1";
+    static final String ALL_KEYS = "*";
+
+    private final CacheManager remoteCacheManager;
+    private final TaskCacheProperties cacheProperties;
+    private final LocalCacheInvalidationBus invalidationBus;
+    private final CacheLoadLease loadLease;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, TwoLevelCache> twoLevelCaches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager,
+                                TaskCacheProperties cacheProperties,
+                                LocalCacheInvalidationBus invalidationBus,
+                                CacheLoadLease loadLease,
+                                MeterRegistry meterRegistry) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.cacheProperties = cacheProperties;
+        this.invalidationBus = invalidationBus;
+        this.loadLease = loadLease;
+        this.meterRegistry = meterRegistry;
+
+        invalidationBus.subscribe(REGION, this::onKeyInvalidation);
+        invalidationBus.subscribe(CacheInvalidationService.PAGE_TAGS_REGION, this::onTagsEvicted);
+    }
+
+    // Известные Redis-менеджеру кэши создаются при старте, чтобы их метрики были видны до первого запроса
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return remoteCacheManager.getCacheNames().stream()
+                .map(this::getMissingCache)
+                .toList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+
+        return twoLevelCaches.computeIfAbsent(name, cacheName -> new TwoLevelCache(
+                cacheName,
+                Caffeine.newBuilder()
+                        .maximumSize(cacheProperties.getL1MaxSize())
+                        .expireAfterWrite(cacheProperties.getL1Ttl())
+                        .recordStats()
+                        .build(),
+                remote,
+                invalidationBus,
+                loadLease,
+                cacheProperties.getLoadLeaseTtl(),
+                cacheProperties.getLoadLeasePollInterval(),
+                meterRegistry
+        ));
+    }
+
+    // После восстановления Redis: пока он был недоступен, инвалидации с других нод не приходили
+    public void clearLocalCaches() {
+        twoLevelCaches.values().forEach(TwoLevelCache::clearLocal);
+    }
+
+    private void onTagsEvicted(String payload) {
+        for (String value : payload.split(",")) {
+            CacheTag tag = CacheTag.parse(value);
+
+            for (String cacheName : CacheTagMarkers.cacheNamesOf(tag.type())) {
+                TwoLevelCache cache = twoLevelCaches.get(cacheName);
+                if (cache != null) {
+                    cache.evictLocalByTag(tag);
+                }
+            }
+        }
+    }
+
+    // payload: "<cacheName>|<key>" или "<cacheName>|*"
+    private void onKeyInvalidation(String payload) {
+        int separator = payload.indexOf('|');
+        TwoLevelCache cache = twoLevelCaches.get(payload.substring(0, separator));
+        if (cache == null) {
+            return;
+        }
+
+        String key = payload.substring(separator + 1);
+        if (ALL_KEYS.equals(key)) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(key);
+        }
+    }
+}
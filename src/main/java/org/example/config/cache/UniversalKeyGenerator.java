@@ -1,52 +1,57 @@
 package org.example.config.cache;
 
-import org.example.entity.Role;
+import lombok.RequiredArgsConstructor;
 import org.example.entity.UserEntity;
-import org.example.pagination.PaginationMode;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 
 import java.lang.reflect.Method;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-@Component("universalKeyGenerator")
-public class UniversalKeyGenerator implements KeyGenerator{
+// Ключи строятся по @CacheKeySchema метода. Схемы всех методов с этим генератором
+// компилируются и проверяются при старте, метод без схемы не дает приложению подняться.
+@Component(UniversalKeyGenerator.BEAN_NAME)
+@RequiredArgsConstructor
+public class UniversalKeyGenerator implements KeyGenerator, SmartInitializingSingleton {
 
-    public int normalizeGenerateLimit(Integer limit){
-        return limit != null && limit > 0 ? Math.min(limit, 50) : 10;
-    }
+    public static final String BEAN_NAME = "universalKeyGenerator";
 
-    private void validateGenerateKeysetCursor(boolean isFirst, boolean isNext) throws IllegalArgumentException {
-        if (isFirst || isNext) return;
-        throw new IllegalArgumentException("Неверные параметры курсора");
-    }
+    private final CacheEvictionEngine cacheEvictionEngine;
+    private final CacheScopeResolver cacheScopeResolver;
+    private final PageWriteThroughService pageWriteThroughService;
+    private final ListableBeanFactory beanFactory;
 
-    public String generateScope(UserEntity user){
+    private final Map<Method, CompiledCacheKey> keys = new ConcurrentHashMap<>();
 
-        if(user.getRole() == Role.ADMIN || user.getRole() == Role.MANAGER){
-            return "ALL";
-        } else {
-            return "ASSIGNEE:" + user.getId();
-        }
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            Class<?> beanType = beanFactory.getType(beanName, false);
+            if (beanType == null || !beanType.getName().startsWith("org.example.")) {
+                continue;
+            }
 
+            ReflectionUtils.doWithMethods(ClassUtils.getUserClass(beanType), method -> {
+                Cacheable cacheable = AnnotatedElementUtils.findMergedAnnotation(method, Cacheable.class);
+                if (cacheable != null && BEAN_NAME.equals(cacheable.keyGenerator())) {
+                    compiled(method);
+                }
+            });
+        }
     }
 
-    private String formatCursorPart(LocalDateTime cursorCreatedAt, Long cursorId) {
-
-        boolean isFirst = cursorCreatedAt == null && cursorId == null;
-        boolean isNext  = cursorCreatedAt != null && cursorId != null;
-
-        validateGenerateKeysetCursor(isFirst, isNext);
-
-        if (isFirst) {
-            return "first";
-        } else {
-            return String.format("curCreatAt=%s|curId=%d",
-                    cursorCreatedAt.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME), cursorId);
-        }
+    private CompiledCacheKey compiled(Method method) {
+        return keys.computeIfAbsent(method, target -> CompiledCacheKey.compile(
+                target, cacheEvictionEngine, cacheScopeResolver, pageWriteThroughService));
     }
 
     private UserEntity getUserEntity() {
@@ -67,61 +72,12 @@ public class UniversalKeyGenerator implements KeyGenerator{
 
     @Override
     public Object generate(Object target, Method method, Object... params) throws IllegalArgumentException {
-
-        String methodName = method.getName();
-        UserEntity currentUser = getUserEntity();
-        Integer limit = null;
-
-        String scope = generateScope(currentUser);
-
-        switch (methodName) {
-            case "getKeysetTaskComments" -> {
-
-                Long taskId = (Long) params[0];
-                limit = normalizeGenerateLimit((Integer) params[1]);
-                LocalDateTime cursorCreatedAt = (LocalDateTime) params[2];
-                Long cursorId = (Long) params[3];
-
-                String cursorPart = formatCursorPart(cursorCreatedAt, cursorId);
-
-                return String.format("%s|usId=%d|r=%s|scope=%s|taskId=%d|limit=%d|%s",
-                        methodName, currentUser.getId(), currentUser.getRole(),
-                        scope, taskId, limit, cursorPart);
-
-            }
-            case "getMyTeamProjects" -> {
-
-                limit = normalizeGenerateLimit((Integer) params[0]);
-                LocalDateTime cursorCreatedAt = (LocalDateTime) params[1];
-                Long cursorId = (Long) params[2];
-
-                String cursorPart = formatCursorPart(cursorCreatedAt, cursorId);
-
-                return String.format("%s|usId=%d|r=%s|limit=%d|%s",
-                        methodName, currentUser.getId(), currentUser.getRole(),
-                        limit, cursorPart);
-
-            }
-            case "getKeysetTasksByProject" -> {
-
-                Long projectId = (Long) params[0];
-                limit = normalizeGenerateLimit((Integer) params[1]);
-                LocalDateTime cursorCreatedAt = (LocalDateTime) params[2];
-                Long cursorId = (Long) params[3];
-
-                String cursorPart = formatCursorPart(cursorCreatedAt, cursorId);
-
-                return String.format("%s|usId=%d|r=%s|scope=%s|projId=%d|limit=%d|%s",
-                        methodName, currentUser.getId(), currentUser.getRole(),
-                        scope, projectId, limit, cursorPart);
-
-            }
-            default -> {
-
-                return String.format("default|%s|u=%d|r=%s",
-                        methodName, currentUser.getId(), currentUser.getRole());
-
-            }
+        try {
+            return compiled(method).generate(params, getUserEntity());
+        } catch (CacheUnavailableException e) {
+            // Поколение недоступно - общий ключ выдал бы страницу одной области другой, если предохранитель
+            // закроется до обращения к кэшу. Проверка доступа в generate() к этому моменту уже пройдена
+            return new CacheBypassKey(method.getName());
         }
     }
 
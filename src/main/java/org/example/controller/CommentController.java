@@ -2,14 +2,15 @@ package org.example.controller;
 
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.example.config.cache.PageVersionService;
 import org.example.dto.CommentResponseDto;
 import org.example.dto.CreateCommentRequestDto;
+import org.example.pagination.KeysetCursor;
+import org.example.pagination.KeysetCursorCodec;
 import org.example.pagination.KeysetPageResponseDto;
 import org.example.service.CommentService;
-import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
-
-import java.time.LocalDateTime;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @RestController
 @AllArgsConstructor
@@ -17,6 +18,8 @@ import java.time.LocalDateTime;
 public class CommentController {
 
     private final CommentService commentService;
+    private final PageVersionService pageVersionService;
+    private final KeysetCursorCodec keysetCursorCodec;
 
     @PostMapping("/{taskId}/comments")
     public CommentResponseDto createComment(
@@ -29,9 +32,13 @@ public class CommentController {
     public KeysetPageResponseDto<CommentResponseDto> getComments(
             @PathVariable Long taskId,
             @RequestParam(required=false) Integer limit,
-            @RequestParam(required=false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorCreatedAt,
-            @RequestParam(required=false) Long cursorId) {
-        return commentService.getKeysetTaskComments(taskId, limit, cursorCreatedAt, cursorId);
+            @RequestParam(required=false) String cursor,
+            ServletWebRequest request) {
+        KeysetCursor keysetCursor = keysetCursorCodec.decode(cursor);
+        if (ConditionalPages.notModified(request, pageVersionService.commentPageETag(taskId))) {
+            return null;
+        }
+        return commentService.getKeysetTaskComments(taskId, limit, keysetCursor);
     }
 
     @DeleteMapping("/comment/{commentId}")
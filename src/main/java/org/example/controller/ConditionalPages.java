@@ -0,0 +1,25 @@
+package org.example.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+// Условный GET страниц по ETag версии области. Spring Security по умолчанию ставит no-store,
+// и клиент не стал бы присылать If-None-Match, поэтому страницам разрешено хранение с обязательной перепроверкой
+final class ConditionalPages {
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ConditionalPages() {
+    }
+
+    // true - ответ уже 304, страницу загружать не нужно. eTag == null - версия недоступна, обычный 200
+    static boolean notModified(ServletWebRequest request, String eTag) {
+        if (eTag == null) {
+            return false;
+        }
+
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        return request.checkNotModified(eTag);
+    }
+}
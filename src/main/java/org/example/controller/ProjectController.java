@@ -2,15 +2,16 @@ package org.example.controller;
 
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.example.config.cache.PageVersionService;
 import org.example.dto.CreateProjectRequestDto;
 import org.example.dto.ProjectResponseDto;
 import org.example.dto.UpdateProjectRequestDto;
+import org.example.pagination.KeysetCursor;
+import org.example.pagination.KeysetCursorCodec;
 import org.example.pagination.KeysetPageResponseDto;
 import org.example.service.ProjectService;
-import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
-
-import java.time.LocalDateTime;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @RestController
 @AllArgsConstructor
@@ -18,6 +19,8 @@ import java.time.LocalDateTime;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final PageVersionService pageVersionService;
+    private final KeysetCursorCodec keysetCursorCodec;
 
     @PostMapping("/team/{teamId}")
     public ProjectResponseDto createProject(@Valid @RequestBody CreateProjectRequestDto dto,
@@ -28,9 +31,13 @@ public class ProjectController {
     @GetMapping("/my")
     public KeysetPageResponseDto<ProjectResponseDto> getProjects(
             @RequestParam(required = false) Integer limit,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorCreatedAt,
-            @RequestParam(required = false) Long cursorId) {
-        return projectService.getMyTeamProjects(limit, cursorCreatedAt, cursorId);
+            @RequestParam(required = false) String cursor,
+            ServletWebRequest request) {
+        KeysetCursor keysetCursor = keysetCursorCodec.decode(cursor);
+        if (ConditionalPages.notModified(request, pageVersionService.projectPageETag())) {
+            return null;
+        }
+        return projectService.getMyTeamProjects(limit, keysetCursor);
     }
 
     @DeleteMapping("/{projectId}")
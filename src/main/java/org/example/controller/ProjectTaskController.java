@@ -2,13 +2,20 @@ package org.example.controller;
 
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.example.config.cache.PageVersionService;
 import org.example.dto.CreateTaskRequestDto;
+import org.example.dto.TaskPageFilterDto;
 import org.example.dto.TaskResponseDto;
 import org.example.dto.UpdateTaskRequestDto;
+import org.example.entity.Status;
+import org.example.pagination.KeysetCursor;
+import org.example.pagination.KeysetCursorCodec;
 import org.example.pagination.KeysetPageResponseDto;
+import org.example.pagination.KeysetSort;
 import org.example.service.TaskService;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.time.LocalDateTime;
 
@@ -18,6 +25,8 @@ import java.time.LocalDateTime;
 public class ProjectTaskController {
 
     private final TaskService taskService;
+    private final PageVersionService pageVersionService;
+    private final KeysetCursorCodec keysetCursorCodec;
 
     @PostMapping("/{projectId}/tasks")
     public TaskResponseDto createTask
@@ -27,13 +36,44 @@ public class ProjectTaskController {
     }
 
 
+    // cursor - токен nextCursor/previousCursor из предыдущего ответа, atTaskId - страница, начинающаяся с задачи.
+    // status, assigneeId, createdFrom/createdTo и sort (createdAt:desc, createdAt:asc, lexoRank:asc) задают выдачу;
+    // курсор действителен только в той выдаче, из которой получен
     @GetMapping("/{projectId}/tasks")
     public KeysetPageResponseDto<TaskResponseDto> getProjectTasks(
             @PathVariable Long projectId,
             @RequestParam(required = false) Integer limit,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorCreatedAt,
-            @RequestParam(required = false) Long cursorId){
-        return taskService.getKeysetTasksByProject(projectId, limit, cursorCreatedAt, cursorId);
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Long atTaskId,
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) Long assigneeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(required = false) String sort,
+            ServletWebRequest request){
+        if (cursor != null && atTaskId != null) {
+            throw new IllegalArgumentException("Неверные параметры курсора");
+        }
+
+        TaskPageFilterDto filter = TaskPageFilterDto.builder()
+                .status(status)
+                .assigneeId(assigneeId)
+                .createdFrom(createdFrom)
+                .createdTo(createdTo)
+                .sort(KeysetSort.parse(sort))
+                .build();
+
+        KeysetCursor keysetCursor = atTaskId != null
+                ? taskService.cursorAtTask(projectId, atTaskId, filter)
+                : keysetCursorCodec.decode(cursor);
+        if (ConditionalPages.notModified(request, pageVersionService.taskPageETag(projectId))) {
+            return null;
+        }
+
+        if (filter.isDefaultListing()) {
+            return taskService.getKeysetTasksByProject(projectId, limit, keysetCursor);
+        }
+        return taskService.getFilteredTasksByProject(projectId, filter, limit, keysetCursor);
     }
 
     @DeleteMapping("/task/{taskId}")
@@ -0,0 +1,55 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.entity.Status;
+import org.example.pagination.KeysetListing;
+import org.example.pagination.KeysetSort;
+
+import java.time.LocalDateTime;
+
+// Фильтр и сортировка списка задач проекта. null-поля не фильтруют,
+// createdFrom включительно, createdTo - нет
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPageFilterDto {
+
+    private Status status;
+
+    private Long assigneeId;
+
+    private LocalDateTime createdFrom;
+
+    private LocalDateTime createdTo;
+
+    @Builder.Default
+    private KeysetSort sort = KeysetSort.CREATED_AT_DESC;
+
+    // Выдача по умолчанию кэшируется и обновляется write-through, остальные читаются из БД
+    public boolean isDefaultListing() {
+        return status == null && assigneeId == null && createdFrom == null && createdTo == null
+                && sort == KeysetSort.CREATED_AT_DESC;
+    }
+
+    // Для выдачи по умолчанию совпадает с KeysetListing.projectTasks, курсоры взаимозаменяемы
+    public KeysetListing listing(Long projectId) {
+        StringBuilder filter = new StringBuilder("projectId=").append(projectId);
+        if (status != null) {
+            filter.append("|status=").append(status);
+        }
+        if (assigneeId != null) {
+            filter.append("|assigneeId=").append(assigneeId);
+        }
+        if (createdFrom != null) {
+            filter.append("|createdFrom=").append(createdFrom);
+        }
+        if (createdTo != null) {
+            filter.append("|createdTo=").append(createdTo);
+        }
+        return new KeysetListing(sort, filter.toString());
+    }
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.example.entity.Status;
+import org.example.pagination.RankedKeysetEntity;
 
 import java.time.LocalDateTime;
 
@@ -12,7 +13,7 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class TaskResponseDto {
+public class TaskResponseDto implements RankedKeysetEntity {
 
     private Long id;
 
@@ -28,4 +29,6 @@ public class TaskResponseDto {
 
     private LocalDateTime createdAt;
 
+    private String lexoRank;
+
 }
@@ -45,6 +45,7 @@ public class TaskMapper {
                 .projectId(projectId)
                 .assigneeId(assigneeId)
                 .createdAt(entity.getCreatedAt())
+                .lexoRank(entity.getLexoRank())
                 .build();
 
     }
@@ -0,0 +1,45 @@
+package org.example.pagination;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Позиция в выдаче: направление и ключ граничного элемента - (createdAt, id), а для выдач
+// по рангу еще и lexoRank. Клиенту отдается только в виде токена KeysetCursorCodec
+public record KeysetCursor(PaginationMode mode, int listing, LocalDateTime createdAt, Long id, String lexoRank) {
+
+    public KeysetCursor {
+        Objects.requireNonNull(mode, "mode");
+        Objects.requireNonNull(createdAt, "createdAt");
+        Objects.requireNonNull(id, "id");
+        if (mode == PaginationMode.FIRST) {
+            throw new IllegalArgumentException("Первая страница запрашивается без курсора");
+        }
+    }
+
+    public KeysetCursor(PaginationMode mode, int listing, LocalDateTime createdAt, Long id) {
+        this(mode, listing, createdAt, id, null);
+    }
+
+    public static KeysetCursor next(KeysetListing listing, KeysetEntity last) {
+        return of(PaginationMode.NEXT, listing, last);
+    }
+
+    public static KeysetCursor previous(KeysetListing listing, KeysetEntity first) {
+        return of(PaginationMode.PREVIOUS, listing, first);
+    }
+
+    public static KeysetCursor at(KeysetListing listing, KeysetEntity item) {
+        return of(PaginationMode.AT, listing, item);
+    }
+
+    private static KeysetCursor of(PaginationMode mode, KeysetListing listing, KeysetEntity item) {
+        String lexoRank = null;
+        if (listing.sort().ranked()) {
+            if (!(item instanceof RankedKeysetEntity ranked)) {
+                throw new IllegalArgumentException("Выдача по рангу требует элементов с lexoRank");
+            }
+            lexoRank = Objects.requireNonNull(ranked.getLexoRank(), "lexoRank");
+        }
+        return new KeysetCursor(mode, listing.hash(), item.getCreatedAt(), item.getId(), lexoRank);
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.pagination;
+
+import org.example.config.PaginationProperties;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+
+// Непрозрачный токен курсора: версия, направление, хэш выдачи, createdAt (секунды + нано), id,
+// lexoRank в UTF-8 (только у выдач по рангу) и усеченный HMAC-SHA256. Без ранга - 36 байт,
+// 48 символов base64url. Подделанный или чужой токен отклоняется как неверные параметры курсора
+@Component
+public class KeysetCursorCodec {
+
+    private static final byte VERSION = 1;
+    private static final int PAYLOAD_LENGTH = 1 + 1 + 4 + 8 + 4 + 8;
+    private static final int MAC_LENGTH = 10;
+    private static final int MAX_RANK_LENGTH = 255;
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final PaginationMode[] MODES = PaginationMode.values();
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ThreadLocal<Mac> mac;
+
+    public KeysetCursorCodec(PaginationProperties properties) {
+        String secret = properties.getCursorSecret();
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("task-manager.pagination.cursor-secret is not set");
+        }
+
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Cannot initialize cursor signature", e);
+            }
+        });
+    }
+
+    public String encode(KeysetCursor cursor) {
+        LocalDateTime createdAt = cursor.createdAt();
+        byte[] rank = cursor.lexoRank() == null
+                ? new byte[0]
+                : cursor.lexoRank().getBytes(StandardCharsets.UTF_8);
+        if (rank.length > MAX_RANK_LENGTH) {
+            throw new IllegalArgumentException("lexoRank is too long for a cursor");
+        }
+
+        int signedLength = PAYLOAD_LENGTH + rank.length;
+        ByteBuffer buffer = ByteBuffer.allocate(signedLength + MAC_LENGTH);
+        buffer.put(VERSION)
+                .put((byte) cursor.mode().ordinal())
+                .putInt(cursor.listing())
+                .putLong(createdAt.toEpochSecond(ZoneOffset.UTC))
+                .putInt(createdAt.getNano())
+                .putLong(cursor.id())
+                .put(rank);
+        buffer.put(sign(buffer.array(), signedLength), 0, MAC_LENGTH);
+
+        return ENCODER.encodeToString(buffer.array());
+    }
+
+    // null или пустая строка - первая страница
+    public KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(token);
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+
+        int signedLength = bytes.length - MAC_LENGTH;
+        if (signedLength < PAYLOAD_LENGTH || signedLength > PAYLOAD_LENGTH + MAX_RANK_LENGTH
+                || bytes[0] != VERSION) {
+            throw invalid();
+        }
+
+        byte[] expected = Arrays.copyOf(sign(bytes, signedLength), MAC_LENGTH);
+        byte[] actual = Arrays.copyOfRange(bytes, signedLength, bytes.length);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw invalid();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, PAYLOAD_LENGTH - 1);
+        int mode = buffer.get();
+        int listing = buffer.getInt();
+        long epochSecond = buffer.getLong();
+        int nano = buffer.getInt();
+        long id = buffer.getLong();
+        String lexoRank = signedLength > PAYLOAD_LENGTH
+                ? new String(bytes, PAYLOAD_LENGTH, signedLength - PAYLOAD_LENGTH, StandardCharsets.UTF_8)
+                : null;
+
+        if (mode <= PaginationMode.FIRST.ordinal() || mode >= MODES.length) {
+            throw invalid();
+        }
+
+        try {
+            return new KeysetCursor(MODES[mode], listing,
+                    LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC), id, lexoRank);
+        } catch (RuntimeException e) {
+            throw invalid();
+        }
+    }
+
+    // Подписываются первые length байт: заголовок и ранг
+    private byte[] sign(byte[] bytes, int length) {
+        Mac instance = mac.get();
+        instance.update(bytes, 0, length);
+        return instance.doFinal();
+    }
+
+    private static IllegalArgumentException invalid() {
+        return new IllegalArgumentException("Неверные параметры курсора");
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.pagination;
+
+// Выдача, к которой относится курсор: сортировка и фильтр. В курсор попадает только хэш,
+// и курсор одной выдачи (другой проект, другая сортировка) отклоняется, а не дает чужую страницу
+public record KeysetListing(KeysetSort sort, String filter) {
+
+    public static KeysetListing projectTasks(Long projectId) {
+        return new KeysetListing(KeysetSort.CREATED_AT_DESC, "projectId=" + projectId);
+    }
+
+    public static KeysetListing taskComments(Long taskId) {
+        return new KeysetListing(KeysetSort.CREATED_AT_DESC, "taskId=" + taskId);
+    }
+
+    public static KeysetListing teamProjects(Long userId) {
+        return new KeysetListing(KeysetSort.CREATED_AT_DESC, "userId=" + userId);
+    }
+
+    public int hash() {
+        return (sort.value() + '\n' + filter).hashCode();
+    }
+}
@@ -1,6 +1,6 @@
 package org.example.pagination;
 
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -8,12 +8,16 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Component
+@RequiredArgsConstructor
 public class KeysetPageBuilder {
 
+    private final KeysetCursorCodec cursorCodec;
+
     public <E extends KeysetEntity, D> KeysetPageResponseDto<D> universalBuilder(
             KeysetSliceResult<E> sliceResult,
             Function<E, D> mapper,
-            int pageSize
+            int pageSize,
+            KeysetListing listing
     ) {
 
         List<E> entities = sliceResult.getItems();
@@ -21,12 +25,25 @@ public class KeysetPageBuilder {
         List<D> dtoItems = entities.stream()
                 .map(mapper).collect(Collectors.toList());
 
+        String nextCursor = null;
+        String previousCursor = null;
+        if (!entities.isEmpty()) {
+            if (sliceResult.isHasNext()) {
+                nextCursor = cursorCodec.encode(KeysetCursor.next(listing, entities.get(entities.size() - 1)));
+            }
+            if (sliceResult.isHasPrevious()) {
+                previousCursor = cursorCodec.encode(KeysetCursor.previous(listing, entities.get(0)));
+            }
+        }
+
         return KeysetPageResponseDto.<D>builder()
                 .items(dtoItems)
                 .limit(pageSize)
-                .cursorCreatedAt(sliceResult.getNextCursorCreatedAt())
-                .cursorId(sliceResult.getNextCursorId())
+                .nextCursor(nextCursor)
+                .previousCursor(previousCursor)
                 .hasNext(sliceResult.isHasNext())
+                .hasPrevious(sliceResult.isHasPrevious())
+                .sort(listing.sort().value())
                 .build();
 
     }
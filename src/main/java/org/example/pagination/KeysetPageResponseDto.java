@@ -5,7 +5,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
@@ -18,11 +17,13 @@ public class KeysetPageResponseDto<T> {
 
     private Integer limit;
 
-    private LocalDateTime cursorCreatedAt;
-    private Long cursorId;
+    // Токены для параметра cursor; null - в этом направлении элементов нет
+    private String nextCursor;
+    private String previousCursor;
 
     private boolean hasNext;
+    private boolean hasPrevious;
 
-    private final String sort = "createdAt:desc,id:desc";
+    private String sort;
 
 }
@@ -10,17 +10,25 @@ import java.util.function.Supplier;
 @Component
 public class KeysetPaginationFetcher {
 
+    // nextPageSupplier - элементы после (createdAt, id) в порядке выдачи,
+    // previousPageSupplier - элементы перед ним в обратном порядке, ближайшие к курсору первыми
     public <E extends KeysetEntity> Slice<E> fetchSlice(
-            PaginationMode mode,
+            KeysetCursor cursor,
             Supplier<Slice<E>> firstPageSupplier,
             BiFunction<LocalDateTime, Long, Slice<E>> nextPageSupplier,
-            LocalDateTime cursorCreatedAt,
-            Long cursorId) {
+            BiFunction<LocalDateTime, Long, Slice<E>> previousPageSupplier) {
 
-        if (mode == PaginationMode.FIRST) {
+        if (cursor == null) {
             return firstPageSupplier.get();
         }
-        return nextPageSupplier.apply(cursorCreatedAt, cursorId);
+
+        return switch (cursor.mode()) {
+            case NEXT -> nextPageSupplier.apply(cursor.createdAt(), cursor.id());
+            case PREVIOUS -> previousPageSupplier.apply(cursor.createdAt(), cursor.id());
+            // (createdAt, id) < (c, i + 1) при целых id - то же, что <= (c, i): страница с самого элемента
+            case AT -> nextPageSupplier.apply(cursor.createdAt(), cursor.id() + 1);
+            case FIRST -> firstPageSupplier.get();
+        };
 
     }
 
@@ -6,66 +6,66 @@ import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 @Component
 public class KeysetPaginationUtils {
 
-    private void validateKeysetCursor(boolean isFirst, boolean isNext) throws IllegalArgumentException {
-        if (isFirst || isNext) return;
-        throw new IllegalArgumentException("Неверные параметры курсора");
-    }
-
-    public PaginationMode cursorMode(LocalDateTime cursorCreatedAt, Long cursorId){
-
-        boolean isFirst = cursorCreatedAt == null && cursorId == null;
-        boolean isNext  = cursorCreatedAt != null && cursorId != null;
+    public PaginationMode cursorMode(KeysetCursor cursor, KeysetListing listing) {
 
-        validateKeysetCursor(isFirst, isNext);
-
-        if (isFirst){
+        if (cursor == null) {
             return PaginationMode.FIRST;
-        } else {
-            return PaginationMode.NEXT;
         }
+
+        if (cursor.listing() != listing.hash()) {
+            throw new IllegalArgumentException("Неверные параметры курсора");
+        }
+
+        return cursor.mode();
     }
 
     public int normalizeLimit(Integer limit){
         return limit != null && limit > 0 ? Math.min(limit, 50) : 10;
     }
 
-    public Pageable createPageable(Integer pageSize){
+    // Предыдущая страница читается в обратном порядке от курсора
+    public Pageable createPageable(Integer pageSize, PaginationMode mode){
 
         int querySize = pageSize + 1;
 
+        Sort.Direction direction = mode == PaginationMode.PREVIOUS ? Sort.Direction.ASC : Sort.Direction.DESC;
+
         return PageRequest.of(
                 0,
                 querySize,
                 Sort.by(
-                        Sort.Order.desc("createdAt"),
-                        Sort.Order.desc("id")
+                        new Sort.Order(direction, "createdAt"),
+                        new Sort.Order(direction, "id")
                 )
         );
 
     }
 
-    public <T extends KeysetEntity> KeysetSliceResult<T> trim(Slice<T> slice, int pageSize){
-
-        var content = slice.getContent();
+    public <T extends KeysetEntity> KeysetSliceResult<T> trim(Slice<T> slice, int pageSize, PaginationMode mode){
 
-        boolean hasNext = content.size() > pageSize;
-        var itemsToReturn = hasNext ? content.subList(0, pageSize) : content;
+        List<T> content = slice.getContent();
 
-        LocalDateTime nextCursorCreatedAt = null;
-        Long nextCursorId = null;
-
-        if (hasNext && !itemsToReturn.isEmpty()) {
-            T last = itemsToReturn.get(itemsToReturn.size() - 1);
-            nextCursorCreatedAt = last.getCreatedAt();
-            nextCursorId = last.getId();
-        }
+        boolean overflow = content.size() > pageSize;
+        List<T> itemsToReturn = overflow ? content.subList(0, pageSize) : content;
 
-        return new KeysetSliceResult<>(itemsToReturn, hasNext, nextCursorCreatedAt, nextCursorId);
+        // Курсор NEXT/PREVIOUS указывает на существующий элемент с другой стороны страницы.
+        // Для AT элементы перед курсором не проверяются: предыдущая страница может оказаться пустой
+        return switch (mode) {
+            case FIRST -> new KeysetSliceResult<>(itemsToReturn, overflow, false);
+            case NEXT, AT -> new KeysetSliceResult<>(itemsToReturn, overflow, true);
+            case PREVIOUS -> {
+                List<T> reversed = new ArrayList<>(itemsToReturn);
+                Collections.reverse(reversed);
+                yield new KeysetSliceResult<>(reversed, true, overflow);
+            }
+        };
     }
 
 }
@@ -5,7 +5,6 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.time.LocalDateTime;
 import java.util.List;
 
 @Getter
@@ -14,12 +13,11 @@ import java.util.List;
 @AllArgsConstructor
 public class KeysetSliceResult<T> {
 
+    // Всегда в порядке выдачи, в том числе для предыдущей страницы
     List<T> items;
 
     boolean hasNext;
 
-    LocalDateTime nextCursorCreatedAt;
-
-    Long nextCursorId;
+    boolean hasPrevious;
 
 }
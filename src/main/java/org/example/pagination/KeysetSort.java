@@ -0,0 +1,57 @@
+package org.example.pagination;
+
+// Порядок keyset-выдачи. Ключ - (createdAt, id) или (lexoRank, id), id - всегда последний
+// и делает ключ уникальным. value - значение поля sort в запросе и ответе
+public enum KeysetSort {
+
+    CREATED_AT_DESC("createdAt:desc,id:desc", false, true),
+    CREATED_AT_ASC("createdAt:asc,id:asc", false, false),
+    LEXO_RANK_ASC("lexoRank:asc,id:asc", true, false);
+
+    private final String value;
+    private final boolean ranked;
+    private final boolean descending;
+
+    KeysetSort(String value, boolean ranked, boolean descending) {
+        this.value = value;
+        this.ranked = ranked;
+        this.descending = descending;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public boolean ranked() {
+        return ranked;
+    }
+
+    public boolean descending() {
+        return descending;
+    }
+
+    // null - сортировка по умолчанию. Принимается полное значение или его первая часть ("lexoRank:asc")
+    public static KeysetSort parse(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return CREATED_AT_DESC;
+        }
+
+        for (KeysetSort candidate : values()) {
+            if (candidate.value.equals(sort) || candidate.value.startsWith(sort + ",")) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("Неверные параметры сортировки");
+    }
+
+    // Индекс читается по возрастанию ключа, если выдача возрастающая и идем вперед
+    // или выдача убывающая и читается предыдущая страница
+    public boolean ascendingScan(PaginationMode mode) {
+        return descending == (mode == PaginationMode.PREVIOUS);
+    }
+
+    // Сравнение ключа строки с курсором: AT включает сам элемент курсора
+    public String cursorOperator(PaginationMode mode) {
+        return (ascendingScan(mode) ? ">" : "<") + (mode == PaginationMode.AT ? "=" : "");
+    }
+}
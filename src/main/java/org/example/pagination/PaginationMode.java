@@ -2,5 +2,10 @@ package org.example.pagination;
 
 public enum PaginationMode {
     FIRST,
-    NEXT
+    // Элементы строго после курсора (следующая страница)
+    NEXT,
+    // Элементы строго перед курсором (предыдущая страница)
+    PREVIOUS,
+    // Страница, начинающаяся с элемента курсора (переход к элементу)
+    AT
 }
@@ -0,0 +1,9 @@
+package org.example.pagination;
+
+// Элемент выдач KeysetSort.LEXO_RANK_ASC. Ранг вынесен из KeysetEntity, чтобы геттер
+// не попадал в JSON комментариев и проектов, у которых ранга нет
+public interface RankedKeysetEntity extends KeysetEntity {
+
+    public String getLexoRank();
+
+}
@@ -1,5 +1,6 @@
 package org.example.repository;
 
+import org.example.dto.CommentResponseDto;
 import org.example.entity.CommentEntity;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -12,29 +13,48 @@ import java.time.LocalDateTime;
 public interface CommentRepository extends JpaRepository<CommentEntity,Long> {
 
     @Query("""
-        select comment from CommentEntity comment
+        select new org.example.dto.CommentResponseDto(
+            comment.id, comment.text, comment.task.id, comment.author.id, comment.createdAt
+        )
+        from CommentEntity comment
         where comment.task.id = :taskId
         order by comment.createdAt desc, comment.id desc
     """)
-    public Slice<CommentEntity> findFirstPageByTaskIdOrderByCreatedAtAndIdDesc(@Param("taskId") Long taskId,
+    public Slice<CommentResponseDto> findFirstPageByTaskIdOrderByCreatedAtAndIdDesc(@Param("taskId") Long taskId,
                                                                          Pageable pageable);
 
     @Query("""
-        select comment from CommentEntity comment
+        select new org.example.dto.CommentResponseDto(
+            comment.id, comment.text, comment.task.id, comment.author.id, comment.createdAt
+        )
+        from CommentEntity comment
         where comment.task.id = :taskId
-          and (
-              comment.createdAt < :cursorCreatedAt
-              or (comment.createdAt = :cursorCreatedAt and comment.id < :cursorId)
-          )
+          and (comment.createdAt, comment.id) < (:cursorCreatedAt, :cursorId)
         order by comment.createdAt desc, comment.id desc
     """)
-    public Slice<CommentEntity> findNextPageByTaskIdOrderByCreatedAtAndIdDescAfterCursor(
+    public Slice<CommentResponseDto> findNextPageByTaskIdOrderByCreatedAtAndIdDescAfterCursor(
             @Param("taskId") Long taskId,
             @Param("cursorCreatedAt")LocalDateTime cursorCreatedAt,
             @Param("cursorId") Long cursorId,
             Pageable pageable
     );
 
+    @Query("""
+        select new org.example.dto.CommentResponseDto(
+            comment.id, comment.text, comment.task.id, comment.author.id, comment.createdAt
+        )
+        from CommentEntity comment
+        where comment.task.id = :taskId
+          and (comment.createdAt, comment.id) > (:cursorCreatedAt, :cursorId)
+        order by comment.createdAt asc, comment.id asc
+    """)
+    public Slice<CommentResponseDto> findPreviousPageByTaskIdBeforeCursor(
+            @Param("taskId") Long taskId,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
     public void deleteByTask_Id(Long taskId);
     public void deleteByTask_ProjectId(Long projectId);
 
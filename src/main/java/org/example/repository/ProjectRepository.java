@@ -1,5 +1,6 @@
 package org.example.repository;
 
+import org.example.dto.ProjectResponseDto;
 import org.example.entity.ProjectEntity;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
@@ -9,27 +10,50 @@ import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface ProjectRepository extends JpaRepository<ProjectEntity, Long> {
 
     @Query("""
-        select project from ProjectEntity project
-        where project.team.id in :teamIds
+        select new org.example.dto.ProjectResponseDto(
+            project.id, project.name, project.description, project.owner.id, team.id, team.name, project.createdAt
+        )
+        from ProjectEntity project
+        join project.team team
+        where team.id in :teamIds
         order by project.createdAt desc, project.id desc
     """)
-    public Slice<ProjectEntity> findFirstPageByCreatedAtAndTeamIdsDesc(@Param("teamIds") List<Long> teamIds,
+    public Slice<ProjectResponseDto> findFirstPageByCreatedAtAndTeamIdsDesc(@Param("teamIds") List<Long> teamIds,
                                                                        Pageable pageable);
 
     @Query("""
-        select project from ProjectEntity project
-        where project.team.id in :teamIds
-          and (
-              project.createdAt < :cursorCreatedAt
-              or (project.createdAt = :cursorCreatedAt and project.id < :cursorId)
-          )
+        select new org.example.dto.ProjectResponseDto(
+            project.id, project.name, project.description, project.owner.id, team.id, team.name, project.createdAt
+        )
+        from ProjectEntity project
+        join project.team team
+        where team.id in :teamIds
+          and (project.createdAt, project.id) < (:cursorCreatedAt, :cursorId)
         order by project.createdAt desc, project.id desc
     """)
-    public Slice<ProjectEntity> findNextPageByCreatedAtAndTeamIdsAfterCursor(
+    public Slice<ProjectResponseDto> findNextPageByCreatedAtAndTeamIdsAfterCursor(
+            @Param("teamIds") List<Long> teamIds,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    @Query("""
+        select new org.example.dto.ProjectResponseDto(
+            project.id, project.name, project.description, project.owner.id, team.id, team.name, project.createdAt
+        )
+        from ProjectEntity project
+        join project.team team
+        where team.id in :teamIds
+          and (project.createdAt, project.id) > (:cursorCreatedAt, :cursorId)
+        order by project.createdAt asc, project.id asc
+    """)
+    public Slice<ProjectResponseDto> findPreviousPageByCreatedAtAndTeamIdsBeforeCursor(
             @Param("teamIds") List<Long> teamIds,
             @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
             @Param("cursorId") Long cursorId,
@@ -37,4 +61,7 @@ public interface ProjectRepository extends JpaRepository<ProjectEntity, Long> {
     );
 
     public List<ProjectEntity> findAllProjectsByTeamId(Long teamId);
+
+    @Query("select p.team.id from ProjectEntity p where p.id = :projectId")
+    Optional<Long> findTeamIdById(@Param("projectId") Long projectId);
 }
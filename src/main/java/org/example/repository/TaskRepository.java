@@ -1,5 +1,6 @@
 package org.example.repository;
 
+import org.example.dto.TaskResponseDto;
 import org.example.entity.TaskEntity;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
@@ -9,43 +10,53 @@ import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
-public interface TaskRepository extends JpaRepository<TaskEntity, Long> {
+public interface TaskRepository extends JpaRepository<TaskEntity, Long>, TaskRepositoryCustom {
 
+    // Страницы выбираются сразу в DTO: строки не становятся управляемыми сущностями,
+    // Hibernate не хранит для них снимки и не проверяет их при flush
     @Query("""
-        select t from TaskEntity t
+        select new org.example.dto.TaskResponseDto(
+            t.id, t.title, t.description, t.status, t.project.id, t.assignee.id, t.createdAt, t.lexoRank
+        )
+        from TaskEntity t
         where t.project.id = :projectId
         order by t.createdAt desc, t.id desc
     """)
-    Slice<TaskEntity> findFirstPageByProjectId(
+    Slice<TaskResponseDto> findFirstPageByProjectId(
             @Param("projectId") Long projectId,
             Pageable pageable
     );
 
     @Query("""
-        select t from TaskEntity t
+        select new org.example.dto.TaskResponseDto(
+            t.id, t.title, t.description, t.status, t.project.id, t.assignee.id, t.createdAt, t.lexoRank
+        )
+        from TaskEntity t
         where t.project.id = :projectId
           and t.assignee.id = :assigneeId
         order by t.createdAt desc, t.id desc
     """)
-    Slice<TaskEntity> findFirstPageByProjectIdAndAssigneeId(
+    Slice<TaskResponseDto> findFirstPageByProjectIdAndAssigneeId(
             @Param("projectId") Long projectId,
             @Param("assigneeId") Long assigneeId,
             Pageable pageable
     );
 
 
-
+    // Сравнение кортежей Hibernate выводит в Postgres как ROW(created_at, id) < ROW(?, ?) - это граница
+    // index range scan по (project_id, created_at desc, id desc), а не фильтр, как у развернутого OR
     @Query("""
-        select t from TaskEntity t
+        select new org.example.dto.TaskResponseDto(
+            t.id, t.title, t.description, t.status, t.project.id, t.assignee.id, t.createdAt, t.lexoRank
+        )
+        from TaskEntity t
         where t.project.id = :projectId
-          and (
-              t.createdAt < :cursorCreatedAt
-              or (t.createdAt = :cursorCreatedAt and t.id < :cursorId)
-          )
+          and (t.createdAt, t.id) < (:cursorCreatedAt, :cursorId)
         order by t.createdAt desc, t.id desc
     """)
-    Slice<TaskEntity> findNextByProjectIdAfterCursor(
+    Slice<TaskResponseDto> findNextByProjectIdAfterCursor(
             @Param("projectId") Long projectId,
             @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
             @Param("cursorId") Long cursorId,
@@ -53,16 +64,51 @@ public interface TaskRepository extends JpaRepository<TaskEntity, Long> {
     );
 
     @Query("""
-        select t from TaskEntity t
+        select new org.example.dto.TaskResponseDto(
+            t.id, t.title, t.description, t.status, t.project.id, t.assignee.id, t.createdAt, t.lexoRank
+        )
+        from TaskEntity t
         where t.project.id = :projectId
           and t.assignee.id = :assigneeId
-          and (
-              t.createdAt < :cursorCreatedAt
-              or (t.createdAt = :cursorCreatedAt and t.id < :cursorId)
-          )
+          and (t.createdAt, t.id) < (:cursorCreatedAt, :cursorId)
         order by t.createdAt desc, t.id desc
     """)
-    Slice<TaskEntity> findNextByProjectIdAndAssigneeIdAfterCursor(
+    Slice<TaskResponseDto> findNextByProjectIdAndAssigneeIdAfterCursor(
+            @Param("projectId") Long projectId,
+            @Param("assigneeId") Long assigneeId,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    // Предыдущая страница: тот же индекс, обход в обратную сторону от курсора
+    @Query("""
+        select new org.example.dto.TaskResponseDto(
+            t.id, t.title, t.description, t.status, t.project.id, t.assignee.id, t.createdAt, t.lexoRank
+        )
+        from TaskEntity t
+        where t.project.id = :projectId
+          and (t.createdAt, t.id) > (:cursorCreatedAt, :cursorId)
+        order by t.createdAt asc, t.id asc
+    """)
+    Slice<TaskResponseDto> findPreviousByProjectIdBeforeCursor(
+            @Param("projectId") Long projectId,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    @Query("""
+        select new org.example.dto.TaskResponseDto(
+            t.id, t.title, t.description, t.status, t.project.id, t.assignee.id, t.createdAt, t.lexoRank
+        )
+        from TaskEntity t
+        where t.project.id = :projectId
+          and t.assignee.id = :assigneeId
+          and (t.createdAt, t.id) > (:cursorCreatedAt, :cursorId)
+        order by t.createdAt asc, t.id asc
+    """)
+    Slice<TaskResponseDto> findPreviousByProjectIdAndAssigneeIdBeforeCursor(
             @Param("projectId") Long projectId,
             @Param("assigneeId") Long assigneeId,
             @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
@@ -74,4 +120,7 @@ public interface TaskRepository extends JpaRepository<TaskEntity, Long> {
 
     @Query("SELECT t.id FROM TaskEntity t WHERE t.project.id = :projectId")
     List<Long> findTaskIdsByProject_Id(@Param("projectId") Long projectId);
+
+    @Query("select t.project.team.id from TaskEntity t where t.id = :taskId")
+    Optional<Long> findTeamIdById(@Param("taskId") Long taskId);
 }
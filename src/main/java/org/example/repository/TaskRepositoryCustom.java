@@ -0,0 +1,13 @@
+package org.example.repository;
+
+import org.example.dto.TaskPageFilterDto;
+import org.example.dto.TaskResponseDto;
+import org.example.pagination.KeysetCursor;
+import org.springframework.data.domain.Slice;
+
+public interface TaskRepositoryCustom {
+
+    // Страница задач проекта по фильтру и сортировке: до limit строк от курсора (null - с начала выдачи).
+    // Для PREVIOUS строки идут в обратном порядке, как у остальных *BeforeCursor-запросов
+    Slice<TaskResponseDto> findPageByFilter(Long projectId, TaskPageFilterDto filter, KeysetCursor cursor, int limit);
+}
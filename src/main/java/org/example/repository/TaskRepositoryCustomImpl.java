@@ -0,0 +1,88 @@
+package org.example.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.example.dto.TaskPageFilterDto;
+import org.example.dto.TaskResponseDto;
+import org.example.pagination.KeysetCursor;
+import org.example.pagination.KeysetSort;
+import org.example.pagination.PaginationMode;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// JPQL собирается только из заданных условий: у каждой комбинации фильтра и сортировки свой план,
+// а не общий план с (:param is null or ...). Равенства по status / user_id и ключ сортировки
+// совпадают с индексами из db/migration, курсор - граница range scan, как в TaskRepository
+@Transactional(readOnly = true)
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private static final String SELECT = """
+            select new org.example.dto.TaskResponseDto(
+                t.id, t.title, t.description, t.status, t.project.id, t.assignee.id, t.createdAt, t.lexoRank
+            )
+            from TaskEntity t
+            where t.project.id = :projectId
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<TaskResponseDto> findPageByFilter(Long projectId,
+                                                   TaskPageFilterDto filter,
+                                                   KeysetCursor cursor,
+                                                   int limit) {
+        KeysetSort sort = filter.getSort();
+        PaginationMode mode = cursor == null ? PaginationMode.FIRST : cursor.mode();
+        String key = sort.ranked() ? "t.lexoRank" : "t.createdAt";
+
+        StringBuilder jpql = new StringBuilder(SELECT);
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("projectId", projectId);
+
+        if (filter.getStatus() != null) {
+            jpql.append(" and t.status = :status");
+            parameters.put("status", filter.getStatus());
+        }
+        if (filter.getAssigneeId() != null) {
+            jpql.append(" and t.assignee.id = :assigneeId");
+            parameters.put("assigneeId", filter.getAssigneeId());
+        }
+        if (filter.getCreatedFrom() != null) {
+            jpql.append(" and t.createdAt >= :createdFrom");
+            parameters.put("createdFrom", filter.getCreatedFrom());
+        }
+        if (filter.getCreatedTo() != null) {
+            jpql.append(" and t.createdAt < :createdTo");
+            parameters.put("createdTo", filter.getCreatedTo());
+        }
+
+        if (cursor != null) {
+            Object cursorKey = sort.ranked() ? cursor.lexoRank() : cursor.createdAt();
+            if (cursorKey == null) {
+                throw new IllegalArgumentException("Неверные параметры курсора");
+            }
+
+            jpql.append(" and (").append(key).append(", t.id) ")
+                    .append(sort.cursorOperator(mode))
+                    .append(" (:cursorKey, :cursorId)");
+            parameters.put("cursorKey", cursorKey);
+            parameters.put("cursorId", cursor.id());
+        }
+
+        String direction = sort.ascendingScan(mode) ? "asc" : "desc";
+        jpql.append(" order by ").append(key).append(' ').append(direction)
+                .append(", t.id ").append(direction);
+
+        TypedQuery<TaskResponseDto> query = entityManager.createQuery(jpql.toString(), TaskResponseDto.class);
+        parameters.forEach(query::setParameter);
+        query.setMaxResults(limit);
+
+        return new SliceImpl<>(query.getResultList());
+    }
+}
@@ -2,13 +2,16 @@ package org.example.repository;
 
 import org.example.entity.TeamMemberEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
-import java.util.Optional;
 
-public interface TeamMemberRepository extends JpaRepository<TeamMemberEntity, Long> {
-    Optional<TeamMemberEntity> findByTeamIdAndUserId(Long teamId, Long userId);
+public interface TeamMemberRepository extends JpaRepository<TeamMemberEntity, Long>, TeamMemberRepositoryCustom {
     boolean existsByTeamIdAndUserId(Long teamId, Long userId);
     List<TeamMemberEntity> findAllByUserId(Long userId);
     List<TeamMemberEntity> findAllByTeamId(Long teamId);
+
+    @Query("select tm.user.id from TeamMemberEntity tm where tm.team.id = :teamId")
+    List<Long> findUserIdsByTeamId(@Param("teamId") Long teamId);
 }
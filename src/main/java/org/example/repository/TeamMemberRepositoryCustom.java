@@ -0,0 +1,11 @@
+package org.example.repository;
+
+import org.example.entity.TeamMemberEntity;
+
+import java.util.Optional;
+
+public interface TeamMemberRepositoryCustom {
+
+    // Поиск по natural id (team_id, user_id): повторные вызовы обслуживаются L2-кэшем без SQL
+    Optional<TeamMemberEntity> findByTeamIdAndUserId(Long teamId, Long userId);
+}
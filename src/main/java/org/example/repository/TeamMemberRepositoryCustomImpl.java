@@ -0,0 +1,29 @@
+package org.example.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.example.entity.TeamEntity;
+import org.example.entity.TeamMemberEntity;
+import org.example.entity.UserEntity;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Transactional(readOnly = true)
+public class TeamMemberRepositoryCustomImpl implements TeamMemberRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<TeamMemberEntity> findByTeamIdAndUserId(Long teamId, Long userId) {
+        Session session = entityManager.unwrap(Session.class);
+
+        // getReference не ходит в БД: для natural id нужны только идентификаторы связей
+        return session.byNaturalId(TeamMemberEntity.class)
+                .using("team", session.getReference(TeamEntity.class, teamId))
+                .using("user", session.getReference(UserEntity.class, userId))
+                .loadOptional();
+    }
+}
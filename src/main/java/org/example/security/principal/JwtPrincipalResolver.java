@@ -0,0 +1,44 @@
+package org.example.security.principal;
+
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.example.config.JwtProperties;
+import org.example.service.JwtService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class JwtPrincipalResolver {
+
+    private final JwtService jwtService;
+    private final JwtProperties jwtProperties;
+    private final UserSnapshotCache userSnapshotCache;
+    private final UserDetailsService userDetailsService;
+
+    public Optional<UserDetails> resolve(String token) {
+
+        Optional<Claims> claims = jwtService.parseVerifiedClaims(token);
+
+        if (claims.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Optional<Long> userId = jwtService.extractUserId(claims.get());
+
+        // Старые токены без uid и режим DATABASE идут через findByEmail
+        if (jwtProperties.getPrincipalSource() == JwtProperties.PrincipalSource.DATABASE || userId.isEmpty()) {
+            return Optional.of(userDetailsService.loadUserByUsername(claims.get().getSubject()));
+        }
+
+        String publicUid = claims.get().get(JwtService.CLAIM_PUBLIC_UID, String.class);
+
+        return userSnapshotCache.get(userId.get())
+                .filter(user -> Objects.equals(user.getPublicUid(), publicUid))
+                .map(user -> (UserDetails) user);
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.security.principal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import org.example.service.JwtService;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Hit ratio кэшей, через которые проходит аутентификация HTTP и STOMP CONNECT
+@Component
+@RequiredArgsConstructor
+public class PrincipalCacheMetrics implements MeterBinder {
+
+    private final JwtService jwtService;
+    private final UserSnapshotCache userSnapshotCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, jwtService.getVerifiedTokenCache(),
+                "jwtVerifiedTokens", List.of());
+        CaffeineCacheMetrics.monitor(registry, userSnapshotCache.getSnapshots(),
+                "userSnapshots", List.of());
+    }
+}
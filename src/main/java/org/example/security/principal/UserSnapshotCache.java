@@ -0,0 +1,84 @@
+package org.example.security.principal;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.example.config.JwtProperties;
+import org.example.config.cache.LocalCacheInvalidationBus;
+import org.example.entity.UserEntity;
+import org.example.repository.UserRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class UserSnapshotCache {
+
+    private static final String REGION = "userSnapshot";
+
+    private final UserRepository userRepository;
+    private final JwtProperties jwtProperties;
+    private final LocalCacheInvalidationBus invalidationBus;
+
+    // userId -> detached снапшот пользователя, из которого собирается principal
+    private Cache<Long, UserEntity> snapshots;
+
+    @PostConstruct
+    public void init() {
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getUserSnapshotCacheSize())
+                .expireAfterWrite(jwtProperties.getUserSnapshotTtl())
+                .recordStats()
+                .build();
+
+        invalidationBus.subscribe(REGION, payload -> evictLocal(Long.valueOf(payload)));
+    }
+
+    public Cache<Long, UserEntity> getSnapshots() {
+        return snapshots;
+    }
+
+    public Optional<UserEntity> get(Long userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+
+        UserEntity snapshot = snapshots.get(userId, id -> userRepository.findById(id)
+                .map(this::copyOf)
+                .orElse(null));
+
+        return Optional.ofNullable(snapshot).map(this::copyOf);
+    }
+
+    // Снапшот сбрасывается на всех нодах: иначе остальные до конца TTL аутентифицируют со старой ролью
+    public void evict(Long userId) {
+        if (userId != null) {
+            evictLocal(userId);
+            invalidationBus.publish(REGION, userId.toString());
+        }
+    }
+
+    private void evictLocal(Long userId) {
+        snapshots.invalidate(userId);
+    }
+
+    public void evictAll() {
+        snapshots.invalidateAll();
+    }
+
+    // Каждый запрос получает свою копию, чтобы изменения principal не протекали в кэш
+    private UserEntity copyOf(UserEntity user) {
+        return UserEntity.builder()
+                .id(user.getId())
+                .publicUid(user.getPublicUid())
+                .email(user.getEmail())
+                .password(user.getPassword())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .role(user.getRole())
+                .createdAt(user.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.security.principal;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.example.entity.UserEntity;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Снапшот сбрасывается после коммита: при сбросе в @PostUpdate параллельный запрос успевал
+// перечитать старую строку до коммита и вернуть ее в кэш
+@Component
+public class UserSnapshotInvalidationListener {
+
+    private final UserSnapshotCache userSnapshotCache;
+
+    public UserSnapshotInvalidationListener(@Lazy UserSnapshotCache userSnapshotCache) {
+        this.userSnapshotCache = userSnapshotCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(UserEntity user) {
+        Long userId = user.getId();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            userSnapshotCache.evict(userId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                userSnapshotCache.evict(userId);
+            }
+        });
+    }
+}
@@ -6,6 +6,8 @@ import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.example.config.cache.CacheInvalidationService;
+import org.example.config.cache.CacheKeySchema;
+import org.example.config.cache.CacheTag;
 import org.example.dto.CommentResponseDto;
 import org.example.dto.CreateCommentRequestDto;
 import org.example.dto.NotificationDto;
@@ -24,9 +26,9 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -108,8 +110,9 @@ public class CommentService {
 
             CommentEntity comment = commentMapper.toEntity(dto, task, currentUser);
             CommentEntity saved =  commentRepository.save(comment);
+            CommentResponseDto response = commentMapper.toDto(saved);
 
-            cacheInvalidationService.evictCommentPagesByTaskId(taskId);
+            cacheInvalidationService.commentCreated(taskId, response);
 
             commentsCreatedCounter.increment();
 
@@ -128,7 +131,7 @@ public class CommentService {
 
             }
 
-            return commentMapper.toDto(saved);
+            return response;
         } finally {
             sample.stop(commentCreatedTimer);
         }
@@ -188,12 +191,15 @@ public class CommentService {
     }
 
     @Cacheable(value = "commentPages",
-    keyGenerator = "universalKeyGenerator")
+    keyGenerator = "universalKeyGenerator",
+    sync = true)
+    @CacheKeySchema(value = "getKeysetTaskComments|taskId={taskId}|{version}|limit={limit}|{cursor}",
+            scope = CacheTag.Type.TASK, scopeParam = "taskId", shared = true)
+    @Transactional(readOnly = true)
     @PreAuthorize("isAuthenticated()")
     public KeysetPageResponseDto<CommentResponseDto> getKeysetTaskComments(Long taskId,
                                                               Integer limit,
-                                                              LocalDateTime cursorCreatedAt,
-                                                              Long cursorId) {
+                                                              KeysetCursor cursor) {
 
         Timer.Sample sample = Timer.start(meterRegistry);
 
@@ -203,9 +209,10 @@ public class CommentService {
                 throw new IllegalArgumentException("Task ID is required");
             }
 
-            PaginationMode mode =  keysetPaginationUtils.cursorMode(cursorCreatedAt, cursorId);
+            KeysetListing listing = KeysetListing.taskComments(taskId);
+            PaginationMode mode =  keysetPaginationUtils.cursorMode(cursor, listing);
             int pageSize = keysetPaginationUtils.normalizeLimit(limit);
-            Pageable pageable = keysetPaginationUtils.createPageable(pageSize);
+            Pageable pageable = keysetPaginationUtils.createPageable(pageSize, mode);
 
             UserEntity currentUser = userService.getCurrentUser();
 
@@ -216,26 +223,28 @@ public class CommentService {
 
             teamAccessService.checkMembership(team, currentUser);
 
-            Slice<CommentEntity> slice = keysetPaginationFetcher.fetchSlice(
-                    mode,
+            Slice<CommentResponseDto> slice = keysetPaginationFetcher.fetchSlice(
+                    cursor,
                     () -> commentRepository.findFirstPageByTaskIdOrderByCreatedAtAndIdDesc(
                             task.getId(), pageable
                     ),
                     (createdAt, id) -> commentRepository.findNextPageByTaskIdOrderByCreatedAtAndIdDescAfterCursor(
                             task.getId(), createdAt, id, pageable
                     ),
-                    cursorCreatedAt,
-                    cursorId
+                    (createdAt, id) -> commentRepository.findPreviousPageByTaskIdBeforeCursor(
+                            task.getId(), createdAt, id, pageable
+                    )
             );
 
-            KeysetSliceResult<CommentEntity> sliceResult = keysetPaginationUtils.trim(
-                    slice, pageSize
+            KeysetSliceResult<CommentResponseDto> sliceResult = keysetPaginationUtils.trim(
+                    slice, pageSize, mode
             );
 
             return keysetPageBuilder.universalBuilder(
                     sliceResult,
-                    commentMapper::toDto,
-                    pageSize
+                    Function.identity(),
+                    pageSize,
+                    listing
             );
         } finally {
             sample.stop(commentGetTimer);
@@ -1,28 +1,65 @@
 package org.example.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.example.config.JwtProperties;
+import org.example.entity.UserEntity;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class JwtService {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_PUBLIC_UID = "puid";
+    public static final String CLAIM_ROLE = "role";
+
     private final JwtProperties jwtProperties;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    // sha-256(token) -> уже проверенные claims, запись живет до exp самого токена
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        this.signingKey = Keys.hmacShaKeyFor(
                 jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8)
         );
+
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getVerifiedTokenCacheSize())
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    public Cache<String, Claims> getVerifiedTokenCache() {
+        return verifiedTokens;
+    }
+
+    private Key getSigningKey() {
+        return signingKey;
     }
 
     public String generateAccessToken(UserDetails user) {
@@ -55,6 +92,12 @@ public class JwtService {
                             .map(GrantedAuthority::getAuthority)
                             .collect(Collectors.toList())
             );
+
+            if (user instanceof UserEntity userEntity) {
+                claims.put(CLAIM_USER_ID, userEntity.getId());
+                claims.put(CLAIM_PUBLIC_UID, userEntity.getPublicUid());
+                claims.put(CLAIM_ROLE, userEntity.getRole().name());
+            }
         }
 
         return Jwts.builder()
@@ -66,22 +109,26 @@ public class JwtService {
                 .compact();
     }
 
-    public boolean isTokenValid(String token) {
+    public Optional<Claims> parseVerifiedClaims(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            return Optional.of(parseClaims(token));
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
         }
     }
 
+    public boolean isTokenValid(String token) {
+        return parseVerifiedClaims(token).isPresent();
+    }
+
     public String extractUsername(String token) {
         return parseClaims(token).getSubject();
     }
 
+    public Optional<Long> extractUserId(Claims claims) {
+        return Optional.ofNullable(claims.get(CLAIM_USER_ID, Long.class));
+    }
+
     public List<GrantedAuthority> extractRoles(String token) {
         List<String> roles = parseClaims(token).get("roles", List.class);
         if (roles == null) return Collections.emptyList();
@@ -92,10 +139,58 @@ public class JwtService {
     }
 
     private Claims parseClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("JWT token is empty");
+        }
+
+        String tokenHash = hashToken(token);
+
+        Claims cached = verifiedTokens.getIfPresent(tokenHash);
+        if (cached != null && !isExpired(cached)) {
+            return cached;
+        }
+
+        Claims claims = jwtParser
                 .parseClaimsJws(token)
                 .getBody();
+
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(tokenHash, claims);
+        }
+
+        return claims;
+    }
+
+    private boolean isExpired(Claims claims) {
+        return claims.getExpiration().getTime() <= System.currentTimeMillis();
+    }
+
+    private String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long millisLeft = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(millisLeft, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
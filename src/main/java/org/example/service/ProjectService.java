@@ -6,6 +6,8 @@ import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.example.config.cache.CacheInvalidationService;
+import org.example.config.cache.CacheKeySchema;
+import org.example.config.cache.CacheTag;
 import org.example.dto.CreateProjectRequestDto;
 import org.example.dto.ProjectResponseDto;
 import org.example.dto.UpdateProjectRequestDto;
@@ -21,10 +23,10 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -125,21 +127,25 @@ public class ProjectService {
     }
 
     @Cacheable(value = "projectPages",
-            keyGenerator = "universalKeyGenerator")
+            keyGenerator = "universalKeyGenerator",
+            sync = true)
+    @CacheKeySchema(value = "getMyTeamProjects|usId={user}|{version}|r={role}|limit={limit}|{cursor}",
+            scope = CacheTag.Type.USER)
+    @Transactional(readOnly = true)
     @PreAuthorize("isAuthenticated()")
     public KeysetPageResponseDto<ProjectResponseDto> getMyTeamProjects(Integer limit,
-                                               LocalDateTime cursorCreatedAt,
-                                               Long cursorId) {
+                                               KeysetCursor cursor) {
 
         Timer.Sample sample = Timer.start(meterRegistry);
 
         try {
-            PaginationMode mode = keysetPaginationUtils.cursorMode(cursorCreatedAt, cursorId);
-            int pageSize = keysetPaginationUtils.normalizeLimit(limit);
-            Pageable pageable = keysetPaginationUtils.createPageable(pageSize);
-
             UserEntity currentUser = userService.getCurrentUser();
 
+            KeysetListing listing = KeysetListing.teamProjects(currentUser.getId());
+            PaginationMode mode = keysetPaginationUtils.cursorMode(cursor, listing);
+            int pageSize = keysetPaginationUtils.normalizeLimit(limit);
+            Pageable pageable = keysetPaginationUtils.createPageable(pageSize, mode);
+
             List<TeamMemberEntity> memberships = teamMemberRepository
                     .findAllByUserId(currentUser.getId());
 
@@ -148,33 +154,33 @@ public class ProjectService {
                     .collect(Collectors.toList());
 
             if(teamIds.isEmpty()){
-                return new KeysetPageResponseDto<>(
-                        Collections.emptyList(),
-                        pageSize,
-                        null,
-                        null,
-                        false
-                );
+                return KeysetPageResponseDto.<ProjectResponseDto>builder()
+                        .items(Collections.emptyList())
+                        .limit(pageSize)
+                        .sort(listing.sort().value())
+                        .build();
             }
 
-            Slice<ProjectEntity> slice = keysetPaginationFetcher.fetchSlice(
-                    mode,
+            Slice<ProjectResponseDto> slice = keysetPaginationFetcher.fetchSlice(
+                    cursor,
                     () -> projectRepository.findFirstPageByCreatedAtAndTeamIdsDesc(teamIds, pageable),
                     (createdAt, id) -> projectRepository.findNextPageByCreatedAtAndTeamIdsAfterCursor(
                             teamIds, createdAt, id, pageable
                     ),
-                    cursorCreatedAt,
-                    cursorId
+                    (createdAt, id) -> projectRepository.findPreviousPageByCreatedAtAndTeamIdsBeforeCursor(
+                            teamIds, createdAt, id, pageable
+                    )
             );
 
-            KeysetSliceResult<ProjectEntity> sliceResult = keysetPaginationUtils.trim(
-                    slice, pageSize
+            KeysetSliceResult<ProjectResponseDto> sliceResult = keysetPaginationUtils.trim(
+                    slice, pageSize, mode
             );
 
             return keysetPageBuilder.universalBuilder(
                     sliceResult,
-                    projectMapper::toDto,
-                    pageSize
+                    Function.identity(),
+                    pageSize,
+                    listing
             );
         } finally {
             sample.stop(projectGetTimer);
@@ -206,6 +212,7 @@ public class ProjectService {
 
             for (Long taskId : taskIds) {
                 cacheInvalidationService.evictCommentPagesByTaskId(taskId);
+                cacheInvalidationService.evictTaskHistory(taskId);
             }
 
             taskRepository.deleteByProject_Id(projectEntity.getId());
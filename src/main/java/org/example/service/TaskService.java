@@ -7,6 +7,8 @@ import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.example.annotation.TrackTaskHistory;
 import org.example.config.cache.CacheInvalidationService;
+import org.example.config.cache.CacheKeySchema;
+import org.example.config.cache.CacheTag;
 import org.example.dto.*;
 import org.example.entity.*;
 import org.example.exception.ForbiddenException;
@@ -20,6 +22,7 @@ import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,6 +33,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -163,11 +167,12 @@ public class TaskService {
             TaskEntity task = taskMapper.toEntity(dto, project, assignee);
 
             TaskEntity saved = taskRepository.save(task);
+            TaskResponseDto response = taskMapper.toDto(saved);
 
-            cacheInvalidationService.evictTaskPagesByProjectId(projectId);
+            cacheInvalidationService.taskCreated(projectId, response);
             tasksCreatedCounter.increment();
 
-            return taskMapper.toDto(saved);
+            return response;
 
         } finally {
             sample.stop(taskCreatedTimer);
@@ -231,6 +236,9 @@ public class TaskService {
 
         taskRepository.save(task);
 
+        // Ранг и статус - ключи сортировки и фильтра списков задач
+        cacheInvalidationService.evictTaskPagesByProjectId(task.getProject().getId());
+
     }
 
     @Transactional
@@ -268,24 +276,29 @@ public class TaskService {
     }
 
     @Cacheable(value = "taskPages",
-            keyGenerator = "universalKeyGenerator")
+            keyGenerator = "universalKeyGenerator",
+            sync = true)
+    @CacheKeySchema(value = "getKeysetTasksByProject|view={view}|projId={projectId}|{version}|limit={limit}|{cursor}",
+            scope = CacheTag.Type.PROJECT, scopeParam = "projectId", shared = true)
+    @Transactional(readOnly = true)
     @PreAuthorize("isAuthenticated()")
     public KeysetPageResponseDto<TaskResponseDto> getKeysetTasksByProject(
             Long projectId,
             Integer limit,
-            LocalDateTime cursorCreatedAt,
-            Long cursorId
+            KeysetCursor cursor
     ) throws NotFoundException {
 
         Timer.Sample sample = Timer.start(meterRegistry);
 
         try {
-            PaginationMode mode = keysetPaginationUtils.cursorMode(cursorCreatedAt, cursorId);
+            KeysetListing listing = KeysetListing.projectTasks(projectId);
+            PaginationMode mode = keysetPaginationUtils.cursorMode(cursor, listing);
             int pageSize = keysetPaginationUtils.normalizeLimit(limit);
-            Pageable pageable = keysetPaginationUtils.createPageable(pageSize);
+            Pageable pageable = keysetPaginationUtils.createPageable(pageSize, mode);
 
-            Supplier<Slice<TaskEntity>> firstPageSupplier;
-            BiFunction<LocalDateTime, Long, Slice<TaskEntity>> nextPageSupplier;
+            Supplier<Slice<TaskResponseDto>> firstPageSupplier;
+            BiFunction<LocalDateTime, Long, Slice<TaskResponseDto>> nextPageSupplier;
+            BiFunction<LocalDateTime, Long, Slice<TaskResponseDto>> previousPageSupplier;
 
             UserEntity currentUser = userService.getCurrentUser();
 
@@ -303,35 +316,112 @@ public class TaskService {
                 firstPageSupplier = () -> taskRepository.findFirstPageByProjectId(project.getId(), pageable);
                 nextPageSupplier = (createdAt, id) ->
                         taskRepository.findNextByProjectIdAfterCursor(project.getId(), createdAt, id, pageable);
+                previousPageSupplier = (createdAt, id) ->
+                        taskRepository.findPreviousByProjectIdBeforeCursor(project.getId(), createdAt, id, pageable);
             } else {
                 firstPageSupplier = () -> taskRepository.findFirstPageByProjectIdAndAssigneeId(
                         project.getId(), currentUser.getId(), pageable);
                 nextPageSupplier = (createdAt, id) ->
                         taskRepository.findNextByProjectIdAndAssigneeIdAfterCursor(
                                 project.getId(), currentUser.getId(), createdAt, id, pageable);
+                previousPageSupplier = (createdAt, id) ->
+                        taskRepository.findPreviousByProjectIdAndAssigneeIdBeforeCursor(
+                                project.getId(), currentUser.getId(), createdAt, id, pageable);
             }
 
-            Slice<TaskEntity> slice = keysetPaginationFetcher.fetchSlice(
-                    mode,
+            Slice<TaskResponseDto> slice = keysetPaginationFetcher.fetchSlice(
+                    cursor,
                     firstPageSupplier,
                     nextPageSupplier,
-                    cursorCreatedAt,
-                    cursorId
+                    previousPageSupplier
             );
 
-            KeysetSliceResult<TaskEntity> sliceResult =
-                    keysetPaginationUtils.trim(slice, pageSize);
+            KeysetSliceResult<TaskResponseDto> sliceResult =
+                    keysetPaginationUtils.trim(slice, pageSize, mode);
+
+            return pageBuilder.universalBuilder(
+                    sliceResult,
+                    Function.identity(),
+                    pageSize,
+                    listing
+            );
+        } finally {
+            sample.stop(taskGetTimer);
+        }
+    }
+
+    // Список задач проекта с фильтром и сортировкой. Не кэшируется: комбинаций фильтра много,
+    // а write-through дописывает новую задачу только в выдачу по умолчанию
+    @Transactional(readOnly = true)
+    @PreAuthorize("isAuthenticated()")
+    public KeysetPageResponseDto<TaskResponseDto> getFilteredTasksByProject(
+            Long projectId,
+            TaskPageFilterDto filter,
+            Integer limit,
+            KeysetCursor cursor
+    ) throws NotFoundException {
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        try {
+            if (filter.getCreatedFrom() != null && filter.getCreatedTo() != null
+                    && !filter.getCreatedFrom().isBefore(filter.getCreatedTo())) {
+                throw new IllegalArgumentException("Неверный диапазон дат создания");
+            }
+
+            KeysetListing listing = filter.listing(projectId);
+            PaginationMode mode = keysetPaginationUtils.cursorMode(cursor, listing);
+            int pageSize = keysetPaginationUtils.normalizeLimit(limit);
+
+            UserEntity currentUser = userService.getCurrentUser();
+
+            ProjectEntity project = projectRepository.findById(projectId)
+                    .orElseThrow(() -> new NotFoundException("Project not found"));
+
+            TeamMemberEntity membership = teamAccessService.checkMembership(project.getTeam(), currentUser);
+
+            boolean isOwnerOrManager = membership.getRole() == TeamRole.OWNER ||
+                    membership.getRole() == TeamRole.MANAGER;
+
+            // Участник видит только свои задачи: фильтр по другому исполнителю дает пустую выдачу
+            Slice<TaskResponseDto> slice;
+            if (isOwnerOrManager) {
+                slice = taskRepository.findPageByFilter(project.getId(), filter, cursor, pageSize + 1);
+            } else if (filter.getAssigneeId() == null || filter.getAssigneeId().equals(currentUser.getId())) {
+                TaskPageFilterDto ownTasks = filter.toBuilder().assigneeId(currentUser.getId()).build();
+                slice = taskRepository.findPageByFilter(project.getId(), ownTasks, cursor, pageSize + 1);
+            } else {
+                slice = new SliceImpl<>(List.of());
+            }
+
+            KeysetSliceResult<TaskResponseDto> sliceResult =
+                    keysetPaginationUtils.trim(slice, pageSize, mode);
 
             return pageBuilder.universalBuilder(
                     sliceResult,
-                    taskMapper::toDto,
-                    pageSize
+                    Function.identity(),
+                    pageSize,
+                    listing
             );
         } finally {
             sample.stop(taskGetTimer);
         }
     }
 
+    // Курсор "перейти к задаче": страница выдачи проекта, начинающаяся с этой задачи
+    @Transactional(readOnly = true)
+    @PreAuthorize("isAuthenticated()")
+    public KeysetCursor cursorAtTask(Long projectId, Long taskId, TaskPageFilterDto filter) {
+
+        TaskEntity task = taskRepository.findById(taskId)
+                .filter(found -> found.getProject().getId().equals(projectId))
+                .orElseThrow(() -> new NotFoundException("Task not found"));
+
+        teamAccessService.checkMembership(task.getProject().getTeam(), userService.getCurrentUser());
+
+        return KeysetCursor.at(filter.listing(projectId), task);
+    }
+
     @Transactional
     @PreAuthorize("isAuthenticated()")
     public void deleteTask(Long taskId) {
@@ -354,6 +444,7 @@ public class TaskService {
             taskHistoryRepository.deleteByTask_Id(taskId);
             taskRepository.delete(task);
             cacheInvalidationService.evictCommentPagesByTaskId(task.getId());
+            cacheInvalidationService.evictTaskHistory(task.getId());
             cacheInvalidationService.evictTaskPagesByProjectId(task.getProject().getId());
             tasksDeletedCounter.increment();
         } finally {
@@ -361,6 +452,11 @@ public class TaskService {
         }
     }
 
+    @Cacheable(value = "taskHistory",
+            keyGenerator = "universalKeyGenerator",
+            sync = true)
+    @CacheKeySchema(value = "getTaskHistory|view={view}|taskId={taskId}|{version}",
+            scope = CacheTag.Type.TASK_HISTORY, scopeParam = "taskId", shared = true)
     @PreAuthorize("isAuthenticated()")
     public List<TaskHistoryResponseDto> getTaskHistory(Long taskId) {
 
@@ -442,6 +538,8 @@ public class TaskService {
                 teamAccessService.checkMembership(team, assignee);
 
                 task.setAssignee(assignee);
+                // Представление истории для MEMBER зависит от исполнителя
+                cacheInvalidationService.evictTaskHistory(task.getId());
             }
 
             TaskEntity savedTask = taskRepository.save(task);
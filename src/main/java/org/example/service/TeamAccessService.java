@@ -1,6 +1,7 @@
 package org.example.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.config.cache.TeamMembershipCache;
 import org.example.entity.TeamEntity;
 import org.example.entity.TeamMemberEntity;
 import org.example.entity.TeamRole;
@@ -9,6 +10,7 @@ import org.example.exception.ForbiddenException;
 import org.example.repository.TeamMemberRepository;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
 import java.util.Set;
 
 @Service
@@ -16,6 +18,7 @@ import java.util.Set;
 public class TeamAccessService {
 
     private final TeamMemberRepository teamMemberRepository;
+    private final TeamMembershipCache teamMembershipCache;
 
     public TeamMemberEntity checkMembershipRole(TeamEntity team, UserEntity user, Set<TeamRole> allowedRoles) {
         TeamMemberEntity membership = getMembershipOrThrow(team, user);
@@ -33,12 +36,28 @@ public class TeamAccessService {
     }
 
     public TeamMemberEntity getMembershipOrThrow(TeamEntity team, UserEntity user) {
-        return teamMemberRepository
+
+        Optional<TeamRole> cachedRole = teamMembershipCache.get(team.getId(), user.getId());
+
+        // Для проверок прав нужна только роль, поэтому из кэша отдаем несохраняемую membership
+        if (cachedRole.isPresent()) {
+            return TeamMemberEntity.builder()
+                    .team(team)
+                    .user(user)
+                    .role(cachedRole.get())
+                    .build();
+        }
+
+        TeamMemberEntity membership = teamMemberRepository
                 .findByTeamIdAndUserId(team.getId(), user.getId())
                 .orElseThrow(() -> new ForbiddenException(
                         String.format("User %s is not a member of team %s",
                                 user.getUsername(), team.getName())
                 ));
+
+        teamMembershipCache.put(team.getId(), user.getId(), membership.getRole());
+
+        return membership;
     }
 
     public TeamMemberEntity checkMembership(TeamEntity team, UserEntity user) {
@@ -2,6 +2,9 @@ package org.example.service;
 
 import lombok.RequiredArgsConstructor;
 import org.example.config.cache.CacheInvalidationService;
+import org.example.config.cache.CacheKeySchema;
+import org.example.config.cache.CacheTag;
+import org.example.config.cache.TeamMembershipCache;
 import org.example.dto.TeamInvitationRequestDto;
 import org.example.dto.TeamInvitationResponseDto;
 import org.example.entity.*;
@@ -12,6 +15,7 @@ import org.example.repository.TeamInvitationRepository;
 import org.example.repository.TeamMemberRepository;
 import org.example.repository.TeamRepository;
 import org.example.repository.UserRepository;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -35,6 +39,7 @@ public class TeamInvitationService {
     private final TeamInvitationMapper teamInvitationMapper;
     private final CacheInvalidationService cacheInvalidationService;
     private final EmailService emailService;
+    private final TeamMembershipCache teamMembershipCache;
 
     @Transactional
     @PreAuthorize("isAuthenticated()")
@@ -83,6 +88,7 @@ public class TeamInvitationService {
                 .build();
 
         TeamInvitationEntity save = teamInvitationRepository.save(invitation);
+        cacheInvalidationService.evictInvitationsByUserId(invitedUser.getId());
 
         emailService.sendTeamInvitation(invitedUser.getEmail(), team.getName(), currentUser.getFirstName(), save.getId());
 
@@ -120,6 +126,10 @@ public class TeamInvitationService {
         }
     }
 
+    @Cacheable(value = "myInvitations",
+            keyGenerator = "universalKeyGenerator",
+            sync = true)
+    @CacheKeySchema(value = "getMyInvitations|usId={user}|{version}", scope = CacheTag.Type.INVITATIONS)
     @PreAuthorize("isAuthenticated()")
     public List<TeamInvitationResponseDto> getMyInvitations(){
 
@@ -130,6 +140,10 @@ public class TeamInvitationService {
         return invitations.stream().map(teamInvitationMapper::toDto).collect(Collectors.toList());
     }
 
+    @Cacheable(value = "myPendingInvitations",
+            keyGenerator = "universalKeyGenerator",
+            sync = true)
+    @CacheKeySchema(value = "getMyPendingInvitations|usId={user}|{version}", scope = CacheTag.Type.INVITATIONS)
     @PreAuthorize("isAuthenticated()")
     public List<TeamInvitationResponseDto> getMyPendingInvitations(){
 
@@ -175,12 +189,14 @@ public class TeamInvitationService {
                 .build();
 
         teamMemberRepository.save(teamMember);
+        teamMembershipCache.evict(invitation.getTeam().getId(), currentUser.getId());
 
         invitation.setStatus(InvitationStatus.ACCEPTED);
 
         TeamInvitationEntity saveInvitation = teamInvitationRepository.save(invitation);
 
         cacheInvalidationService.evictTeamRelatedCaches(invitation.getTeam().getId());
+        cacheInvalidationService.evictInvitationsByUserId(currentUser.getId());
 
         return teamInvitationMapper.toDto(saveInvitation);
     }
@@ -209,6 +225,7 @@ public class TeamInvitationService {
         invitation.setStatus(InvitationStatus.DECLINED);
 
         TeamInvitationEntity save = teamInvitationRepository.save(invitation);
+        cacheInvalidationService.evictInvitationsByUserId(currentUser.getId());
 
         return teamInvitationMapper.toDto(save);
 
@@ -237,6 +254,7 @@ public class TeamInvitationService {
 
         invitation.setStatus(InvitationStatus.CANCELLED);
         TeamInvitationEntity save = teamInvitationRepository.save(invitation);
+        cacheInvalidationService.evictInvitationsByUserId(invitation.getInvitedUser().getId());
 
         return teamInvitationMapper.toDto(save);
     }
@@ -1,5 +1,9 @@
 package org.example.service;
 
+import org.example.config.cache.CacheInvalidationService;
+import org.example.config.cache.CacheKeySchema;
+import org.example.config.cache.CacheTag;
+import org.example.config.cache.TeamMembershipCache;
 import org.example.exception.NotFoundException;
 import org.example.repository.UserRepository;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,6 +20,7 @@ import org.example.mapper.TeamMapper;
 import org.example.mapper.TeamMemberMapper;
 import org.example.repository.TeamMemberRepository;
 import org.example.repository.TeamRepository;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
@@ -33,6 +38,8 @@ public class TeamService {
     private final TeamMapper teamMapper;
     private final TeamMemberMapper teamMemberMapper;
     private final TeamAccessService teamAccessService;
+    private final TeamMembershipCache teamMembershipCache;
+    private final CacheInvalidationService cacheInvalidationService;
 
     @Transactional
     @PreAuthorize("isAuthenticated()")
@@ -56,10 +63,16 @@ public class TeamService {
                 .build();
 
         teamMemberRepository.save(teamMember);
+        teamMembershipCache.evict(savedTeam.getId(), currentUser.getId());
+        cacheInvalidationService.evictTeamsByUserId(currentUser.getId());
 
         return teamMapper.toDto(savedTeam);
     }
 
+    @Cacheable(value = "myTeams",
+            keyGenerator = "universalKeyGenerator",
+            sync = true)
+    @CacheKeySchema(value = "getMyTeams|usId={user}|{version}", scope = CacheTag.Type.USER)
     @PreAuthorize("isAuthenticated()")
     public List<TeamResponseDto> getMyTeams(){
 
@@ -71,6 +84,11 @@ public class TeamService {
 
     }
 
+    @Cacheable(value = "teamMembers",
+            keyGenerator = "universalKeyGenerator",
+            sync = true)
+    @CacheKeySchema(value = "getTeamMembers|teamId={teamId}|{version}",
+            scope = CacheTag.Type.TEAM, scopeParam = "teamId", shared = true)
     @PreAuthorize("isAuthenticated()")
     public List<TeamMemberResponseDto> getTeamMembers(Long teamId){
 
@@ -0,0 +1,75 @@
+-- Схема, которую раньше создавал hibernate ddl-auto: update. На существующей базе таблицы уже есть,
+-- поэтому все create идут с if not exists, а Flyway запускается с baseline-on-migrate
+
+create table if not exists users (
+    id          bigint generated by default as identity primary key,
+    public_uid  varchar(255) not null unique,
+    email       varchar(255) not null unique,
+    password    varchar(255) not null,
+    first_name  varchar(255) not null,
+    last_name   varchar(255) not null,
+    role        varchar(255) not null,
+    created_at  timestamp(6) not null
+);
+
+create table if not exists teams (
+    id                  bigint generated by default as identity primary key,
+    name                varchar(255) not null,
+    created_by_user_id  bigint       not null references users (id),
+    created_at          timestamp(6) not null
+);
+
+create table if not exists projects (
+    id           bigint generated by default as identity primary key,
+    name         varchar(200)  not null,
+    description  varchar(5000),
+    owner_id     bigint        not null references users (id),
+    team_id      bigint        not null references teams (id),
+    created_at   timestamp(6)  not null
+);
+
+create table if not exists tasks (
+    id           bigint generated by default as identity primary key,
+    title        varchar(200)  not null,
+    description  varchar(5000) not null,
+    status       varchar(255)  not null,
+    project_id   bigint        not null references projects (id),
+    user_id      bigint        not null references users (id),
+    lexo_rank    varchar(255)  not null,
+    created_at   timestamp(6)  not null
+);
+
+create table if not exists comments (
+    id          bigint generated by default as identity primary key,
+    text        varchar(255) not null,
+    task_id     bigint       not null references tasks (id),
+    user_id     bigint       not null references users (id),
+    created_at  timestamp(6) not null
+);
+
+create table if not exists tasks_history (
+    id          bigint generated by default as identity primary key,
+    old_status  varchar(255) not null,
+    new_status  varchar(255) not null,
+    task_id     bigint       not null references tasks (id),
+    user_id     bigint       not null references users (id),
+    changed_at  timestamp(6) not null
+);
+
+create table if not exists team_members (
+    id         bigint generated by default as identity primary key,
+    team_id    bigint       not null references teams (id),
+    user_id    bigint       not null references users (id),
+    role       varchar(255) not null,
+    joined_at  timestamp(6) not null,
+    constraint uk_team_member unique (team_id, user_id)
+);
+
+create table if not exists team_invitations (
+    id                  bigint generated by default as identity primary key,
+    team_id             bigint       not null references teams (id),
+    invited_user_id     bigint       not null references users (id),
+    invited_by_user_id  bigint       not null references users (id),
+    status              varchar(255) not null,
+    created_at          timestamp(6) not null
+);
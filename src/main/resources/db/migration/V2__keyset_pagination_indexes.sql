@@ -0,0 +1,35 @@
+-- Индексы под keyset-пагинацию: equality-колонки, затем (created_at desc, id desc) в порядке сортировки,
+-- чтобы страница читалась одним index range scan без сортировки всей области.
+-- concurrently не блокирует запись в больших таблицах; Flyway выполняет такой скрипт вне транзакции
+
+-- TaskRepository: страницы задач проекта
+create index concurrently if not exists idx_tasks_project_created_id
+    on tasks (project_id, created_at desc, id desc);
+
+-- TaskRepository: страницы задач проекта, назначенных исполнителю (user_id)
+create index concurrently if not exists idx_tasks_project_assignee_created_id
+    on tasks (project_id, user_id, created_at desc, id desc);
+
+-- CommentRepository: страницы комментариев задачи
+create index concurrently if not exists idx_comments_task_created_id
+    on comments (task_id, created_at desc, id desc);
+
+-- ProjectRepository: страницы проектов команд пользователя
+create index concurrently if not exists idx_projects_team_created_id
+    on projects (team_id, created_at desc, id desc);
+
+-- TeamMemberRepository.findAllByUserId; по team_id ищет уникальный индекс uk_team_member
+create index concurrently if not exists idx_team_members_user
+    on team_members (user_id);
+
+-- TaskHistoryRepository.findAllByTaskIdOrderByChangedAtAsc
+create index concurrently if not exists idx_tasks_history_task_changed
+    on tasks_history (task_id, changed_at);
+
+-- TeamInvitationRepository: приглашения пользователя (с фильтром по статусу и без)
+create index concurrently if not exists idx_team_invitations_invited_status
+    on team_invitations (invited_user_id, status);
+
+-- TeamInvitationRepository.findTopByTeamIdAndInvitedUserIdOrderByCreatedAtDesc и existsBy...AndStatus
+create index concurrently if not exists idx_team_invitations_team_invited_created
+    on team_invitations (team_id, invited_user_id, created_at desc);
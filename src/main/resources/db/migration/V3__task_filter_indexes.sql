@@ -0,0 +1,21 @@
+-- Индексы под фильтры и сортировки списка задач проекта (TaskRepositoryCustomImpl.findPageByFilter).
+-- Фильтр по исполнителю без статуса уже обслуживает idx_tasks_project_assignee_created_id из V2.
+-- Исполнитель вместе со статусом читается индексом исполнителя, статус проверяется в Filter:
+-- задач одного исполнителя в проекте немного, отдельные индексы на (user_id, status) не окупают запись.
+-- Диапазон createdFrom/createdTo при сортировке по дате - граница индекса, при сортировке по рангу - Filter
+
+-- status + createdAt (обе стороны обходятся одним индексом)
+create index concurrently if not exists idx_tasks_project_status_created_id
+    on tasks (project_id, status, created_at desc, id desc);
+
+-- lexoRank без фильтра
+create index concurrently if not exists idx_tasks_project_rank_id
+    on tasks (project_id, lexo_rank, id);
+
+-- status + lexoRank: колонка доски
+create index concurrently if not exists idx_tasks_project_status_rank_id
+    on tasks (project_id, status, lexo_rank, id);
+
+-- исполнитель + lexoRank
+create index concurrently if not exists idx_tasks_project_assignee_rank_id
+    on tasks (project_id, user_id, lexo_rank, id);
@@ -0,0 +1,198 @@
+package org.example.benchmark;
+
+import org.example.config.cache.CacheEvictionEngine;
+import org.example.config.cache.CacheScopeResolver;
+import org.example.config.cache.CacheTag;
+import org.example.config.cache.PageWriteThroughService;
+import org.example.config.cache.UniversalKeyGenerator;
+import org.example.entity.Role;
+import org.example.entity.UserEntity;
+import org.example.pagination.KeysetCursor;
+import org.example.pagination.PaginationMode;
+import org.example.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+// Генератор по скомпилированной @CacheKeySchema против прежнего switch по имени метода
+// со String.format и DateTimeFormatter. Redis, доступ и поколения заглушены константами,
+// поэтому измеряется только построение ключа. Ключи обоих генераторов совпадают (проверяется в @Setup).
+// Запуск: mvn -Pbenchmark test -Djmh.args="CacheKeyGenerator"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheKeyGeneratorBenchmark {
+
+    @Param({"first", "cursor"})
+    public String page;
+
+    private UniversalKeyGenerator schemaGenerator;
+    private LegacyKeyGenerator legacyGenerator;
+
+    private Method method;
+    private Object[] params;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        UserEntity user = UserEntity.builder().id(5L).role(Role.USER).build();
+
+        // JMH может вызывать @Setup и @Benchmark в разных потоках
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        CacheEvictionEngine engine = new ConstantGenerationEngine();
+        CacheScopeResolver resolver = new ConstantScopeResolver();
+        PageWriteThroughService writeThrough = new ConstantHeadWriteThrough();
+
+        schemaGenerator = new UniversalKeyGenerator(engine, resolver, writeThrough, new DefaultListableBeanFactory());
+        legacyGenerator = new LegacyKeyGenerator(engine, resolver, writeThrough);
+
+        method = TaskService.class.getMethod("getKeysetTasksByProject",
+                Long.class, Integer.class, KeysetCursor.class);
+        params = page.equals("first")
+                ? new Object[]{42L, 20, null}
+                : new Object[]{42L, 20, new KeysetCursor(PaginationMode.NEXT, 0,
+                        LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000), 9_001L)};
+
+        Object expected = legacyGenerator.generate(method, params);
+        Object actual = schemaGenerator.generate(null, method, params);
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException("Keys differ: " + expected + " vs " + actual);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Object legacySwitch() {
+        return legacyGenerator.generate(method, params);
+    }
+
+    @Benchmark
+    public Object compiledSchema() {
+        return schemaGenerator.generate(null, method, params);
+    }
+
+    private static final class ConstantGenerationEngine implements CacheEvictionEngine {
+
+        @Override
+        public long keyGeneration(CacheTag tag) {
+            return 17L;
+        }
+
+        @Override
+        public void evict(CacheTag tag) {
+        }
+    }
+
+    private static final class ConstantScopeResolver extends CacheScopeResolver {
+
+        ConstantScopeResolver() {
+            super(null, null, null, null);
+        }
+
+        @Override
+        public String taskPageView(Long projectId, UserEntity user) {
+            return "ASSIGNEE:" + user.getId();
+        }
+
+        @Override
+        public void checkAccess(CacheTag scope, UserEntity user) {
+        }
+    }
+
+    private static final class ConstantHeadWriteThrough extends PageWriteThroughService {
+
+        ConstantHeadWriteThrough() {
+            super(null, null, null, null, null, null, null);
+        }
+
+        @Override
+        public long headGeneration(CacheTag scope) {
+            return 3L;
+        }
+    }
+
+    // Ветка getKeysetTasksByProject прежнего UniversalKeyGenerator без изменений
+    private static final class LegacyKeyGenerator {
+
+        private final CacheEvictionEngine cacheEvictionEngine;
+        private final CacheScopeResolver cacheScopeResolver;
+        private final PageWriteThroughService pageWriteThroughService;
+
+        LegacyKeyGenerator(CacheEvictionEngine cacheEvictionEngine,
+                           CacheScopeResolver cacheScopeResolver,
+                           PageWriteThroughService pageWriteThroughService) {
+            this.cacheEvictionEngine = cacheEvictionEngine;
+            this.cacheScopeResolver = cacheScopeResolver;
+            this.pageWriteThroughService = pageWriteThroughService;
+        }
+
+        Object generate(Method method, Object... params) {
+            String methodName = method.getName();
+            UserEntity currentUser = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+            switch (methodName) {
+                case "getKeysetTasksByProject" -> {
+                    Long projectId = (Long) params[0];
+                    int limit = normalizeGenerateLimit((Integer) params[1]);
+                    KeysetCursor cursor = (KeysetCursor) params[2];
+                    LocalDateTime cursorCreatedAt = cursor != null ? cursor.createdAt() : null;
+                    Long cursorId = cursor != null ? cursor.id() : null;
+
+                    String cursorPart = formatCursorPart(cursorCreatedAt, cursorId);
+                    String view = cacheScopeResolver.taskPageView(projectId, currentUser);
+                    String versionPart = formatVersionPart(CacheTag.project(projectId), cursorCreatedAt, cursorId);
+
+                    return String.format("%s|view=%s|projId=%d|%s|limit=%d|%s",
+                            methodName, view, projectId, versionPart, limit, cursorPart);
+                }
+                default -> {
+                    return String.format("default|%s|u=%d|r=%s",
+                            methodName, currentUser.getId(), currentUser.getRole());
+                }
+            }
+        }
+
+        private int normalizeGenerateLimit(Integer limit) {
+            return limit != null && limit > 0 ? Math.min(limit, 50) : 10;
+        }
+
+        private String formatVersionPart(CacheTag scope, LocalDateTime cursorCreatedAt, Long cursorId) {
+            long generation = cacheEvictionEngine.keyGeneration(scope);
+
+            if (cursorCreatedAt == null && cursorId == null) {
+                return String.format("g=%d|h=%d", generation, pageWriteThroughService.headGeneration(scope));
+            }
+            return String.format("g=%d", generation);
+        }
+
+        private String formatCursorPart(LocalDateTime cursorCreatedAt, Long cursorId) {
+            boolean isFirst = cursorCreatedAt == null && cursorId == null;
+            boolean isNext = cursorCreatedAt != null && cursorId != null;
+
+            if (!isFirst && !isNext) {
+                throw new IllegalArgumentException("Неверные параметры курсора");
+            }
+
+            if (isFirst) {
+                return "first";
+            }
+            return String.format("curCreatAt=%s|curId=%d",
+                    cursorCreatedAt.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME), cursorId);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.benchmark;
+
+import org.example.config.cache.CacheValueSerializers;
+import org.example.dto.TaskResponseDto;
+import org.example.entity.Status;
+import org.example.pagination.KeysetPageResponseDto;
+import org.example.pagination.KeysetSort;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Полиморфный JSON (текущий формат) против Smile по схеме страницы, без сжатия и с Deflate.
+// Страница задач с описаниями по 5000 символов из словаря, а не из одного повторяющегося символа,
+// чтобы сжатие не выглядело лучше, чем на реальных данных. Размер значения печатается в @Setup.
+// Запуск: mvn -Pbenchmark test -Djmh.args="CacheValueCodec"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheValueCodecBenchmark {
+
+    private static final String[] WORDS = {
+            "задача", "проект", "исправить", "ошибка", "при", "загрузке", "страницы", "пользователь",
+            "должен", "видеть", "список", "комментариев", "deploy", "review", "backend", "frontend",
+            "api", "timeout", "redis", "postgres", "миграция", "индекс", "проверить", "после", "релиза"
+    };
+
+    @Param({"json", "smile", "smile-deflate"})
+    public String codec;
+
+    @Param({"20", "50"})
+    public int pageSize;
+
+    private RedisSerializer<Object> serializer;
+    private KeysetPageResponseDto<TaskResponseDto> page;
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serializer = switch (codec) {
+            case "json" -> CacheValueSerializers.polymorphicJson();
+            case "smile" -> CacheValueSerializers.smilePage(TaskResponseDto.class, -1);
+            case "smile-deflate" -> CacheValueSerializers.smilePage(TaskResponseDto.class, 1024);
+            default -> throw new IllegalArgumentException(codec);
+        };
+
+        page = taskPage(pageSize);
+        serialized = serializer.serialize(page);
+
+        System.out.printf("%n[%s, pageSize=%d] value size: %d bytes%n", codec, pageSize, serialized.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(page);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(serialized);
+    }
+
+    private static KeysetPageResponseDto<TaskResponseDto> taskPage(int size) {
+        Random random = new Random(42);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+        List<TaskResponseDto> items = IntStream.range(0, size)
+                .mapToObj(i -> TaskResponseDto.builder()
+                        .id(100_000L + i)
+                        .title("Task #" + i + " " + WORDS[random.nextInt(WORDS.length)])
+                        .description(description(random, 5000))
+                        .status(Status.values()[random.nextInt(Status.values().length)])
+                        .projectId(42L)
+                        .assigneeId(7L + random.nextInt(20))
+                        .createdAt(createdAt.minusSeconds(random.nextInt(1_000_000)))
+                        .build())
+                .toList();
+
+        return KeysetPageResponseDto.<TaskResponseDto>builder()
+                .items(items)
+                .limit(size)
+                .nextCursor("AQHPsQ3XAAAAAGYyL8AAAAAAAAAAAAAAAAGGoNk0n2y1Qb8xRw")
+                .sort(KeysetSort.CREATED_AT_DESC.value())
+                .hasNext(true)
+                .build();
+    }
+
+    private static String description(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length + 16);
+        while (builder.length() < length) {
+            builder.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return builder.substring(0, length);
+    }
+}
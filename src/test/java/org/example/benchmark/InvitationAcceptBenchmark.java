@@ -0,0 +1,152 @@
+package org.example.benchmark;
+
+import org.example.config.cache.CacheCircuitBreaker;
+import org.example.config.cache.CacheEvictionEngine;
+import org.example.config.cache.CacheInvalidationHistory;
+import org.example.config.cache.CacheInvalidationService;
+import org.example.config.cache.CacheTag;
+import org.example.config.cache.LocalCacheInvalidationBus;
+import org.example.config.cache.MissedInvalidations;
+import org.example.config.cache.PageVersionService;
+import org.example.config.cache.PageWriteThroughService;
+import org.example.config.cache.TeamMembershipCache;
+import org.example.entity.InvitationStatus;
+import org.example.entity.TeamEntity;
+import org.example.entity.TeamInvitationEntity;
+import org.example.entity.UserEntity;
+import org.example.mapper.TeamInvitationMapper;
+import org.example.repository.TeamInvitationRepository;
+import org.example.repository.TeamMemberRepository;
+import org.example.repository.TeamRepository;
+import org.example.repository.UserRepository;
+import org.example.service.EmailService;
+import org.example.service.TeamInvitationService;
+import org.example.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Латентность acceptInvitation в зависимости от размера команды.
+// БД и Redis замоканы: измеряется работа инвалидации, а каждая операция движка
+// считается как один round-trip до Redis (REDIS_ROUND_TRIP_NANOS).
+// Число задач и проектов команды на инвалидацию больше не влияет, поэтому параметром не является.
+// Запуск: mvn -Pbenchmark test -Djmh.args="InvitationAccept"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvitationAcceptBenchmark {
+
+    private static final long REDIS_ROUND_TRIP_NANOS = 200_000;
+
+    private static final long TEAM_ID = 1L;
+    private static final long INVITED_USER_ID = 1_000_000L;
+
+    @Param({"10", "100", "1000"})
+    public int teamSize;
+
+    private TeamInvitationService teamInvitationService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TeamInvitationRepository teamInvitationRepository = mock(TeamInvitationRepository.class);
+        TeamMemberRepository teamMemberRepository = mock(TeamMemberRepository.class);
+        UserService userService = mock(UserService.class);
+
+        UserEntity invitedUser = UserEntity.builder().id(INVITED_USER_ID).build();
+        UserEntity owner = UserEntity.builder().id(1L).build();
+        TeamEntity team = TeamEntity.builder().id(TEAM_ID).build();
+
+        List<Long> memberIds = LongStream.rangeClosed(1, teamSize).boxed().toList();
+
+        when(userService.getCurrentUser()).thenReturn(invitedUser);
+        when(teamInvitationRepository.findById(any())).thenAnswer(invocation -> Optional.of(
+                TeamInvitationEntity.builder()
+                        .id(1L)
+                        .team(team)
+                        .invitedUser(invitedUser)
+                        .invitedBy(owner)
+                        .status(InvitationStatus.PENDING)
+                        .createdAt(LocalDateTime.now())
+                        .build()));
+        when(teamInvitationRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(teamMemberRepository.findUserIdsByTeamId(TEAM_ID)).thenReturn(memberIds);
+
+        CacheCircuitBreaker circuitBreaker = mock(CacheCircuitBreaker.class);
+        when(circuitBreaker.isClosed()).thenReturn(true);
+
+        CacheInvalidationService cacheInvalidationService =
+                new CacheInvalidationService(new SimulatedRoundTripEngine(), teamMemberRepository,
+                        mock(LocalCacheInvalidationBus.class), mock(PageWriteThroughService.class),
+                        mock(PageVersionService.class), new CacheInvalidationHistory(), circuitBreaker,
+                        mock(MissedInvalidations.class), mock(CacheManager.class));
+
+        teamInvitationService = new TeamInvitationService(
+                teamInvitationRepository,
+                teamMemberRepository,
+                mock(TeamRepository.class),
+                userService,
+                mock(UserRepository.class),
+                new TeamInvitationMapper(),
+                cacheInvalidationService,
+                mock(EmailService.class),
+                mock(TeamMembershipCache.class)
+        );
+    }
+
+    @Benchmark
+    public Object acceptInvitation() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            Object result = teamInvitationService.acceptInvitation(1L);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+            return result;
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static final class SimulatedRoundTripEngine implements CacheEvictionEngine {
+
+        @Override
+        public long keyGeneration(CacheTag tag) {
+            return 0L;
+        }
+
+        @Override
+        public void evict(CacheTag tag) {
+            roundTrip();
+        }
+
+        @Override
+        public void evictAll(Collection<CacheTag> tags) {
+            roundTrip();
+        }
+
+        private static void roundTrip() {
+            long deadline = System.nanoTime() + REDIS_ROUND_TRIP_NANOS;
+            while (System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
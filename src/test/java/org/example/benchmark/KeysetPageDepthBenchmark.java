@@ -0,0 +1,136 @@
+package org.example.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Латентность следующей страницы задач проекта в зависимости от глубины курсора.
+// Postgres в Testcontainers со схемой и индексами из db/migration, в проекте 1M задач.
+// ROW - условие (created_at, id) < (?, ?), которое Hibernate выводит из запросов TaskRepository;
+// OR - прежнее created_at < ? or (created_at = ? and id < ?). У ROW время страницы не зависит от depth.
+// Запуск: mvn -Pbenchmark test -Djmh.args="KeysetPageDepth"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeysetPageDepthBenchmark {
+
+    private static final int TASKS_PER_PROJECT = 1_000_000;
+    private static final int PAGE_SIZE = 20;
+    private static final long PROJECT_ID = 1L;
+
+    private static final String ROW_PREDICATE = "(t.created_at, t.id) < (?, ?)";
+    private static final String OR_PREDICATE = "(t.created_at < ? or (t.created_at = ? and t.id < ?))";
+
+    @Param({"0", "10000", "500000", "999000"})
+    public int depth;
+
+    @Param({"ROW", "OR"})
+    public String predicate;
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+    private PreparedStatement nextPage;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+        postgres.start();
+
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        seed();
+
+        Timestamp cursorCreatedAt;
+        long cursorId;
+        try (PreparedStatement cursor = connection.prepareStatement("""
+                select t.created_at, t.id from tasks t
+                where t.project_id = ?
+                order by t.created_at desc, t.id desc
+                offset ? limit 1
+                """)) {
+            cursor.setLong(1, PROJECT_ID);
+            cursor.setInt(2, depth);
+            try (ResultSet rs = cursor.executeQuery()) {
+                rs.next();
+                cursorCreatedAt = rs.getTimestamp(1);
+                cursorId = rs.getLong(2);
+            }
+        }
+
+        boolean row = "ROW".equals(predicate);
+        nextPage = connection.prepareStatement("""
+                select t.* from tasks t
+                where t.project_id = ?
+                  and %s
+                order by t.created_at desc, t.id desc
+                limit ?
+                """.formatted(row ? ROW_PREDICATE : OR_PREDICATE));
+
+        int index = 1;
+        nextPage.setLong(index++, PROJECT_ID);
+        nextPage.setTimestamp(index++, cursorCreatedAt);
+        if (!row) {
+            nextPage.setTimestamp(index++, cursorCreatedAt);
+        }
+        nextPage.setLong(index++, cursorId);
+        nextPage.setInt(index, PAGE_SIZE + 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        nextPage.close();
+        connection.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public void nextPage(Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = nextPage.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(rs.getLong("id"));
+                blackhole.consume(rs.getString("title"));
+            }
+        }
+    }
+
+    // Каждые 10 задач делят один created_at, чтобы условие по id на границе курсора тоже работало
+    private void seed() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    insert into users (id, public_uid, email, password, first_name, last_name, role, created_at)
+                    values (1, 'bench', 'bench@example.org', 'x', 'Bench', 'User', 'MANAGER', now())
+                    """);
+            statement.execute("insert into teams (id, name, created_by_user_id, created_at) values (1, 'bench', 1, now())");
+            statement.execute("""
+                    insert into projects (id, name, owner_id, team_id, created_at)
+                    values (1, 'bench', 1, 1, now())
+                    """);
+            statement.execute("""
+                    insert into tasks (title, description, status, project_id, user_id, lexo_rank, created_at)
+                    select 'task ' || n, 'description', 'TODO', 1, 1, lpad(n::text, 10, '0'),
+                           timestamp '2024-01-01' + (n / 10) * interval '1 second'
+                    from generate_series(1, %d) n
+                    """.formatted(TASKS_PER_PROJECT));
+            statement.execute("vacuum analyze tasks");
+        }
+    }
+}
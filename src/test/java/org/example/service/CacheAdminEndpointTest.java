@@ -0,0 +1,146 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.TaskCacheProperties;
+import org.example.config.cache.CacheAdminEndpoint;
+import org.example.config.cache.CacheCircuitBreaker;
+import org.example.config.cache.CacheInvalidationHistory;
+import org.example.config.cache.CacheInvalidationService;
+import org.example.config.cache.CacheTag;
+import org.example.config.cache.CacheValueSizeStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheAdminEndpointTest {
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CacheValueSizeStatistics valueSizeStatistics;
+    private CacheInvalidationHistory invalidationHistory;
+    private CacheCircuitBreaker circuitBreaker;
+    private CacheAdminEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        valueSizeStatistics = new CacheValueSizeStatistics();
+        invalidationHistory = new CacheInvalidationHistory();
+
+        TaskCacheProperties cacheProperties = new TaskCacheProperties();
+        circuitBreaker = new CacheCircuitBreaker(redis, cacheProperties, meterRegistry);
+        circuitBreaker.initMetrics();
+
+        endpoint = new CacheAdminEndpoint(new ConcurrentMapCacheManager("taskPages", "commentPages"), redis,
+                meterRegistry, cacheProperties, valueSizeStatistics, invalidationHistory, cacheInvalidationService,
+                circuitBreaker);
+    }
+
+    @Test
+    void report_shouldCountL2MissesOnly_forLayeredCaches() {
+        meterRegistry.counter("task_manager_cache_requests_total",
+                "cache", "taskPages", "layer", "l1", "result", "hit").increment(6);
+        meterRegistry.counter("task_manager_cache_requests_total",
+                "cache", "taskPages", "layer", "l1", "result", "miss").increment(4);
+        meterRegistry.counter("task_manager_cache_requests_total",
+                "cache", "taskPages", "layer", "l2", "result", "hit").increment(2);
+        meterRegistry.counter("task_manager_cache_requests_total",
+                "cache", "taskPages", "layer", "l2", "result", "miss").increment(2);
+        when(redis.scan(any())).thenThrow(new RedisConnectionFailureException("down"));
+
+        CacheAdminEndpoint.CacheReport report = endpoint.report().caches().get("taskPages");
+
+        assertEquals(8, report.hits());
+        assertEquals(2, report.misses());
+        assertEquals(0.8, report.hitRatio(), 1e-9);
+        assertNull(report.redisEntries());
+    }
+
+    @Test
+    void report_shouldAverageWrittenValueSizes_andSummarizeInvalidations() {
+        valueSizeStatistics.onEntryWritten("taskPages", "taskPages::a", 100);
+        valueSizeStatistics.onEntryWritten("taskPages", "taskPages::b", 300);
+        invalidationHistory.record(List.of(CacheTag.project(1L)), 2_000_000, true);
+        invalidationHistory.record(List.of(CacheTag.task(2L)), 4_000_000, false);
+        when(redis.scan(any())).thenThrow(new RedisConnectionFailureException("down"));
+
+        CacheAdminEndpoint.CacheAdminReport report = endpoint.report();
+
+        assertEquals(200, report.caches().get("taskPages").averageValueSize());
+        assertEquals(2, report.invalidations().operations());
+        assertEquals(3_000, report.invalidations().averageMicros());
+        assertEquals(4_000, report.invalidations().maxMicros());
+        assertEquals(1, report.invalidations().failed());
+        assertEquals(List.of("task:2"), report.invalidations().recent().get(0).tags());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void report_shouldCountRedisEntriesPerCache() {
+        Cursor<String> keys = mock(Cursor.class);
+        when(keys.hasNext()).thenReturn(true, true, true, true, false);
+        when(keys.next()).thenReturn("taskPages::a", "taskPages::b", "commentPages::c", "otherCache::d");
+        when(redis.scan(any())).thenReturn(keys);
+
+        CacheAdminEndpoint.CacheAdminReport report = endpoint.report();
+
+        assertEquals(2, report.caches().get("taskPages").redisEntries());
+        assertEquals(1, report.caches().get("commentPages").redisEntries());
+        verify(keys).close();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void report_shouldNotTouchRedis_whenCircuitIsOpen() {
+        circuitBreaker.tripOpen("test");
+
+        CacheAdminEndpoint.CacheAdminReport report = endpoint.report();
+
+        assertNull(report.caches().get("taskPages").redisEntries());
+        assertNull(report.redis());
+        verify(redis, never()).scan(any());
+        verify(redis, never()).execute(any(RedisCallback.class));
+    }
+
+    @Test
+    void evict_shouldInvalidateEveryTagOfScope() {
+        endpoint.evict("project", 12L);
+        endpoint.evict("task", 4L);
+        endpoint.evict("user", 3L);
+        endpoint.evict("team", 8L);
+
+        verify(cacheInvalidationService).evictTaskPagesByProjectId(12L);
+        verify(cacheInvalidationService).evictCommentPagesByTaskId(4L);
+        verify(cacheInvalidationService).evictTaskHistory(4L);
+        verify(cacheInvalidationService).evictProjectPagesByUserId(3L);
+        verify(cacheInvalidationService).evictInvitationsByUserId(3L);
+        verify(cacheInvalidationService).evictTeamRelatedCaches(8L);
+        verifyNoMoreInteractions(cacheInvalidationService);
+    }
+
+    @Test
+    void evict_shouldRejectUnknownScope() {
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.evict("comment", 1L));
+        verifyNoInteractions(cacheInvalidationService);
+    }
+}
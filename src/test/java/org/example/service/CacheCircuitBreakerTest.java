@@ -0,0 +1,80 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.TaskCacheProperties;
+import org.example.config.cache.CacheCircuitBreaker;
+import org.example.config.cache.CacheUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CacheCircuitBreakerTest {
+
+    private StringRedisTemplate redis;
+    private CacheCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        redis = mock(StringRedisTemplate.class);
+
+        TaskCacheProperties cacheProperties = new TaskCacheProperties();
+        cacheProperties.setBreakerFailureThreshold(2);
+
+        circuitBreaker = new CacheCircuitBreaker(redis, cacheProperties, new SimpleMeterRegistry());
+        circuitBreaker.initMetrics();
+    }
+
+    @Test
+    void call_shouldOpenCircuit_afterConsecutiveFailures() {
+        for (int i = 0; i < 2; i++) {
+            assertThrows(RedisConnectionFailureException.class, () -> circuitBreaker.call(() -> {
+                throw new RedisConnectionFailureException("down");
+            }));
+        }
+
+        assertEquals(CacheCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertNotNull(circuitBreaker.getOpenedAt());
+
+        AtomicInteger calls = new AtomicInteger();
+        assertThrows(CacheUnavailableException.class, () -> circuitBreaker.call(calls::incrementAndGet));
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void call_shouldResetFailures_afterSuccess() {
+        assertThrows(IllegalStateException.class, () -> circuitBreaker.call(() -> {
+            throw new IllegalStateException("timeout");
+        }));
+        circuitBreaker.call(() -> "ok");
+        assertThrows(IllegalStateException.class, () -> circuitBreaker.call(() -> {
+            throw new IllegalStateException("timeout");
+        }));
+
+        assertTrue(circuitBreaker.isClosed());
+    }
+
+    @Test
+    void probe_shouldCloseCircuit_andRunRecoveryHandlers_whenRedisAnswers() {
+        AtomicInteger recovered = new AtomicInteger();
+        circuitBreaker.onRecovery(recovered::incrementAndGet);
+        circuitBreaker.tripOpen("test");
+
+        when(redis.execute(any(RedisCallback.class))).thenThrow(new RedisConnectionFailureException("down"));
+        circuitBreaker.probe();
+        assertFalse(circuitBreaker.isClosed());
+
+        doReturn("PONG").when(redis).execute(any(RedisCallback.class));
+        circuitBreaker.probe();
+
+        assertTrue(circuitBreaker.isClosed());
+        assertEquals(1, recovered.get());
+    }
+}
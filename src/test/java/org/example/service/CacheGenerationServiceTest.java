@@ -0,0 +1,148 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.TaskCacheProperties;
+import org.example.config.cache.CacheCircuitBreaker;
+import org.example.config.cache.CacheEvictionEngine;
+import org.example.config.cache.CacheGenerationService;
+import org.example.config.cache.CacheInvalidationService;
+import org.example.config.cache.CacheScopeResolver;
+import org.example.config.cache.CacheTag;
+import org.example.config.cache.CacheUnavailableException;
+import org.example.config.cache.GenerationCacheEvictionEngine;
+import org.example.config.cache.LocalCacheInvalidationBus;
+import org.example.config.cache.PageWriteThroughService;
+import org.example.config.cache.UniversalKeyGenerator;
+import org.example.entity.Role;
+import org.example.entity.UserEntity;
+import org.example.pagination.KeysetCursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Method;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheGenerationServiceTest {
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private LocalCacheInvalidationBus invalidationBus;
+
+    private CacheCircuitBreaker circuitBreaker;
+    private CacheGenerationService cacheGenerationService;
+    private Consumer<String> pageTagsHandler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        TaskCacheProperties cacheProperties = new TaskCacheProperties();
+
+        circuitBreaker = new CacheCircuitBreaker(redis, cacheProperties, new SimpleMeterRegistry());
+        circuitBreaker.initMetrics();
+
+        cacheGenerationService = new CacheGenerationService(redis, cacheProperties, invalidationBus, circuitBreaker);
+        cacheGenerationService.init();
+
+        ArgumentCaptor<Consumer<String>> handler = ArgumentCaptor.forClass(Consumer.class);
+        verify(invalidationBus).subscribe(eq(CacheInvalidationService.PAGE_TAGS_REGION), handler.capture());
+        pageTagsHandler = handler.getValue();
+
+        lenient().when(redis.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void current_shouldReadMissingCounterAsZero_andKeepLocalCopy() {
+        when(valueOperations.get("cacheGen::proj:1")).thenReturn(null);
+
+        assertEquals(0L, cacheGenerationService.current(CacheTag.project(1L)));
+        assertEquals(0L, cacheGenerationService.current(CacheTag.project(1L)));
+
+        verify(valueOperations, times(1)).get("cacheGen::proj:1");
+    }
+
+    @Test
+    void current_shouldRefetch_afterPageTagsBroadcast() {
+        when(valueOperations.get("cacheGen::proj:1")).thenReturn("3", "4");
+        when(valueOperations.get("cacheGen::task:2")).thenReturn("1");
+
+        assertEquals(3L, cacheGenerationService.current(CacheTag.project(1L)));
+        assertEquals(1L, cacheGenerationService.current(CacheTag.task(2L)));
+
+        pageTagsHandler.accept("proj:1");
+
+        assertEquals(4L, cacheGenerationService.current(CacheTag.project(1L)));
+        assertEquals(1L, cacheGenerationService.current(CacheTag.task(2L)));
+        verify(valueOperations, times(1)).get("cacheGen::task:2");
+    }
+
+    @Test
+    void current_shouldOpenBreaker_whenCounterCannotBeRead() {
+        when(valueOperations.get("cacheGen::proj:1")).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThrows(CacheUnavailableException.class, () -> cacheGenerationService.current(CacheTag.project(1L)));
+        assertFalse(circuitBreaker.isClosed());
+        assertThrows(CacheUnavailableException.class, () -> cacheGenerationService.current(CacheTag.project(1L)));
+
+        verify(valueOperations, times(1)).get("cacheGen::proj:1");
+    }
+
+    @Test
+    void bump_shouldReturnIncrementedCounter() {
+        when(valueOperations.increment("cacheGen::task:2")).thenReturn(5L);
+
+        assertEquals(5L, cacheGenerationService.bump(CacheTag.task(2L)));
+    }
+
+    // Инвалидация через движок меняет ключ: после INCR и рассылки тегов страница ищется под новым g
+    @Test
+    void evict_shouldChangeGeneratedKey() throws Exception {
+        CacheEvictionEngine engine = new GenerationCacheEvictionEngine(cacheGenerationService);
+        UniversalKeyGenerator keyGenerator = new UniversalKeyGenerator(engine, mock(CacheScopeResolver.class),
+                mock(PageWriteThroughService.class), new DefaultListableBeanFactory());
+
+        UserEntity user = UserEntity.builder().id(5L).role(Role.USER).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        Method method = CommentService.class.getMethod("getKeysetTaskComments",
+                Long.class, Integer.class, KeysetCursor.class);
+
+        when(valueOperations.get("cacheGen::task:4")).thenReturn(null, "1");
+        when(valueOperations.increment("cacheGen::task:4")).thenReturn(1L);
+
+        Object before = keyGenerator.generate(null, method, 4L, 20, null);
+
+        engine.evict(CacheTag.task(4L));
+        pageTagsHandler.accept("task:4");
+
+        Object after = keyGenerator.generate(null, method, 4L, 20, null);
+
+        assertEquals("getKeysetTaskComments|taskId=4|g=0|h=0|limit=20|first", before);
+        assertEquals("getKeysetTaskComments|taskId=4|g=1|h=0|limit=20|first", after);
+    }
+}
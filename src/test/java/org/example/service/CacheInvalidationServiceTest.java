@@ -0,0 +1,219 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.TaskCacheProperties;
+import org.example.config.cache.CacheCircuitBreaker;
+import org.example.config.cache.CacheEvictionEngine;
+import org.example.config.cache.CacheInvalidationHistory;
+import org.example.config.cache.CacheInvalidationService;
+import org.example.config.cache.CacheTag;
+import org.example.config.cache.LocalCacheInvalidationBus;
+import org.example.config.cache.MissedInvalidations;
+import org.example.config.cache.PageVersionService;
+import org.example.config.cache.PageWriteThroughService;
+import org.example.dto.TaskResponseDto;
+import org.example.repository.TeamMemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationServiceTest {
+
+    @Mock
+    private CacheEvictionEngine cacheEvictionEngine;
+
+    @Mock
+    private TeamMemberRepository teamMemberRepository;
+
+    @Mock
+    private LocalCacheInvalidationBus invalidationBus;
+
+    @Mock
+    private PageWriteThroughService pageWriteThroughService;
+
+    @Mock
+    private PageVersionService pageVersionService;
+
+    @Mock
+    private CacheCircuitBreaker circuitBreaker;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    private CacheInvalidationHistory invalidationHistory;
+    private MissedInvalidations missedInvalidations;
+
+    private CacheInvalidationService cacheInvalidationService;
+
+    @BeforeEach
+    void setUp() {
+        invalidationHistory = new CacheInvalidationHistory();
+        missedInvalidations = new MissedInvalidations(new TaskCacheProperties(), new SimpleMeterRegistry());
+        lenient().when(circuitBreaker.isClosed()).thenReturn(true);
+
+        cacheInvalidationService = new CacheInvalidationService(
+                cacheEvictionEngine, teamMemberRepository, invalidationBus, pageWriteThroughService, pageVersionService,
+                invalidationHistory, circuitBreaker, missedInvalidations, cacheManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(cacheInvalidationService);
+    }
+
+    @Test
+    void evict_shouldRunImmediately_whenNoTransaction() {
+        cacheInvalidationService.evictTaskPagesByProjectId(1L);
+
+        verify(cacheEvictionEngine).evict(CacheTag.project(1L));
+        verify(invalidationBus).broadcast(CacheInvalidationService.PAGE_TAGS_REGION, "proj:1");
+    }
+
+    @Test
+    void evict_shouldRecordFailedOperation_whenEngineFailsAfterCommit() {
+        doThrow(new IllegalStateException("redis down")).when(cacheEvictionEngine).evictAll(any());
+        TransactionSynchronizationManager.initSynchronization();
+
+        cacheInvalidationService.evictProjectPagesByUserId(3L);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+
+        List<CacheInvalidationHistory.Operation> recent = invalidationHistory.recent();
+        assertEquals(1, recent.size());
+        assertEquals(List.of("user:3"), recent.get(0).tags());
+        assertFalse(recent.get(0).succeeded());
+    }
+
+    @Test
+    void evict_shouldDeduplicateAndFlushOnce_afterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        cacheInvalidationService.evictTaskPagesByProjectId(1L);
+        cacheInvalidationService.evictCommentPagesByTaskId(5L);
+        cacheInvalidationService.evictTaskPagesByProjectId(1L);
+
+        verifyNoInteractions(cacheEvictionEngine);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+
+        verify(cacheEvictionEngine).evictAll(Set.of(CacheTag.project(1L), CacheTag.task(5L)));
+        verify(cacheEvictionEngine, never()).evict(any());
+        verify(invalidationBus).broadcast(CacheInvalidationService.PAGE_TAGS_REGION, "proj:1,task:5");
+        verify(pageVersionService).bumpAll(Set.of(CacheTag.project(1L), CacheTag.task(5L)));
+    }
+
+    @Test
+    void evictTeamRelatedCaches_shouldEvictOnlyMemberUserScopesAndTeamMembers() {
+        when(teamMemberRepository.findUserIdsByTeamId(7L)).thenReturn(List.of(1L, 2L));
+
+        cacheInvalidationService.evictTeamRelatedCaches(7L);
+
+        verify(cacheEvictionEngine).evict(CacheTag.user(1L));
+        verify(cacheEvictionEngine).evict(CacheTag.user(2L));
+        verify(cacheEvictionEngine).evict(CacheTag.team(7L));
+        verifyNoMoreInteractions(cacheEvictionEngine);
+    }
+
+    @Test
+    void taskCreated_shouldPatchPagesAfterCommit_whenWriteThroughEnabled() {
+        TaskResponseDto task = TaskResponseDto.builder().id(9L).build();
+        when(pageWriteThroughService.isEnabled()).thenReturn(true);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cacheInvalidationService.taskCreated(1L, task);
+
+        verifyNoInteractions(cacheEvictionEngine);
+        verify(pageWriteThroughService, never()).taskCreated(any(), any());
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+
+        verify(pageWriteThroughService).taskCreated(1L, task);
+        verify(pageVersionService).bumpAll(List.of(CacheTag.project(1L)));
+        verifyNoInteractions(cacheEvictionEngine);
+    }
+
+    @Test
+    void taskCreated_shouldEvictProjectPages_whenWriteThroughDisabled() {
+        when(pageWriteThroughService.isEnabled()).thenReturn(false);
+
+        cacheInvalidationService.taskCreated(1L, TaskResponseDto.builder().id(9L).build());
+
+        verify(cacheEvictionEngine).evict(CacheTag.project(1L));
+    }
+
+    @Test
+    void evict_shouldSkipEviction_whenTransactionRolledBack() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        cacheInvalidationService.evictProjectPagesByUserId(3L);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(cacheEvictionEngine);
+        verifyNoInteractions(invalidationBus);
+        verifyNoInteractions(pageVersionService);
+    }
+
+    @Test
+    void evict_shouldQueueTags_andReplayThemOnRecovery_whenCircuitIsOpen() {
+        when(circuitBreaker.isClosed()).thenReturn(false);
+
+        cacheInvalidationService.evictTaskPagesByProjectId(1L);
+        cacheInvalidationService.evictCommentPagesByTaskId(5L);
+
+        verifyNoInteractions(cacheEvictionEngine);
+        verifyNoInteractions(invalidationBus);
+        assertEquals(2, missedInvalidations.size());
+
+        when(circuitBreaker.isClosed()).thenReturn(true);
+        cacheInvalidationService.replayMissedInvalidations();
+
+        verify(cacheEvictionEngine).evictAll(Set.of(CacheTag.project(1L), CacheTag.task(5L)));
+        verify(pageVersionService).bumpAll(Set.of(CacheTag.project(1L), CacheTag.task(5L)));
+        assertEquals(0, missedInvalidations.size());
+    }
+
+    @Test
+    void evict_shouldQueueTags_whenRedisFailsWithClosedCircuit() {
+        doThrow(new IllegalStateException("timeout")).when(cacheEvictionEngine).evict(CacheTag.user(3L));
+
+        cacheInvalidationService.evictProjectPagesByUserId(3L);
+
+        assertEquals(1, missedInvalidations.size());
+    }
+
+    @Test
+    void replay_shouldClearAllCaches_whenMissedInvalidationsOverflowed() {
+        Cache taskPages = mock(Cache.class);
+        when(cacheManager.getCacheNames()).thenReturn(List.of("taskPages"));
+        when(cacheManager.getCache("taskPages")).thenReturn(taskPages);
+        missedInvalidations.markOverflowed();
+
+        cacheInvalidationService.replayMissedInvalidations();
+
+        verify(taskPages).clear();
+        verify(pageVersionService).bumpEpoch();
+        verifyNoInteractions(cacheEvictionEngine);
+    }
+}
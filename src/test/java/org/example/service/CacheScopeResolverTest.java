@@ -0,0 +1,79 @@
+package org.example.service;
+
+import org.example.config.TaskCacheProperties;
+import org.example.config.cache.CacheScopeResolver;
+import org.example.entity.TeamMemberEntity;
+import org.example.entity.TeamRole;
+import org.example.entity.UserEntity;
+import org.example.exception.ForbiddenException;
+import org.example.repository.ProjectRepository;
+import org.example.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheScopeResolverTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TeamAccessService teamAccessService;
+
+    private CacheScopeResolver cacheScopeResolver;
+
+    private final UserEntity user = UserEntity.builder()
+            .id(5L)
+            .email("test@mail.ru")
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        cacheScopeResolver = new CacheScopeResolver(
+                projectRepository, taskRepository, teamAccessService, new TaskCacheProperties());
+        cacheScopeResolver.init();
+    }
+
+    @Test
+    void taskPageView_shouldBeSharedForManagers_andResolveTeamOnce() {
+        when(projectRepository.findTeamIdById(1L)).thenReturn(Optional.of(10L));
+        when(teamAccessService.getMembershipOrThrow(argThat(team -> team.getId().equals(10L)), any()))
+                .thenReturn(TeamMemberEntity.builder().role(TeamRole.MANAGER).build());
+
+        assertEquals(CacheScopeResolver.VIEW_ALL, cacheScopeResolver.taskPageView(1L, user));
+        assertEquals(CacheScopeResolver.VIEW_ALL, cacheScopeResolver.taskPageView(1L, user));
+
+        verify(projectRepository, times(1)).findTeamIdById(1L);
+    }
+
+    @Test
+    void taskPageView_shouldBePerAssignee_forMembers() {
+        when(projectRepository.findTeamIdById(1L)).thenReturn(Optional.of(10L));
+        when(teamAccessService.getMembershipOrThrow(any(), any()))
+                .thenReturn(TeamMemberEntity.builder().role(TeamRole.MEMBER).build());
+
+        assertEquals("ASSIGNEE:5", cacheScopeResolver.taskPageView(1L, user));
+    }
+
+    @Test
+    void checkCommentAccess_shouldRejectNonMembers_beforeCacheLookup() {
+        when(taskRepository.findTeamIdById(3L)).thenReturn(Optional.of(10L));
+        when(teamAccessService.getMembershipOrThrow(any(), any()))
+                .thenThrow(new ForbiddenException("not a member"));
+
+        assertThrows(ForbiddenException.class, () -> cacheScopeResolver.checkCommentAccess(3L, user));
+    }
+}
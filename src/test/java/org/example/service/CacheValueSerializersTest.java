@@ -0,0 +1,62 @@
+package org.example.service;
+
+import org.example.config.cache.CacheValueSerializers;
+import org.example.dto.CommentResponseDto;
+import org.example.dto.TaskResponseDto;
+import org.example.entity.Status;
+import org.example.pagination.KeysetPageResponseDto;
+import org.example.pagination.KeysetSort;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheValueSerializersTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    // Полиморфный JSON не прощает неизвестных полей: лишний геттер в элементе страницы ломает чтение
+    @Test
+    void polymorphicJson_shouldRoundTripCommentPage() {
+        RedisSerializer<Object> serializer = CacheValueSerializers.polymorphicJson();
+        KeysetPageResponseDto<CommentResponseDto> page = page(CommentResponseDto.builder()
+                .id(1L)
+                .text("text")
+                .taskId(2L)
+                .authorId(3L)
+                .createdAt(CREATED_AT)
+                .build());
+
+        byte[] bytes = serializer.serialize(page);
+
+        assertFalse(new String(bytes, StandardCharsets.UTF_8).contains("lexoRank"));
+        assertEquals(page, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void polymorphicJson_shouldRoundTripRankOfTaskPage() {
+        RedisSerializer<Object> serializer = CacheValueSerializers.polymorphicJson();
+        KeysetPageResponseDto<TaskResponseDto> page = page(TaskResponseDto.builder()
+                .id(1L)
+                .title("title")
+                .status(Status.TODO)
+                .projectId(2L)
+                .lexoRank("mnq")
+                .createdAt(CREATED_AT)
+                .build());
+
+        assertEquals(page, serializer.deserialize(serializer.serialize(page)));
+    }
+
+    private static <T> KeysetPageResponseDto<T> page(T item) {
+        return KeysetPageResponseDto.<T>builder()
+                .items(List.of(item))
+                .limit(20)
+                .sort(KeysetSort.CREATED_AT_DESC.value())
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.TaskCacheProperties;
+import org.example.config.cache.CacheBypassKey;
+import org.example.config.cache.CacheCircuitBreaker;
+import org.example.config.cache.CircuitBreakingCacheManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class CircuitBreakingCacheManagerTest {
+
+    private ConcurrentMapCacheManager delegate;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        CacheCircuitBreaker circuitBreaker = new CacheCircuitBreaker(
+                mock(StringRedisTemplate.class), new TaskCacheProperties(), new SimpleMeterRegistry());
+        circuitBreaker.initMetrics();
+
+        delegate = new ConcurrentMapCacheManager("taskPages");
+        cache = new CircuitBreakingCacheManager(delegate, circuitBreaker).getCache("taskPages");
+    }
+
+    // Ключ, выданный при открытом предохранителе, не попадает в кэш и после его закрытия
+    @Test
+    void get_shouldCallLoaderWithoutCaching_forBypassKey() {
+        Object key = new CacheBypassKey("getKeysetTasksByProject");
+
+        assertEquals("page", cache.get(key, () -> "page"));
+        cache.put(key, "page");
+
+        assertNull(cache.get(key));
+        assertTrue(((Map<?, ?>) delegate.getCache("taskPages").getNativeCache()).isEmpty());
+    }
+
+    @Test
+    void get_shouldUseCache_forRegularKey_whenCircuitIsClosed() {
+        assertEquals("page", cache.get("key", () -> "page"));
+        assertEquals("page", cache.get("key", () -> "other"));
+    }
+}
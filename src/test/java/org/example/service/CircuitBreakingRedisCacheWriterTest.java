@@ -0,0 +1,79 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.TaskCacheProperties;
+import org.example.config.cache.CacheBypassKey;
+import org.example.config.cache.CacheCircuitBreaker;
+import org.example.config.cache.CircuitBreakingRedisCacheWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CircuitBreakingRedisCacheWriterTest {
+
+    @Mock
+    private RedisCacheWriter delegate;
+
+    private CacheCircuitBreaker circuitBreaker;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new CacheCircuitBreaker(
+                mock(StringRedisTemplate.class), new TaskCacheProperties(), new SimpleMeterRegistry());
+        circuitBreaker.initMetrics();
+
+        RedisCacheManager cacheManager = RedisCacheManager.builder(
+                new CircuitBreakingRedisCacheWriter(delegate, circuitBreaker)).build();
+        cacheManager.afterPropertiesSet();
+        cache = cacheManager.getCache("taskPages");
+    }
+
+    // Без L1 менеджер не обернут CircuitBreakingCacheManager: ключ обхода отсекает сам writer
+    @Test
+    void shouldNotTouchRedis_forBypassKey_whenCircuitIsClosed() {
+        Object key = new CacheBypassKey("getKeysetTasksByProject");
+
+        assertNull(cache.get(key));
+        assertEquals("page", cache.get(key, () -> "page"));
+        cache.put(key, "page");
+        cache.putIfAbsent(key, "page");
+        cache.evict(key);
+
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void shouldWriteRegularKey_whenCircuitIsClosed() {
+        cache.put("getKeysetTasksByProject|projId=1|g=0", "page");
+
+        verify(delegate).put(eq("taskPages"),
+                eq("taskPages::getKeysetTasksByProject|projId=1|g=0".getBytes(StandardCharsets.UTF_8)),
+                any(byte[].class), any(Duration.class));
+    }
+
+    @Test
+    void shouldSkipRegularKey_whenCircuitIsOpen() {
+        circuitBreaker.tripOpen("test");
+
+        assertNull(cache.get("key"));
+        cache.put("key", "page");
+
+        verifyNoInteractions(delegate);
+    }
+}
@@ -0,0 +1,171 @@
+package org.example.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.config.cache.CacheInvalidationService;
+import org.example.entity.*;
+import org.example.repository.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// L2-кэш работает между транзакциями, поэтому тест не @Transactional: данные коммитятся
+// в setUp и удаляются в tearDown, каждый вызов сервиса идет в своей сессии
+@Testcontainers
+@ActiveProfiles("test")
+public class EntityCacheIT extends IntegrationTestBase {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private CacheInvalidationService cacheInvalidationService;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+
+    private UserEntity user;
+    private TeamEntity team;
+    private TaskEntity task;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            user = userRepository.save(UserEntity.builder()
+                    .publicUid("L2CACHE001")
+                    .email("l2-cache@mail.ru")
+                    .password("testtest")
+                    .firstName("test")
+                    .lastName("test")
+                    .role(Role.MANAGER)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+
+            team = teamRepository.save(TeamEntity.builder()
+                    .name("L2 Team")
+                    .createdBy(user)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+
+            ProjectEntity project = projectRepository.save(ProjectEntity.builder()
+                    .name("L2 Project")
+                    .description("L2 Project")
+                    .owner(user)
+                    .team(team)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+
+            teamMemberRepository.save(TeamMemberEntity.builder()
+                    .team(team)
+                    .user(user)
+                    .role(TeamRole.MANAGER)
+                    .joinedAt(LocalDateTime.now())
+                    .build());
+
+            task = taskRepository.save(TaskEntity.builder()
+                    .title("title")
+                    .description("description")
+                    .status(Status.TODO)
+                    .project(project)
+                    .assignee(user)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        });
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+
+        jdbcTemplate.update("delete from tasks_history where task_id = ?", task.getId());
+        jdbcTemplate.update("delete from tasks where id = ?", task.getId());
+        jdbcTemplate.update("delete from team_members where team_id = ?", team.getId());
+        jdbcTemplate.update("delete from projects where team_id = ?", team.getId());
+        jdbcTemplate.update("delete from teams where id = ?", team.getId());
+        jdbcTemplate.update("delete from users where id = ?", user.getId());
+
+        // Строки удалены мимо Hibernate, их копии в L2 больше не нужны
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    // Повторная смена статуса берет задачу, проект и команду из L2: в БД уходят только UPDATE задачи
+    // и INSERT истории
+    @Test
+    void changeStatus_shouldReadTaskChainFromSecondLevelCache_whenRepeated() {
+        taskService.changeStatus(task.getId(), Status.IN_PROGRESS);
+
+        statistics.clear();
+
+        taskService.changeStatus(task.getId(), Status.TODO);
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getQueryExecutionCount());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getSecondLevelCacheMissCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("tasks").getHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("projects").getHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("teams").getHitCount());
+
+        assertEquals(Status.TODO, taskRepository.findById(task.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void findByTeamIdAndUserId_shouldResolveNaturalIdFromCache_whenRepeated() {
+        TeamMemberEntity first = teamMemberRepository.findByTeamIdAndUserId(team.getId(), user.getId())
+                .orElseThrow();
+
+        statistics.clear();
+
+        TeamMemberEntity second = teamMemberRepository.findByTeamIdAndUserId(team.getId(), user.getId())
+                .orElseThrow();
+
+        assertEquals(first.getId(), second.getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getNaturalIdCacheHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("teamMembers").getHitCount());
+    }
+}
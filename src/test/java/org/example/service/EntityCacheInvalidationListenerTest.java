@@ -0,0 +1,136 @@
+package org.example.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.config.cache.EntityCacheInvalidationListener;
+import org.example.config.cache.LocalCacheInvalidationBus;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.metamodel.spi.MappingMetamodelImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EntityCacheInvalidationListenerTest {
+
+    private static final String TASK = "org.example.entity.TaskEntity";
+    private static final String TEAM_MEMBER = "org.example.entity.TeamMemberEntity";
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactoryImplementor sessionFactory;
+
+    @Mock
+    private ServiceRegistryImplementor serviceRegistry;
+
+    @Mock
+    private EventListenerRegistry eventListenerRegistry;
+
+    @Mock
+    private LocalCacheInvalidationBus invalidationBus;
+
+    @Mock
+    private CacheImplementor cache;
+
+    @Mock
+    private MappingMetamodelImplementor mappingMetamodel;
+
+    @Mock
+    private EntityPersister persister;
+
+    private EntityCacheInvalidationListener listener;
+    private Consumer<String> handler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getServiceRegistry()).thenReturn(serviceRegistry);
+        when(serviceRegistry.getService(EventListenerRegistry.class)).thenReturn(eventListenerRegistry);
+
+        listener = new EntityCacheInvalidationListener(entityManagerFactory, invalidationBus);
+        listener.init();
+
+        verify(eventListenerRegistry).appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        verify(eventListenerRegistry).appendListeners(EventType.POST_COMMIT_DELETE, listener);
+
+        ArgumentCaptor<Consumer<String>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(invalidationBus).subscribe(eq(EntityCacheInvalidationListener.REGION), captor.capture());
+        handler = captor.getValue();
+    }
+
+    @Test
+    void onPostUpdate_shouldPublishEntityNameAndId() {
+        PostUpdateEvent event = mock(PostUpdateEvent.class);
+        when(event.getPersister()).thenReturn(persister);
+        when(event.getId()).thenReturn(42L);
+        when(persister.getEntityName()).thenReturn(TASK);
+
+        listener.onPostUpdate(event);
+
+        verify(invalidationBus).publish(EntityCacheInvalidationListener.REGION, TASK + "|42");
+    }
+
+    @Test
+    void evictLocal_shouldEvictEntityOnly_whenEntityHasNoNaturalIdCache() {
+        when(sessionFactory.getCache()).thenReturn(cache);
+        when(sessionFactory.getMappingMetamodel()).thenReturn(mappingMetamodel);
+        when(mappingMetamodel.findEntityDescriptor(TASK)).thenReturn(persister);
+        when(persister.hasNaturalIdCache()).thenReturn(false);
+
+        handler.accept(TASK + "|42");
+
+        verify(cache).evictEntityData(TASK, 42L);
+        verify(cache, never()).evictNaturalIdData(anyString());
+    }
+
+    @Test
+    void evictLocal_shouldDropNaturalIdRegion_whenEntityHasNaturalIdCache() {
+        when(sessionFactory.getCache()).thenReturn(cache);
+        when(sessionFactory.getMappingMetamodel()).thenReturn(mappingMetamodel);
+        when(mappingMetamodel.findEntityDescriptor(TEAM_MEMBER)).thenReturn(persister);
+        when(persister.hasNaturalIdCache()).thenReturn(true);
+
+        handler.accept(TEAM_MEMBER + "|7");
+
+        verify(cache).evictEntityData(TEAM_MEMBER, 7L);
+        verify(cache).evictNaturalIdData(TEAM_MEMBER);
+    }
+
+    @Test
+    void evictLocal_shouldSkipNaturalIds_whenEntityIsUnknown() {
+        when(sessionFactory.getCache()).thenReturn(cache);
+        when(sessionFactory.getMappingMetamodel()).thenReturn(mappingMetamodel);
+        when(mappingMetamodel.findEntityDescriptor("org.example.entity.Removed")).thenReturn(null);
+
+        handler.accept("org.example.entity.Removed|3");
+
+        verify(cache).evictEntityData("org.example.entity.Removed", 3L);
+        verify(cache, never()).evictNaturalIdData(anyString());
+    }
+
+    @Test
+    void evictLocal_shouldIgnoreMalformedPayload() {
+        assertDoesNotThrow(() -> handler.accept(TASK));
+        assertDoesNotThrow(() -> handler.accept(TASK + "|"));
+        assertDoesNotThrow(() -> handler.accept(TASK + "|not-a-number"));
+
+        verify(sessionFactory, never()).getCache();
+        verify(sessionFactory, never()).getMappingMetamodel();
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.service;
+
+import org.example.config.JwtProperties;
+import org.example.config.cache.LocalCacheInvalidationBus;
+import org.example.entity.Role;
+import org.example.entity.UserEntity;
+import org.example.repository.UserRepository;
+import org.example.security.principal.JwtPrincipalResolver;
+import org.example.security.principal.UserSnapshotCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtPrincipalResolverTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private LocalCacheInvalidationBus invalidationBus;
+
+    private JwtProperties properties;
+    private JwtService jwtService;
+    private UserSnapshotCache userSnapshotCache;
+    private JwtPrincipalResolver resolver;
+
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        properties = new JwtProperties();
+        properties.setSecret("test-secret-test-secret-test-secret-test-secret-test-secret");
+        properties.setAccessTokenExpiration(Duration.ofMinutes(15));
+        properties.setRefreshTokenExpiration(Duration.ofDays(1));
+
+        jwtService = new JwtService(properties);
+        jwtService.init();
+
+        userSnapshotCache = new UserSnapshotCache(userRepository, properties, invalidationBus);
+        userSnapshotCache.init();
+
+        resolver = new JwtPrincipalResolver(jwtService, properties, userSnapshotCache, userDetailsService);
+
+        user = UserEntity.builder()
+                .id(7L)
+                .publicUid("ABCDEF1234")
+                .email("test@mail.ru")
+                .password("hash")
+                .firstName("Test")
+                .lastName("Test")
+                .role(Role.USER)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void resolve_shouldLoadSnapshotOnce_whenSameUserAuthenticatesTwice() {
+
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+
+        String token = jwtService.generateAccessToken(user);
+
+        UserDetails first = resolver.resolve(token).orElseThrow();
+        UserDetails second = resolver.resolve(token).orElseThrow();
+
+        assertInstanceOf(UserEntity.class, first);
+        assertEquals(7L, ((UserEntity) first).getId());
+        assertEquals("test@mail.ru", second.getUsername());
+        assertNotSame(first, second);
+
+        verify(userRepository, times(1)).findById(7L);
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void resolve_shouldReloadSnapshot_afterEviction() {
+
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+
+        String token = jwtService.generateAccessToken(user);
+
+        resolver.resolve(token);
+        userSnapshotCache.evict(7L);
+        resolver.resolve(token);
+
+        verify(userRepository, times(2)).findById(7L);
+    }
+
+    @Test
+    void resolve_shouldReturnEmpty_whenPublicUidDoesNotMatch() {
+
+        UserEntity other = UserEntity.builder()
+                .id(7L)
+                .publicUid("ZZZZZZZZZZ")
+                .email("other@mail.ru")
+                .role(Role.USER)
+                .build();
+
+        when(userRepository.findById(7L)).thenReturn(Optional.of(other));
+
+        String token = jwtService.generateAccessToken(user);
+
+        assertTrue(resolver.resolve(token).isEmpty());
+    }
+
+    @Test
+    void resolve_shouldUseUserDetailsService_whenDatabaseModeIsConfigured() {
+
+        properties.setPrincipalSource(JwtProperties.PrincipalSource.DATABASE);
+        when(userDetailsService.loadUserByUsername("test@mail.ru")).thenReturn(user);
+
+        String token = jwtService.generateAccessToken(user);
+
+        assertEquals(user, resolver.resolve(token).orElseThrow());
+        verifyNoInteractions(userRepository);
+    }
+}
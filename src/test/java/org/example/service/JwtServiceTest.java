@@ -0,0 +1,115 @@
+package org.example.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.example.config.JwtProperties;
+import org.example.entity.Role;
+import org.example.entity.UserEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-test-secret-test-secret";
+
+    private JwtService jwtService;
+
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setAccessTokenExpiration(Duration.ofMinutes(15));
+        properties.setRefreshTokenExpiration(Duration.ofDays(1));
+        properties.setVerifiedTokenCacheSize(100);
+
+        jwtService = new JwtService(properties);
+        jwtService.init();
+
+        user = UserEntity.builder()
+                .id(1L)
+                .publicUid("ABCDEF1234")
+                .email("test@mail.ru")
+                .role(Role.USER)
+                .build();
+    }
+
+    @Test
+    void generateAccessToken_shouldCarryUserIdPublicUidAndRole() {
+
+        String token = jwtService.generateAccessToken(user);
+
+        Claims claims = jwtService.parseVerifiedClaims(token).orElseThrow();
+
+        assertEquals(Optional.of(1L), jwtService.extractUserId(claims));
+        assertEquals("ABCDEF1234", claims.get(JwtService.CLAIM_PUBLIC_UID, String.class));
+        assertEquals("USER", claims.get(JwtService.CLAIM_ROLE, String.class));
+    }
+
+    @Test
+    void generateRefreshToken_shouldNotCarryUserId() {
+
+        String token = jwtService.generateRefreshToken(user);
+
+        Claims claims = jwtService.parseVerifiedClaims(token).orElseThrow();
+
+        assertTrue(jwtService.extractUserId(claims).isEmpty());
+    }
+
+    @Test
+    void parseVerifiedClaims_shouldReturnSameClaims_whenTokenParsedTwice() {
+
+        String token = jwtService.generateAccessToken(user);
+
+        Optional<Claims> first = jwtService.parseVerifiedClaims(token);
+        Optional<Claims> second = jwtService.parseVerifiedClaims(token);
+
+        assertTrue(first.isPresent());
+        assertTrue(second.isPresent());
+        assertSame(first.get(), second.get());
+        assertEquals("test@mail.ru", jwtService.extractUsername(token));
+    }
+
+    @Test
+    void parseVerifiedClaims_shouldReturnEmpty_whenSignatureIsInvalid() {
+
+        String token = Jwts.builder()
+                .setSubject("test@mail.ru")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(
+                        "another-secret-another-secret-another-secret-another".getBytes(StandardCharsets.UTF_8)),
+                        SignatureAlgorithm.HS256)
+                .compact();
+
+        assertTrue(jwtService.parseVerifiedClaims(token).isEmpty());
+        assertFalse(jwtService.isTokenValid(token));
+    }
+
+    @Test
+    void parseVerifiedClaims_shouldReturnEmpty_whenTokenIsExpired() {
+
+        String token = Jwts.builder()
+                .setSubject("test@mail.ru")
+                .setExpiration(new Date(System.currentTimeMillis() - 1_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertTrue(jwtService.parseVerifiedClaims(token).isEmpty());
+    }
+
+    @Test
+    void parseVerifiedClaims_shouldReturnEmpty_whenTokenIsBlank() {
+        assertTrue(jwtService.parseVerifiedClaims(" ").isEmpty());
+        assertTrue(jwtService.parseVerifiedClaims(null).isEmpty());
+    }
+}
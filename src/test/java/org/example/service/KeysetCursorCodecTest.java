@@ -0,0 +1,78 @@
+package org.example.service;
+
+import org.example.config.PaginationProperties;
+import org.example.pagination.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorCodecTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 5, 1, 12, 0, 0, 123_456_789);
+
+    private KeysetCursorCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        codec = new KeysetCursorCodec(properties("test-secret"));
+    }
+
+    @Test
+    void decode_shouldRestoreEncodedCursor() {
+        KeysetCursor cursor = new KeysetCursor(PaginationMode.PREVIOUS,
+                KeysetListing.projectTasks(1L).hash(), CREATED_AT, 42L);
+
+        String token = codec.encode(cursor);
+
+        assertEquals(48, token.length());
+        assertEquals(cursor, codec.decode(token));
+        assertNull(codec.decode(null));
+        assertNull(codec.decode(" "));
+    }
+
+    @Test
+    void decode_shouldRestoreRankOfRankedListing() {
+        KeysetListing listing = new KeysetListing(KeysetSort.LEXO_RANK_ASC, "projectId=1");
+        KeysetCursor cursor = new KeysetCursor(PaginationMode.NEXT, listing.hash(), CREATED_AT, 42L, "mnq");
+
+        KeysetCursor decoded = codec.decode(codec.encode(cursor));
+
+        assertEquals(cursor, decoded);
+        assertEquals("mnq", decoded.lexoRank());
+    }
+
+    @Test
+    void decode_shouldRejectTamperedOrForeignToken() {
+        String token = codec.encode(new KeysetCursor(PaginationMode.NEXT,
+                KeysetListing.projectTasks(1L).hash(), CREATED_AT, 42L));
+
+        char last = token.charAt(20);
+        String tampered = token.substring(0, 20) + (last == 'A' ? 'B' : 'A') + token.substring(21);
+        KeysetCursorCodec foreign = new KeysetCursorCodec(properties("other-secret"));
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(tampered));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> foreign.decode(token));
+    }
+
+    @Test
+    void cursorMode_shouldRejectCursorOfAnotherListing() {
+        KeysetPaginationUtils utils = new KeysetPaginationUtils();
+        KeysetCursor cursor = new KeysetCursor(PaginationMode.NEXT,
+                KeysetListing.projectTasks(1L).hash(), CREATED_AT, 42L);
+
+        assertEquals(PaginationMode.FIRST, utils.cursorMode(null, KeysetListing.projectTasks(1L)));
+        assertEquals(PaginationMode.NEXT, utils.cursorMode(cursor, KeysetListing.projectTasks(1L)));
+        assertThrows(IllegalArgumentException.class,
+                () -> utils.cursorMode(cursor, KeysetListing.projectTasks(2L)));
+    }
+
+    private static PaginationProperties properties(String secret) {
+        PaginationProperties properties = new PaginationProperties();
+        properties.setCursorSecret(secret);
+        return properties;
+    }
+}
@@ -0,0 +1,202 @@
+package org.example.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Проверяет, что запросы репозиториев обслуживаются индексами из db/migration без узла Sort.
+// SQL повторяет то, что Hibernate генерирует из @Query / derived-методов. Таблицы пустые, поэтому
+// seqscan и bitmapscan выключены: иначе планировщик выберет их по стоимости, а не по наличию индекса
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("test")
+public class KeysetIndexIT extends IntegrationTestBase {
+
+    private static final String CURSOR = "timestamp '2024-01-01 12:00:00'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @Transactional
+    void taskPages_shouldUseIndexWithoutSort() {
+        assertIndexScanWithoutSort("""
+                select * from tasks t
+                where t.project_id = 1
+                order by t.created_at desc, t.id desc
+                limit 21
+                """);
+
+        assertIndexBoundedByCursor("""
+                select * from tasks t
+                where t.project_id = 1
+                  and (t.created_at, t.id) < (%s, 100)
+                order by t.created_at desc, t.id desc
+                limit 21
+                """.formatted(CURSOR));
+    }
+
+    @Test
+    @Transactional
+    void assigneeTaskPages_shouldUseIndexWithoutSort() {
+        assertIndexScanWithoutSort("""
+                select * from tasks t
+                where t.project_id = 1 and t.user_id = 2
+                order by t.created_at desc, t.id desc
+                limit 21
+                """);
+
+        assertIndexBoundedByCursor("""
+                select * from tasks t
+                where t.project_id = 1 and t.user_id = 2
+                  and (t.created_at, t.id) < (%s, 100)
+                order by t.created_at desc, t.id desc
+                limit 21
+                """.formatted(CURSOR));
+    }
+
+    // Страницы TaskRepositoryCustomImpl.findPageByFilter
+    @Test
+    @Transactional
+    void filteredTaskPages_shouldUseIndexWithoutSort() {
+        assertIndexBoundedByCursor("""
+                select * from tasks t
+                where t.project_id = 1 and t.status = 'TODO'
+                  and (t.created_at, t.id) < (%s, 100)
+                order by t.created_at desc, t.id desc
+                limit 21
+                """.formatted(CURSOR));
+
+        assertIndexBoundedByCursor("""
+                select * from tasks t
+                where t.project_id = 1
+                  and t.created_at >= timestamp '2024-01-01' and t.created_at < timestamp '2024-02-01'
+                  and (t.created_at, t.id) > (%s, 100)
+                order by t.created_at asc, t.id asc
+                limit 21
+                """.formatted(CURSOR));
+
+        assertIndexScanWithoutSort("""
+                select * from tasks t
+                where t.project_id = 1 and t.user_id = 2 and t.status = 'TODO'
+                order by t.created_at desc, t.id desc
+                limit 21
+                """);
+    }
+
+    @Test
+    @Transactional
+    void rankTaskPages_shouldUseIndexWithoutSort() {
+        assertIndexBoundedByCursor("""
+                select * from tasks t
+                where t.project_id = 1
+                  and (t.lexo_rank, t.id) > ('m', 100)
+                order by t.lexo_rank asc, t.id asc
+                limit 21
+                """, "ROW(lexo_rank, id)");
+
+        assertIndexBoundedByCursor("""
+                select * from tasks t
+                where t.project_id = 1 and t.status = 'IN_PROGRESS'
+                  and (t.lexo_rank, t.id) < ('m', 100)
+                order by t.lexo_rank desc, t.id desc
+                limit 21
+                """, "ROW(lexo_rank, id)");
+
+        assertIndexBoundedByCursor("""
+                select * from tasks t
+                where t.project_id = 1 and t.user_id = 2
+                  and (t.lexo_rank, t.id) >= ('m', 100)
+                order by t.lexo_rank asc, t.id asc
+                limit 21
+                """, "ROW(lexo_rank, id)");
+    }
+
+    @Test
+    @Transactional
+    void commentPages_shouldUseIndexWithoutSort() {
+        assertIndexScanWithoutSort("""
+                select * from comments c
+                where c.task_id = 1
+                order by c.created_at desc, c.id desc
+                limit 21
+                """);
+
+        assertIndexBoundedByCursor("""
+                select * from comments c
+                where c.task_id = 1
+                  and (c.created_at, c.id) < (%s, 100)
+                order by c.created_at desc, c.id desc
+                limit 21
+                """.formatted(CURSOR));
+    }
+
+    // Для нескольких команд in (...) дает Sort top-N поверх индексного поиска - это ожидаемо,
+    // проверяется самый частый случай пользователя в одной команде
+    @Test
+    @Transactional
+    void projectPages_shouldUseIndexWithoutSort() {
+        assertIndexScanWithoutSort("""
+                select * from projects p
+                where p.team_id in (1)
+                order by p.created_at desc, p.id desc
+                limit 21
+                """);
+
+        assertIndexBoundedByCursor("""
+                select * from projects p
+                where p.team_id in (1)
+                  and (p.created_at, p.id) < (%s, 100)
+                order by p.created_at desc, p.id desc
+                limit 21
+                """.formatted(CURSOR));
+    }
+
+    @Test
+    @Transactional
+    void lookupQueries_shouldUseIndex() {
+        assertIndexScanWithoutSort("select * from tasks_history h where h.task_id = 1 order by h.changed_at asc");
+        assertIndexScanWithoutSort("select * from team_members tm where tm.user_id = 1");
+        assertIndexScanWithoutSort("select tm.user_id from team_members tm where tm.team_id = 1");
+        assertIndexScanWithoutSort("select * from team_invitations i where i.invited_user_id = 1 and i.status = 'PENDING'");
+        assertIndexScanWithoutSort("""
+                select * from team_invitations i
+                where i.team_id = 1 and i.invited_user_id = 2
+                order by i.created_at desc
+                limit 1
+                """);
+    }
+
+    // Курсор (created_at, id) < (?, ?) должен попасть в Index Cond как граница диапазона, а не в Filter
+    private void assertIndexBoundedByCursor(String sql) {
+        assertIndexBoundedByCursor(sql, "ROW(created_at, id)");
+    }
+
+    private void assertIndexBoundedByCursor(String sql, String key) {
+        String text = assertIndexScanWithoutSort(sql);
+
+        assertTrue(text.lines().anyMatch(line -> line.contains("Index Cond") && line.contains(key)),
+                () -> "Expected cursor in index condition for:\n" + sql + "\nPlan:\n" + text);
+    }
+
+    private String assertIndexScanWithoutSort(String sql) {
+        jdbcTemplate.execute("set local enable_seqscan = off");
+        jdbcTemplate.execute("set local enable_bitmapscan = off");
+
+        List<String> plan = jdbcTemplate.queryForList("explain " + sql, String.class);
+        String text = String.join("\n", plan);
+
+        assertTrue(text.contains("Index Scan") || text.contains("Index Only Scan"),
+                () -> "Expected index scan for:\n" + sql + "\nPlan:\n" + text);
+        assertFalse(text.contains("Sort"), () -> "Unexpected sort for:\n" + sql + "\nPlan:\n" + text);
+        return text;
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.service;
+
+import org.example.pagination.KeysetSort;
+import org.example.pagination.PaginationMode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetSortTest {
+
+    @Test
+    void parse_shouldAcceptFullAndShortValues() {
+        assertEquals(KeysetSort.CREATED_AT_DESC, KeysetSort.parse(null));
+        assertEquals(KeysetSort.CREATED_AT_ASC, KeysetSort.parse("createdAt:asc"));
+        assertEquals(KeysetSort.LEXO_RANK_ASC, KeysetSort.parse("lexoRank:asc,id:asc"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetSort.parse("title:asc"));
+    }
+
+    @Test
+    void cursorOperator_shouldFollowScanDirection() {
+        assertEquals("<", KeysetSort.CREATED_AT_DESC.cursorOperator(PaginationMode.NEXT));
+        assertEquals("<=", KeysetSort.CREATED_AT_DESC.cursorOperator(PaginationMode.AT));
+        assertEquals(">", KeysetSort.CREATED_AT_DESC.cursorOperator(PaginationMode.PREVIOUS));
+
+        assertEquals(">", KeysetSort.LEXO_RANK_ASC.cursorOperator(PaginationMode.NEXT));
+        assertEquals(">=", KeysetSort.LEXO_RANK_ASC.cursorOperator(PaginationMode.AT));
+        assertEquals("<", KeysetSort.LEXO_RANK_ASC.cursorOperator(PaginationMode.PREVIOUS));
+        assertFalse(KeysetSort.LEXO_RANK_ASC.ascendingScan(PaginationMode.PREVIOUS));
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.service;
+
+import org.example.config.cache.CacheGenerationService;
+import org.example.config.cache.CacheInvalidationService;
+import org.example.config.cache.CacheScopeResolver;
+import org.example.config.cache.CacheTag;
+import org.example.config.cache.LocalCacheInvalidationBus;
+import org.example.config.cache.PageVersionService;
+import org.example.entity.Role;
+import org.example.entity.UserEntity;
+import org.example.exception.ForbiddenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PageVersionServiceTest {
+
+    @Mock
+    private CacheGenerationService cacheGenerationService;
+
+    @Mock
+    private CacheScopeResolver cacheScopeResolver;
+
+    @Mock
+    private LocalCacheInvalidationBus invalidationBus;
+
+    @Mock
+    private UserService userService;
+
+    private PageVersionService pageVersionService;
+
+    private final UserEntity user = UserEntity.builder()
+            .id(5L)
+            .role(Role.USER)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        pageVersionService = new PageVersionService(
+                cacheGenerationService, cacheScopeResolver, invalidationBus, userService);
+    }
+
+    @Test
+    void taskPageETag_shouldDependOnVersionAndView() {
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(cacheScopeResolver.taskPageView(1L, user)).thenReturn("ASSIGNEE:5");
+        when(cacheGenerationService.current(CacheTag.epoch())).thenReturn(0L);
+        when(cacheGenerationService.current(CacheTag.project(1L).version())).thenReturn(17L, 18L);
+
+        String before = pageVersionService.taskPageETag(1L);
+        String after = pageVersionService.taskPageETag(1L);
+
+        assertEquals("W/\"proj:1.0.17.ASSIGNEE:5\"", before);
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void commentPageETag_shouldNotReadVersion_whenAccessDenied() {
+        when(userService.getCurrentUser()).thenReturn(user);
+        doThrow(new ForbiddenException("denied")).when(cacheScopeResolver).checkCommentAccess(4L, user);
+
+        assertThrows(ForbiddenException.class, () -> pageVersionService.commentPageETag(4L));
+        verifyNoInteractions(cacheGenerationService);
+    }
+
+    @Test
+    void projectPageETag_shouldBeSkipped_whenVersionIsUnavailable() {
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(cacheGenerationService.current(any())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertNull(pageVersionService.projectPageETag());
+    }
+
+    @Test
+    void taskPageETag_shouldPropagateNonRedisErrors() {
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(cacheScopeResolver.taskPageView(1L, user)).thenReturn("ALL");
+        when(cacheGenerationService.current(any())).thenThrow(new IllegalStateException("bug"));
+
+        assertThrows(IllegalStateException.class, () -> pageVersionService.taskPageETag(1L));
+    }
+
+    @Test
+    void bumpAll_shouldBumpOnlyVersionedScopes_andBroadcastThem() {
+        pageVersionService.bumpAll(Set.of(CacheTag.project(1L), CacheTag.team(7L)));
+
+        verify(cacheGenerationService).bumpAll(List.of(CacheTag.project(1L).version()));
+        verify(invalidationBus).broadcast(CacheInvalidationService.PAGE_TAGS_REGION, "projVer:1");
+    }
+
+    @Test
+    void bumpAll_shouldDoNothing_forScopesWithoutPages() {
+        pageVersionService.bumpAll(List.of(CacheTag.invitations(5L)));
+
+        verifyNoInteractions(cacheGenerationService);
+        verify(invalidationBus, never()).broadcast(anyString(), anyString());
+    }
+}
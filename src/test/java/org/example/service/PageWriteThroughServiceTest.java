@@ -0,0 +1,156 @@
+package org.example.service;
+
+import org.example.config.PaginationProperties;
+import org.example.config.TaskCacheProperties;
+import org.example.config.cache.CacheEvictionEngine;
+import org.example.config.cache.CacheGenerationService;
+import org.example.config.cache.CacheTag;
+import org.example.config.cache.FirstPageIndex;
+import org.example.config.cache.LocalCacheInvalidationBus;
+import org.example.config.cache.PageWriteThroughService;
+import org.example.dto.TaskResponseDto;
+import org.example.pagination.KeysetCursor;
+import org.example.pagination.KeysetCursorCodec;
+import org.example.pagination.KeysetListing;
+import org.example.pagination.KeysetPageResponseDto;
+import org.example.pagination.PaginationMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PageWriteThroughServiceTest {
+
+    private static final String ALL_VIEW_KEY =
+            "getKeysetTasksByProject|view=ALL|projId=1|g=3|h=7|limit=2|first";
+    private static final String OTHER_ASSIGNEE_KEY =
+            "getKeysetTasksByProject|view=ASSIGNEE:50|projId=1|g=3|h=7|limit=2|first";
+
+    @Mock
+    private CacheEvictionEngine cacheEvictionEngine;
+
+    @Mock
+    private CacheGenerationService cacheGenerationService;
+
+    @Mock
+    private FirstPageIndex firstPageIndex;
+
+    @Mock
+    private LocalCacheInvalidationBus invalidationBus;
+
+    private Cache taskPages;
+    private KeysetCursorCodec cursorCodec;
+    private PageWriteThroughService pageWriteThroughService;
+
+    private final LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+        taskPages = cacheManager.getCache("taskPages");
+
+        PaginationProperties paginationProperties = new PaginationProperties();
+        paginationProperties.setCursorSecret("test-secret");
+        cursorCodec = new KeysetCursorCodec(paginationProperties);
+
+        pageWriteThroughService = new PageWriteThroughService(cacheManager, cacheEvictionEngine,
+                cacheGenerationService, firstPageIndex, invalidationBus, new TaskCacheProperties(), cursorCodec);
+
+        when(cacheEvictionEngine.keyGeneration(CacheTag.project(1L))).thenReturn(3L);
+        when(cacheGenerationService.current(CacheTag.project(1L).head())).thenReturn(7L);
+        when(cacheGenerationService.bump(CacheTag.project(1L).head())).thenReturn(8L);
+        when(firstPageIndex.members(CacheTag.project(1L)))
+                .thenReturn(Set.of("taskPages::" + ALL_VIEW_KEY, "taskPages::" + OTHER_ASSIGNEE_KEY));
+    }
+
+    @Test
+    void taskCreated_shouldSpliceTaskIntoVisibleFirstPages_underNewHeadVersion() {
+        taskPages.put(ALL_VIEW_KEY, page(task(2L, 5L), task(1L, 5L)));
+        taskPages.put(OTHER_ASSIGNEE_KEY, page(task(1L, 50L)));
+
+        pageWriteThroughService.taskCreated(1L, task(3L, 5L));
+
+        @SuppressWarnings("unchecked")
+        KeysetPageResponseDto<TaskResponseDto> patched = (KeysetPageResponseDto<TaskResponseDto>)
+                taskPages.get(ALL_VIEW_KEY.replace("|h=7|", "|h=8|")).get();
+
+        assertEquals(List.of(3L, 2L), patched.getItems().stream().map(TaskResponseDto::getId).toList());
+        assertTrue(patched.isHasNext());
+        KeysetCursor nextCursor = cursorCodec.decode(patched.getNextCursor());
+        assertEquals(PaginationMode.NEXT, nextCursor.mode());
+        assertEquals(2L, nextCursor.id());
+        assertEquals(KeysetListing.projectTasks(1L).hash(), nextCursor.listing());
+
+        @SuppressWarnings("unchecked")
+        KeysetPageResponseDto<TaskResponseDto> untouched = (KeysetPageResponseDto<TaskResponseDto>)
+                taskPages.get(OTHER_ASSIGNEE_KEY.replace("|h=7|", "|h=8|")).get();
+
+        assertEquals(List.of(1L), untouched.getItems().stream().map(TaskResponseDto::getId).toList());
+        verify(invalidationBus).broadcast("pageTags", "projHead:1");
+        verify(cacheEvictionEngine, never()).evict(any());
+    }
+
+    @Test
+    void taskCreated_shouldFallBackToEviction_whenPatchingFails() {
+        when(cacheGenerationService.bump(CacheTag.project(1L).head())).thenThrow(new IllegalStateException("redis down"));
+
+        pageWriteThroughService.taskCreated(1L, task(3L, 5L));
+
+        verify(cacheEvictionEngine).evict(CacheTag.project(1L));
+    }
+
+    // Два afterCommit читают страницы при одном h: второй не должен записать страницу без задачи первого
+    @Test
+    void taskCreated_shouldEvict_whenAnotherInsertBumpsHeadConcurrently() {
+        AtomicLong headCounter = new AtomicLong(7L);
+        when(cacheGenerationService.current(CacheTag.project(1L).head())).thenAnswer(invocation -> headCounter.get());
+        when(cacheGenerationService.bump(CacheTag.project(1L).head()))
+                .thenAnswer(invocation -> headCounter.incrementAndGet());
+
+        taskPages.put(ALL_VIEW_KEY, page(task(2L, 5L), task(1L, 5L)));
+
+        AtomicBoolean interleaved = new AtomicBoolean();
+        when(firstPageIndex.members(CacheTag.project(1L))).thenAnswer(invocation -> {
+            if (interleaved.compareAndSet(false, true)) {
+                pageWriteThroughService.taskCreated(1L, task(4L, 5L));
+            }
+            return Set.of("taskPages::" + ALL_VIEW_KEY);
+        });
+
+        pageWriteThroughService.taskCreated(1L, task(3L, 5L));
+
+        assertEquals(9L, headCounter.get());
+        assertNull(taskPages.get(ALL_VIEW_KEY.replace("|h=7|", "|h=9|")));
+        verify(cacheEvictionEngine).evict(CacheTag.project(1L));
+        verify(invalidationBus).broadcast("pageTags", "proj:1");
+    }
+
+    private TaskResponseDto task(Long id, Long assigneeId) {
+        return TaskResponseDto.builder()
+                .id(id)
+                .assigneeId(assigneeId)
+                .createdAt(now.plusMinutes(id))
+                .build();
+    }
+
+    private KeysetPageResponseDto<TaskResponseDto> page(TaskResponseDto... items) {
+        return KeysetPageResponseDto.<TaskResponseDto>builder()
+                .items(List.of(items))
+                .limit(2)
+                .hasNext(false)
+                .build();
+    }
+}
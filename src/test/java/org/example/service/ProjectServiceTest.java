@@ -2,6 +2,7 @@ package org.example.service;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.PaginationProperties;
 import org.example.config.cache.CacheInvalidationService;
 import org.example.dto.CreateProjectRequestDto;
 import org.example.dto.ProjectResponseDto;
@@ -10,10 +11,7 @@ import org.example.entity.*;
 import org.example.exception.ForbiddenException;
 import org.example.exception.NotFoundException;
 import org.example.mapper.ProjectMapper;
-import org.example.pagination.KeysetPageBuilder;
-import org.example.pagination.KeysetPageResponseDto;
-import org.example.pagination.KeysetPaginationFetcher;
-import org.example.pagination.KeysetPaginationUtils;
+import org.example.pagination.*;
 import org.example.repository.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -50,7 +48,7 @@ class ProjectServiceTest {
     private ProjectRepository projectRepository;
 
     @Spy
-    private KeysetPageBuilder keysetPageBuilder;
+    private KeysetPageBuilder keysetPageBuilder = new KeysetPageBuilder(new KeysetCursorCodec(cursorProperties()));
 
     @Spy
     private KeysetPaginationUtils keysetPaginationUtils;
@@ -646,12 +644,12 @@ class ProjectServiceTest {
                 .thenReturn(Collections.emptyList());
 
         KeysetPageResponseDto<ProjectResponseDto> result =
-                projectService.getMyTeamProjects(limit, null, null);
+                projectService.getMyTeamProjects(limit, null);
 
         assertNotNull(result);
         assertTrue(result.getItems().isEmpty());
-        assertNull(result.getCursorCreatedAt());
-        assertNull(result.getCursorId());
+        assertNull(result.getNextCursor());
+        assertNull(result.getPreviousCursor());
         assertFalse(result.isHasNext());
 
         verifyNoInteractions(projectRepository);
@@ -678,12 +676,12 @@ class ProjectServiceTest {
 
         List<TeamMemberEntity> memberships = List.of(membership);
 
-        ProjectEntity project = ProjectEntity.builder()
+        ProjectResponseDto project = ProjectResponseDto.builder()
                 .id(1L)
-                .team(team)
+                .teamId(team.getId())
                 .build();
 
-        Slice<ProjectEntity> projectSlice = new SliceImpl<>(List.of(project));
+        Slice<ProjectResponseDto> projectSlice = new SliceImpl<>(List.of(project));
         
         when(userService.getCurrentUser()).thenReturn(currentUser);
         when(teamMemberRepository.findAllByUserId(currentUser.getId()))
@@ -694,7 +692,7 @@ class ProjectServiceTest {
                 .thenReturn(projectSlice);
 
         KeysetPageResponseDto<ProjectResponseDto> result =
-                projectService.getMyTeamProjects(10, null, null);
+                projectService.getMyTeamProjects(10, null);
 
         assertNotNull(result);
         assertFalse(result.getItems().isEmpty());
@@ -730,12 +728,13 @@ class ProjectServiceTest {
 
         List<TeamMemberEntity> memberships = List.of(membership);
 
-        ProjectEntity project = ProjectEntity.builder()
+        ProjectResponseDto project = ProjectResponseDto.builder()
                 .id(1L)
-                .team(team)
+                .teamId(team.getId())
+                .createdAt(cursorDate.minusMinutes(1))
                 .build();
 
-        Slice<ProjectEntity> projectSlice = new SliceImpl<>(List.of(project));
+        Slice<ProjectResponseDto> projectSlice = new SliceImpl<>(List.of(project));
 
         when(userService.getCurrentUser()).thenReturn(currentUser);
         when(teamMemberRepository.findAllByUserId(currentUser.getId()))
@@ -746,12 +745,17 @@ class ProjectServiceTest {
                 .thenReturn(projectSlice);
 
         KeysetPageResponseDto<ProjectResponseDto> result =
-                projectService.getMyTeamProjects(10, cursorDate, cursorId);
+                projectService.getMyTeamProjects(10, new KeysetCursor(
+                        PaginationMode.NEXT, KeysetListing.teamProjects(1L).hash(), cursorDate, cursorId));
 
 
         assertNotNull(result);
         assertFalse(result.getItems().isEmpty());
         assertEquals(1, result.getItems().size());
+        assertTrue(result.isHasPrevious());
+        assertNotNull(result.getPreviousCursor());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
 
         verify(projectRepository).findNextPageByCreatedAtAndTeamIdsAfterCursor(
                 eq(List.of(1L)), eq(cursorDate), eq(cursorId), any(Pageable.class));
@@ -759,4 +763,9 @@ class ProjectServiceTest {
 
     }
 
+    private static PaginationProperties cursorProperties() {
+        PaginationProperties properties = new PaginationProperties();
+        properties.setCursorSecret("test-secret");
+        return properties;
+    }
 }
@@ -0,0 +1,74 @@
+package org.example.service;
+
+import org.example.config.cache.CacheValueSerializers;
+import org.example.dto.TaskResponseDto;
+import org.example.entity.Status;
+import org.example.pagination.KeysetPageResponseDto;
+import org.example.pagination.KeysetSort;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmileCacheValueSerializerTest {
+
+    @Test
+    void shouldRoundTripTaskPage_withCompression() {
+        RedisSerializer<Object> serializer = CacheValueSerializers.smilePage(TaskResponseDto.class, 1024);
+        KeysetPageResponseDto<TaskResponseDto> page = taskPage(20, 5000);
+
+        byte[] bytes = serializer.serialize(page);
+
+        assertEquals(1, bytes[0], "value above threshold should be deflated");
+        assertEquals(page, serializer.deserialize(bytes));
+        assertTrue(bytes.length < CacheValueSerializers.polymorphicJson().serialize(page).length);
+    }
+
+    @Test
+    void shouldStoreSmallPageUncompressed() {
+        RedisSerializer<Object> serializer = CacheValueSerializers.smilePage(TaskResponseDto.class, 1024);
+        KeysetPageResponseDto<TaskResponseDto> page = taskPage(1, 10);
+
+        byte[] bytes = serializer.serialize(page);
+
+        assertEquals(0, bytes[0]);
+        assertEquals(page, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void shouldTreatLegacyJsonValueAsMiss() {
+        RedisSerializer<Object> serializer = CacheValueSerializers.smilePage(TaskResponseDto.class, 1024);
+
+        byte[] legacy = CacheValueSerializers.polymorphicJson().serialize(taskPage(1, 10));
+
+        assertNull(serializer.deserialize(legacy));
+    }
+
+    private static KeysetPageResponseDto<TaskResponseDto> taskPage(int size, int descriptionLength) {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+        List<TaskResponseDto> items = IntStream.range(0, size)
+                .mapToObj(i -> TaskResponseDto.builder()
+                        .id((long) i)
+                        .title("Task " + i)
+                        .description("d".repeat(descriptionLength))
+                        .status(Status.TODO)
+                        .projectId(1L)
+                        .assigneeId(2L)
+                        .createdAt(createdAt.minusMinutes(i))
+                        .build())
+                .toList();
+
+        return KeysetPageResponseDto.<TaskResponseDto>builder()
+                .items(items)
+                .limit(size)
+                .nextCursor("AQHPsQ3XAAAAAGYyL8AAAAAAAAAAAAAAAAGGoNk0n2y1Qb8xRw")
+                .sort(KeysetSort.CREATED_AT_DESC.value())
+                .hasNext(true)
+                .build();
+    }
+}
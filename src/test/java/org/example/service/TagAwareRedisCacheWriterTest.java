@@ -0,0 +1,64 @@
+package org.example.service;
+
+import org.example.config.cache.CacheEntryWriteListener;
+import org.example.config.cache.TagAwareRedisCacheWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TagAwareRedisCacheWriterTest {
+
+    private static final String KEY = "taskPages::getKeysetTasksByProject|view=ALL|projId=1|g=0|limit=10|first";
+
+    @Mock
+    private RedisCacheWriter delegate;
+
+    @Mock
+    private CacheEntryWriteListener listener;
+
+    private TagAwareRedisCacheWriter writer;
+
+    private final byte[] key = KEY.getBytes(StandardCharsets.UTF_8);
+    private final byte[] value = new byte[]{1, 2, 3};
+    private final Duration ttl = Duration.ofMinutes(30);
+
+    @BeforeEach
+    void setUp() {
+        writer = new TagAwareRedisCacheWriter(delegate, List.of(listener));
+    }
+
+    @Test
+    void put_shouldNotifyListeners_beforeAndAfterSet() {
+        writer.put("taskPages", key, value, ttl);
+
+        InOrder order = inOrder(listener, delegate);
+        order.verify(listener).onEntryWriting("taskPages", KEY);
+        order.verify(delegate).put("taskPages", key, value, ttl);
+        order.verify(listener).onEntryWritten("taskPages", KEY, 3);
+    }
+
+    @Test
+    void putIfAbsent_shouldNotReportWrite_whenValueAlreadyExists() {
+        when(delegate.putIfAbsent("taskPages", key, value, ttl)).thenReturn(new byte[]{9});
+
+        writer.putIfAbsent("taskPages", key, value, ttl);
+
+        InOrder order = inOrder(listener, delegate);
+        order.verify(listener).onEntryWriting("taskPages", KEY);
+        order.verify(delegate).putIfAbsent("taskPages", key, value, ttl);
+        verify(listener, never()).onEntryWritten(anyString(), anyString(), anyInt());
+    }
+}
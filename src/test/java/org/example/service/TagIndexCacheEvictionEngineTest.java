@@ -0,0 +1,155 @@
+package org.example.service;
+
+import org.example.config.TaskCacheProperties;
+import org.example.config.cache.CacheTag;
+import org.example.config.cache.TagIndexCacheEvictionEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisSetCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TagIndexCacheEvictionEngineTest {
+
+    private static final String TAG_SET = "cacheTags::proj:1";
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisKeyCommands keyCommands;
+
+    @Mock
+    private RedisSetCommands setCommands;
+
+    private TagIndexCacheEvictionEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new TagIndexCacheEvictionEngine(redis, new TaskCacheProperties());
+    }
+
+    @Test
+    void onEntryWriting_shouldIndexKeyByItsTag() {
+        when(redis.opsForSet()).thenReturn(setOperations);
+        String key = "taskPages::getKeysetTasksByProject|view=ALL|projId=1|g=0|limit=10|first";
+
+        engine.onEntryWriting("taskPages", key);
+
+        InOrder order = inOrder(setOperations, redis);
+        order.verify(setOperations).add(TAG_SET, key);
+        order.verify(redis).expire(TAG_SET, Duration.ofMinutes(60));
+    }
+
+    @Test
+    void onEntryWriting_shouldIgnoreUntaggedCaches() {
+        engine.onEntryWriting("users", "users::7");
+
+        verifyNoInteractions(redis);
+    }
+
+    // 501 ключ - два пакета UNLINK, SREM удаляет ровно прочитанные ключи
+    @Test
+    void evict_shouldUnlinkInBatches_andRemoveOnlyReadMembers() {
+        Set<String> members = new LinkedHashSet<>();
+        IntStream.range(0, 501).forEach(i -> members.add("taskPages::key" + i));
+
+        when(redis.opsForSet()).thenReturn(setOperations);
+        when(setOperations.members(TAG_SET)).thenReturn(members);
+        runPipelinedCallbacks();
+
+        engine.evict(CacheTag.project(1L));
+
+        ArgumentCaptor<byte[][]> unlinked = ArgumentCaptor.forClass(byte[][].class);
+        verify(keyCommands, times(2)).unlink(unlinked.capture());
+        assertEquals(List.of(500, 1), unlinked.getAllValues().stream().map(batch -> batch.length).toList());
+
+        ArgumentCaptor<byte[][]> removed = ArgumentCaptor.forClass(byte[][].class);
+        verify(setCommands, times(2)).sRem(eq(TAG_SET.getBytes(StandardCharsets.UTF_8)), removed.capture());
+
+        List<String> removedKeys = new ArrayList<>();
+        removed.getAllValues().forEach(batch -> {
+            for (byte[] key : batch) {
+                removedKeys.add(new String(key, StandardCharsets.UTF_8));
+            }
+        });
+        assertEquals(new ArrayList<>(members), removedKeys);
+    }
+
+    @Test
+    void evict_shouldSkipPipeline_whenTagHasNoKeys() {
+        when(redis.opsForSet()).thenReturn(setOperations);
+        when(setOperations.members(TAG_SET)).thenReturn(Set.of());
+
+        engine.evict(CacheTag.project(1L));
+
+        verify(redis, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void reapDanglingMembers_shouldRemoveOnlyExpiredKeys() {
+        // Курсоры-моки создаются до when(...): стабинг внутри незавершенного стабинга недопустим
+        Cursor<String> tagSets = cursor(List.of(TAG_SET));
+        Cursor<String> members = cursor(List.of("taskPages::alive", "taskPages::expired"));
+
+        when(redis.scan(any(ScanOptions.class))).thenReturn(tagSets);
+        when(redis.opsForSet()).thenReturn(setOperations);
+        when(setOperations.scan(eq(TAG_SET), any(ScanOptions.class))).thenReturn(members);
+        when(redis.executePipelined(any(RedisCallback.class))).thenReturn(List.of(true, false));
+
+        engine.reapDanglingMembers();
+
+        verify(setOperations).remove(TAG_SET, "taskPages::expired");
+        verify(setOperations, never()).remove(eq(TAG_SET), eq("taskPages::alive"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runPipelinedCallbacks() {
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        when(connection.setCommands()).thenReturn(setCommands);
+        when(redis.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            ((RedisCallback<Object>) invocation.getArgument(0)).doInRedis(connection);
+            return List.of();
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cursor<String> cursor(List<String> values) {
+        Iterator<String> iterator = values.iterator();
+        Cursor<String> cursor = mock(Cursor.class);
+        lenient().when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        lenient().when(cursor.next()).thenAnswer(invocation -> iterator.next());
+        lenient().doCallRealMethod().when(cursor).forEachRemaining(any());
+        return cursor;
+    }
+}
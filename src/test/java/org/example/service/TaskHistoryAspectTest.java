@@ -0,0 +1,110 @@
+package org.example.service;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.example.annotation.TaskHistoryAspect;
+import org.example.config.cache.CacheInvalidationService;
+import org.example.dto.NotificationDto;
+import org.example.entity.Status;
+import org.example.entity.TaskEntity;
+import org.example.entity.TaskHistoryEntity;
+import org.example.entity.UserEntity;
+import org.example.repository.TaskHistoryRepository;
+import org.example.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskHistoryAspectTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskHistoryRepository taskHistoryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    private TaskHistoryAspect taskHistoryAspect;
+
+    private final UserEntity currentUser = UserEntity.builder().id(1L).firstName("Ann").build();
+    private final UserEntity assignee = UserEntity.builder().id(2L).email("bob@mail.ru").build();
+
+    @BeforeEach
+    void setUp() {
+        taskHistoryAspect = new TaskHistoryAspect(userService, notificationService,
+                taskRepository, taskHistoryRepository, new TransactionTemplate(transactionManager),
+                cacheInvalidationService);
+
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+    }
+
+    @Test
+    void taskChangeStatus_shouldRecordOldStatusFromSameEntity_insideTransaction() throws Throwable {
+        TaskEntity task = TaskEntity.builder().id(5L).status(Status.TODO).assignee(assignee).build();
+
+        when(joinPoint.getArgs()).thenReturn(new Object[]{5L, Status.IN_PROGRESS});
+        when(taskRepository.findById(5L)).thenReturn(Optional.of(task));
+        when(userService.getCurrentUser()).thenReturn(currentUser);
+        when(joinPoint.proceed()).thenAnswer(invocation -> {
+            task.setStatus(Status.IN_PROGRESS);
+            return "result";
+        });
+
+        Object result = taskHistoryAspect.TaskChangeStatus(joinPoint);
+
+        assertEquals("result", result);
+        verify(taskRepository, times(1)).findById(5L);
+
+        ArgumentCaptor<TaskHistoryEntity> history = ArgumentCaptor.forClass(TaskHistoryEntity.class);
+        verify(taskHistoryRepository).save(history.capture());
+        assertEquals(Status.TODO, history.getValue().getOldStatus());
+        assertEquals(Status.IN_PROGRESS, history.getValue().getNewStatus());
+        assertSame(task, history.getValue().getTask());
+        verify(cacheInvalidationService).evictTaskHistory(5L);
+
+        InOrder order = inOrder(transactionManager, notificationService);
+        order.verify(transactionManager).commit(any());
+        order.verify(notificationService).sendPersonalNotification(eq("bob@mail.ru"), any(NotificationDto.class));
+    }
+
+    @Test
+    void taskChangeStatus_shouldRollbackAndSkipNotification_whenServiceFails() throws Throwable {
+        TaskEntity task = TaskEntity.builder().id(5L).status(Status.TODO).assignee(assignee).build();
+
+        when(joinPoint.getArgs()).thenReturn(new Object[]{5L, Status.REVISION});
+        when(taskRepository.findById(5L)).thenReturn(Optional.of(task));
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("transition"));
+
+        assertThrows(IllegalStateException.class, () -> taskHistoryAspect.TaskChangeStatus(joinPoint));
+
+        verify(transactionManager).rollback(any());
+        verifyNoInteractions(taskHistoryRepository, notificationService, cacheInvalidationService);
+    }
+}
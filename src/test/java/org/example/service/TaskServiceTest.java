@@ -2,8 +2,10 @@ package org.example.service;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.PaginationProperties;
 import org.example.config.cache.CacheInvalidationService;
 import org.example.dto.CreateTaskRequestDto;
+import org.example.dto.TaskPageFilterDto;
 import org.example.dto.TaskHistoryResponseDto;
 import org.example.dto.TaskResponseDto;
 import org.example.dto.UpdateTaskRequestDto;
@@ -60,7 +62,7 @@ public class TaskServiceTest {
     private KeysetPaginationUtils keysetPaginationUtils;
 
     @Spy
-    private KeysetPageBuilder pageBuilder;
+    private KeysetPageBuilder pageBuilder = new KeysetPageBuilder(new KeysetCursorCodec(cursorProperties()));
 
     @Mock
     private CommentRepository commentRepository;
@@ -287,7 +289,7 @@ public class TaskServiceTest {
         assertEquals(taskEntity.getDescription(), result.getDescription());
 
         verify(taskRepository).save(taskEntity);
-        verify(cacheInvalidationService).evictTaskPagesByProjectId(1L);
+        verify(cacheInvalidationService).taskCreated(1L, dtoResponse);
         verify(userService).getCurrentUser();
         verify(projectRepository).findById(1L);
         verify(userRepository).findById(1L);
@@ -690,10 +692,10 @@ public class TaskServiceTest {
         UserEntity user = UserEntity.builder()
                 .id(1L).build();
 
-        TaskEntity task = TaskEntity.builder()
+        TaskResponseDto task = TaskResponseDto.builder()
                 .id(1L)
-                .project(project)
-                .assignee(user)
+                .projectId(project.getId())
+                .assigneeId(user.getId())
                 .build();
 
         TeamMemberEntity membership = TeamMemberEntity.builder()
@@ -702,8 +704,8 @@ public class TaskServiceTest {
                 .role(TeamRole.OWNER)
                 .build();
 
-        List<TaskEntity> tasks = List.of(task);
-        Slice<TaskEntity> taskSlice = new SliceImpl<>(tasks);
+        List<TaskResponseDto> tasks = List.of(task);
+        Slice<TaskResponseDto> taskSlice = new SliceImpl<>(tasks);
 
         when(userService.getCurrentUser()).thenReturn(user);
         when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
@@ -713,7 +715,7 @@ public class TaskServiceTest {
                 .thenReturn(taskSlice);
 
         KeysetPageResponseDto<TaskResponseDto> result = taskService.getKeysetTasksByProject(
-                1L, limit, null, null);
+                1L, limit, null);
 
         assertNotNull(result);
         assertFalse(result.getItems().isEmpty());
@@ -725,7 +727,7 @@ public class TaskServiceTest {
         verify(taskRepository, never()).findFirstPageByProjectIdAndAssigneeId(
                 any(Long.class), any(Long.class), any(Pageable.class));
 
-        verify(pageBuilder).universalBuilder(any(), any(), eq(limit));
+        verify(pageBuilder).universalBuilder(any(), any(), eq(limit), eq(KeysetListing.projectTasks(1L)));
 
     }
 
@@ -747,10 +749,10 @@ public class TaskServiceTest {
         UserEntity user = UserEntity.builder()
                 .id(1L).build();
 
-        TaskEntity task = TaskEntity.builder()
+        TaskResponseDto task = TaskResponseDto.builder()
                 .id(1L)
-                .project(project)
-                .assignee(user)
+                .projectId(project.getId())
+                .assigneeId(user.getId())
                 .createdAt(LocalDateTime.now())
                 .build();
 
@@ -760,8 +762,8 @@ public class TaskServiceTest {
                 .role(TeamRole.MEMBER)
                 .build();
 
-        List<TaskEntity> tasks = List.of(task);
-        Slice<TaskEntity> taskSlice = new SliceImpl<>(tasks);
+        List<TaskResponseDto> tasks = List.of(task);
+        Slice<TaskResponseDto> taskSlice = new SliceImpl<>(tasks);
 
         when(userService.getCurrentUser()).thenReturn(user);
         when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
@@ -772,7 +774,8 @@ public class TaskServiceTest {
         )).thenReturn(taskSlice);
 
         KeysetPageResponseDto<TaskResponseDto> result = taskService.getKeysetTasksByProject(
-                1L, limit, cursorCreatedAt, cursorId);
+                1L, limit, new KeysetCursor(PaginationMode.NEXT, KeysetListing.projectTasks(1L).hash(),
+                        cursorCreatedAt, cursorId));
 
         assertNotNull(result);
         assertFalse(result.getItems().isEmpty());
@@ -784,10 +787,119 @@ public class TaskServiceTest {
         verify(taskRepository, never()).findNextByProjectIdAfterCursor(
                 any(Long.class), any(LocalDateTime.class), any(Long.class), any(Pageable.class));
 
-        verify(pageBuilder).universalBuilder(any(), any(), eq(limit));
+        verify(pageBuilder).universalBuilder(any(), any(), eq(limit), eq(KeysetListing.projectTasks(1L)));
 
     }
 
+    @Test
+    void getFilteredTasksByProject_shouldQueryByFilter_whenUserIsManager(){
+
+        Integer limit = 10;
+
+        TeamEntity team = TeamEntity.builder()
+                .id(1L).build();
+
+        ProjectEntity project = ProjectEntity.builder()
+                .id(1L)
+                .team(team)
+                .build();
+
+        UserEntity user = UserEntity.builder()
+                .id(1L).build();
+
+        TeamMemberEntity membership = TeamMemberEntity.builder()
+                .id(1L)
+                .user(user)
+                .role(TeamRole.MANAGER)
+                .build();
+
+        TaskPageFilterDto filter = TaskPageFilterDto.builder()
+                .status(Status.IN_PROGRESS)
+                .sort(KeysetSort.LEXO_RANK_ASC)
+                .build();
+
+        TaskResponseDto task = TaskResponseDto.builder()
+                .id(7L)
+                .status(Status.IN_PROGRESS)
+                .createdAt(LocalDateTime.now())
+                .lexoRank("m")
+                .build();
+
+        KeysetCursor cursor = new KeysetCursor(PaginationMode.NEXT, filter.listing(1L).hash(),
+                LocalDateTime.now(), 5L, "f");
+
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(teamAccessService.checkMembership(team, user)).thenReturn(membership);
+        when(taskRepository.findPageByFilter(1L, filter, cursor, limit + 1))
+                .thenReturn(new SliceImpl<>(List.of(task)));
+
+        KeysetPageResponseDto<TaskResponseDto> result =
+                taskService.getFilteredTasksByProject(1L, filter, limit, cursor);
+
+        assertEquals(List.of(task), result.getItems());
+        assertEquals(KeysetSort.LEXO_RANK_ASC.value(), result.getSort());
+        assertFalse(result.isHasNext());
+        assertTrue(result.isHasPrevious());
+        assertNotNull(result.getPreviousCursor());
+
+        verify(pageBuilder).universalBuilder(any(), any(), eq(limit), eq(filter.listing(1L)));
+    }
+
+    @Test
+    void getFilteredTasksByProject_shouldReturnEmptyPage_whenMemberFiltersByAnotherAssignee(){
+
+        TeamEntity team = TeamEntity.builder()
+                .id(1L).build();
+
+        ProjectEntity project = ProjectEntity.builder()
+                .id(1L)
+                .team(team)
+                .build();
+
+        UserEntity user = UserEntity.builder()
+                .id(1L).build();
+
+        TeamMemberEntity membership = TeamMemberEntity.builder()
+                .id(1L)
+                .user(user)
+                .role(TeamRole.MEMBER)
+                .build();
+
+        TaskPageFilterDto filter = TaskPageFilterDto.builder()
+                .assigneeId(2L)
+                .build();
+
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(teamAccessService.checkMembership(team, user)).thenReturn(membership);
+
+        KeysetPageResponseDto<TaskResponseDto> result =
+                taskService.getFilteredTasksByProject(1L, filter, 10, null);
+
+        assertTrue(result.getItems().isEmpty());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+
+        verify(taskRepository, never()).findPageByFilter(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void getFilteredTasksByProject_shouldRejectEmptyCreationRange(){
+
+        LocalDateTime from = LocalDateTime.of(2024, 2, 1, 0, 0);
+
+        TaskPageFilterDto filter = TaskPageFilterDto.builder()
+                .createdFrom(from)
+                .createdTo(from)
+                .build();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getFilteredTasksByProject(1L, filter, 10, null));
+
+        verifyNoInteractions(taskRepository);
+    }
+
     @Test
     void getTaskHistory_shouldReturnHistoryList_whenUserIsAuthorized(){
 
@@ -872,4 +984,9 @@ public class TaskServiceTest {
 
     }
 
+    private static PaginationProperties cursorProperties() {
+        PaginationProperties properties = new PaginationProperties();
+        properties.setCursorSecret("test-secret");
+        return properties;
+    }
 }
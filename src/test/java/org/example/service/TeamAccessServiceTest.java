@@ -1,11 +1,14 @@
 package org.example.service;
 
+import org.example.config.TaskCacheProperties;
+import org.example.config.cache.LocalCacheInvalidationBus;
+import org.example.config.cache.TeamMembershipCache;
 import org.example.entity.*;
 import org.example.exception.ForbiddenException;
 import org.example.repository.TeamMemberRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -21,9 +24,21 @@ class TeamAccessServiceTest {
     @Mock
     private TeamMemberRepository teamMemberRepository;
 
-    @InjectMocks
+    @Mock
+    private LocalCacheInvalidationBus invalidationBus;
+
+    private TeamMembershipCache teamMembershipCache;
+
     private TeamAccessService teamAccessService;
 
+    @BeforeEach
+    void setUp() {
+        teamMembershipCache = new TeamMembershipCache(new TaskCacheProperties(), invalidationBus);
+        teamMembershipCache.init();
+
+        teamAccessService = new TeamAccessService(teamMemberRepository, teamMembershipCache);
+    }
+
     @Test
     void shouldThrowForbiddenException_whenUserIsNotInTeam() {
 
@@ -114,4 +129,90 @@ class TeamAccessServiceTest {
         assertEquals(membership, result);
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void checkMembership_shouldHitRepositoryOnce_whenCalledTwiceForSameUser(){
+
+        UserEntity user = UserEntity.builder()
+                .email("test@mail.ru")
+                .id(1L)
+                .build();
+
+        TeamEntity team = TeamEntity.builder()
+                .name("test")
+                .id(1L)
+                .build();
+
+        TeamMemberEntity membership = TeamMemberEntity.builder()
+                .team(team)
+                .user(user)
+                .role(TeamRole.MANAGER)
+                .build();
+
+        when(teamMemberRepository.findByTeamIdAndUserId(team.getId(), user.getId()))
+                .thenReturn(Optional.of(membership));
+
+        teamAccessService.checkMembership(team, user);
+        TeamMemberEntity cached = teamAccessService
+                .checkMembershipRole(team, user, Set.of(TeamRole.OWNER, TeamRole.MANAGER));
+
+        assertEquals(TeamRole.MANAGER, cached.getRole());
+        assertEquals(user, cached.getUser());
+        verify(teamMemberRepository, times(1)).findByTeamIdAndUserId(team.getId(), user.getId());
+
+    }
+
+    @Test
+    void checkMembership_shouldReloadMembership_afterEviction(){
+
+        UserEntity user = UserEntity.builder()
+                .email("test@mail.ru")
+                .id(1L)
+                .build();
+
+        TeamEntity team = TeamEntity.builder()
+                .name("test")
+                .id(1L)
+                .build();
+
+        TeamMemberEntity membership = TeamMemberEntity.builder()
+                .team(team)
+                .user(user)
+                .role(TeamRole.MEMBER)
+                .build();
+
+        when(teamMemberRepository.findByTeamIdAndUserId(team.getId(), user.getId()))
+                .thenReturn(Optional.of(membership));
+
+        teamAccessService.checkMembership(team, user);
+        teamMembershipCache.evict(team.getId(), user.getId());
+        teamAccessService.checkMembership(team, user);
+
+        verify(teamMemberRepository, times(2)).findByTeamIdAndUserId(team.getId(), user.getId());
+        verify(invalidationBus).publish("membership", "1:1");
+
+    }
+
+    @Test
+    void checkMembership_shouldNotCacheMissingMembership(){
+
+        UserEntity user = UserEntity.builder()
+                .email("test@mail.ru")
+                .id(1L)
+                .build();
+
+        TeamEntity team = TeamEntity.builder()
+                .name("test")
+                .id(1L)
+                .build();
+
+        when(teamMemberRepository.findByTeamIdAndUserId(team.getId(), user.getId()))
+                .thenReturn(Optional.empty());
+
+        assertThrows(ForbiddenException.class, () -> teamAccessService.checkMembership(team, user));
+        assertThrows(ForbiddenException.class, () -> teamAccessService.checkMembership(team, user));
+
+        verify(teamMemberRepository, times(2)).findByTeamIdAndUserId(team.getId(), user.getId());
+
+    }
+}
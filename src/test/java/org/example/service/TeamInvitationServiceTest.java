@@ -1,6 +1,7 @@
 package org.example.service;
 
 import org.example.config.cache.CacheInvalidationService;
+import org.example.config.cache.TeamMembershipCache;
 import org.example.dto.TeamInvitationRequestDto;
 import org.example.dto.TeamInvitationResponseDto;
 import org.example.entity.*;
@@ -51,6 +52,12 @@ class TeamInvitationServiceTest {
     @Mock
     private CacheInvalidationService cacheInvalidationService;
 
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private TeamMembershipCache teamMembershipCache;
+
     @InjectMocks
     private TeamInvitationService teamInvitationService;
 
@@ -120,6 +127,7 @@ class TeamInvitationServiceTest {
 
         verify(teamInvitationRepository).save(invitation);
         verify(cacheInvalidationService).evictTeamRelatedCaches(teamId);
+        verify(teamMembershipCache).evict(teamId, userId);
         verify(teamInvitationMapper).toDto(any(TeamInvitationEntity.class));
     }
 
@@ -0,0 +1,179 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.TaskCacheProperties;
+import org.example.config.cache.CacheInvalidationService;
+import org.example.config.cache.CacheLoadLease;
+import org.example.config.cache.LocalCacheInvalidationBus;
+import org.example.config.cache.TwoLevelCache;
+import org.example.config.cache.TwoLevelCacheManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TwoLevelCacheTest {
+
+    private static final String TASK_PAGE_KEY =
+            "getKeysetTasksByProject|view=ALL|projId=12|g=0|limit=10|first";
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrentMapCache remote;
+    private CacheLoadLease loadLease;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        remote = new ConcurrentMapCache("taskPages");
+        loadLease = mock(CacheLoadLease.class);
+        lenient().when(loadLease.tryAcquire(anyString(), any())).thenReturn(Optional.of("token"));
+
+        cache = new TwoLevelCache("taskPages", Caffeine.newBuilder().build(), remote,
+                new LocalCacheInvalidationBus(mock(StringRedisTemplate.class)), loadLease,
+                Duration.ofSeconds(1), Duration.ofMillis(5), meterRegistry);
+    }
+
+    @Test
+    void get_shouldServeFromL1_afterFirstL2Hit() {
+        remote.put(TASK_PAGE_KEY, "page");
+
+        assertEquals("page", cache.get(TASK_PAGE_KEY).get());
+        remote.evict(TASK_PAGE_KEY);
+        assertEquals("page", cache.get(TASK_PAGE_KEY).get());
+
+        assertEquals(1.0, requests("l1", "hit"));
+        assertEquals(1.0, requests("l1", "miss"));
+        assertEquals(1.0, requests("l2", "hit"));
+    }
+
+    @Test
+    void hitRatio_shouldCountHitsOfBothLayers_perCacheName() {
+        assertTrue(Double.isNaN(hitRatio()));
+
+        remote.put(TASK_PAGE_KEY, "page");
+        cache.get(TASK_PAGE_KEY);
+        cache.get(TASK_PAGE_KEY);
+        cache.get("getKeysetTasksByProject|view=ALL|projId=13|g=0|limit=10|first");
+        cache.get("getKeysetTasksByProject|view=ALL|projId=14|g=0|limit=10|first");
+
+        assertEquals(0.5, hitRatio());
+    }
+
+    @Test
+    void get_shouldLoadAndWriteBothLayers_whenMissingEverywhere() {
+        assertEquals("loaded", cache.get(TASK_PAGE_KEY, () -> "loaded"));
+
+        assertEquals("loaded", remote.get(TASK_PAGE_KEY).get());
+        assertEquals(1.0, requests("l2", "miss"));
+    }
+
+    @Test
+    void tagBroadcast_shouldEvictOnlyMatchingL1Entries() {
+        LocalCacheInvalidationBus bus = new LocalCacheInvalidationBus(mock(StringRedisTemplate.class));
+        TwoLevelCacheManager manager = new TwoLevelCacheManager(
+                new ConcurrentMapCacheManager(), new TaskCacheProperties(), bus, loadLease, meterRegistry);
+
+        Cache taskPages = manager.getCache("taskPages");
+        String otherProjectKey = TASK_PAGE_KEY.replace("projId=12", "projId=123");
+        taskPages.put(TASK_PAGE_KEY, "project 12");
+        taskPages.put(otherProjectKey, "project 123");
+
+        bus.broadcast(CacheInvalidationService.PAGE_TAGS_REGION, "proj:12");
+
+        @SuppressWarnings("unchecked")
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> local =
+                (com.github.benmanes.caffeine.cache.Cache<Object, Object>) taskPages.getNativeCache();
+        assertNull(local.getIfPresent(TASK_PAGE_KEY));
+        assertEquals("project 123", local.getIfPresent(otherProjectKey));
+    }
+
+    @Test
+    void get_shouldRunLoaderOnce_forConcurrentMissesOnSameKey() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.get(TASK_PAGE_KEY, () -> {
+                loads.incrementAndGet();
+                loaderStarted.countDown();
+                releaseLoader.await(5, TimeUnit.SECONDS);
+                return "page";
+            })));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> cache.get(TASK_PAGE_KEY, () -> {
+                    loads.incrementAndGet();
+                    return "page";
+                })));
+            }
+
+            // даем ожидающим потокам дойти до in-flight загрузки
+            Thread.sleep(100);
+            releaseLoader.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("page", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        verify(loadLease, times(1)).tryAcquire(anyString(), any());
+        verify(loadLease).release("taskPages", TASK_PAGE_KEY, "token");
+    }
+
+    @Test
+    void get_shouldWaitForOtherNodeLoader_whenLeaseIsHeld() {
+        when(loadLease.tryAcquire(anyString(), any())).thenReturn(Optional.empty());
+        when(loadLease.isHeld(anyString(), any())).thenAnswer(invocation -> {
+            remote.put(TASK_PAGE_KEY, "loaded by other node");
+            return true;
+        });
+
+        String value = cache.get(TASK_PAGE_KEY, () -> "local load");
+
+        assertEquals("loaded by other node", value);
+        assertEquals(1.0, meterRegistry.get("task_manager_cache_loads_total")
+                .tag("outcome", "remote_loader").counter().count());
+    }
+
+    private double hitRatio() {
+        return meterRegistry.get("task_manager_cache_hit_ratio")
+                .tag("cache", "taskPages")
+                .gauge()
+                .value();
+    }
+
+    private double requests(String layer, String result) {
+        return meterRegistry.get("task_manager_cache_requests_total")
+                .tag("layer", layer)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}
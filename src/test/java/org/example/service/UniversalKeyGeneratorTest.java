@@ -0,0 +1,278 @@
+package org.example.service;
+
+import org.example.config.cache.CacheBypassKey;
+import org.example.config.cache.CacheEvictionEngine;
+import org.example.config.cache.CacheKeySchema;
+import org.example.config.cache.CacheScopeResolver;
+import org.example.config.cache.CacheTag;
+import org.example.config.cache.CacheUnavailableException;
+import org.example.config.cache.PageWriteThroughService;
+import org.example.config.cache.UniversalKeyGenerator;
+import org.example.entity.Role;
+import org.example.entity.UserEntity;
+import org.example.pagination.KeysetCursor;
+import org.example.pagination.PaginationMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UniversalKeyGeneratorTest {
+
+    @Mock
+    private CacheEvictionEngine cacheEvictionEngine;
+
+    @Mock
+    private CacheScopeResolver cacheScopeResolver;
+
+    @Mock
+    private PageWriteThroughService pageWriteThroughService;
+
+    private DefaultListableBeanFactory beanFactory;
+
+    private UniversalKeyGenerator keyGenerator;
+
+    private final UserEntity user = UserEntity.builder()
+            .id(5L)
+            .role(Role.USER)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        beanFactory = new DefaultListableBeanFactory();
+        keyGenerator = new UniversalKeyGenerator(
+                cacheEvictionEngine, cacheScopeResolver, pageWriteThroughService, beanFactory);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void generate_shouldBuildTaskPageKeys_inPreviousFormat() throws Exception {
+        Method method = TaskService.class.getMethod("getKeysetTasksByProject",
+                Long.class, Integer.class, KeysetCursor.class);
+        LocalDateTime cursorCreatedAt = LocalDateTime.of(2024, 5, 1, 12, 30, 0, 500_000_000);
+
+        when(cacheScopeResolver.view(CacheTag.project(1L), user)).thenReturn("ASSIGNEE:5");
+        when(cacheEvictionEngine.keyGeneration(CacheTag.project(1L))).thenReturn(3L);
+        when(pageWriteThroughService.headGeneration(CacheTag.project(1L))).thenReturn(7L);
+
+        assertEquals("getKeysetTasksByProject|view=ASSIGNEE:5|projId=1|g=3|h=7|limit=10|first",
+                keyGenerator.generate(null, method, 1L, null, null));
+        assertEquals("getKeysetTasksByProject|view=ASSIGNEE:5|projId=1|g=3|limit=50"
+                        + "|curCreatAt=2024-05-01T12:30:00.5|curId=9",
+                keyGenerator.generate(null, method, 1L, 500, cursor(PaginationMode.NEXT, cursorCreatedAt, 9L)));
+        assertEquals("getKeysetTasksByProject|view=ASSIGNEE:5|projId=1|g=3|limit=50"
+                        + "|atCreatAt=2024-05-01T12:30:00.5|curId=9",
+                keyGenerator.generate(null, method, 1L, 500, cursor(PaginationMode.AT, cursorCreatedAt, 9L)));
+    }
+
+    @Test
+    void generate_shouldVersionPreviousPagesByHead() throws Exception {
+        Method method = TaskService.class.getMethod("getKeysetTasksByProject",
+                Long.class, Integer.class, KeysetCursor.class);
+
+        when(cacheScopeResolver.view(CacheTag.project(1L), user)).thenReturn("ALL");
+        when(cacheEvictionEngine.keyGeneration(CacheTag.project(1L))).thenReturn(3L);
+        when(pageWriteThroughService.headGeneration(CacheTag.project(1L))).thenReturn(7L);
+
+        assertEquals("getKeysetTasksByProject|view=ALL|projId=1|g=3|h=7|limit=10"
+                        + "|prevCreatAt=2024-05-01T12:30:00|curId=9",
+                keyGenerator.generate(null, method, 1L, 10,
+                        cursor(PaginationMode.PREVIOUS, LocalDateTime.of(2024, 5, 1, 12, 30), 9L)));
+    }
+
+    @Test
+    void generate_shouldCheckCommentAccess_beforeReadingGeneration() throws Exception {
+        Method method = CommentService.class.getMethod("getKeysetTaskComments",
+                Long.class, Integer.class, KeysetCursor.class);
+
+        when(cacheEvictionEngine.keyGeneration(CacheTag.task(4L))).thenReturn(2L);
+        when(pageWriteThroughService.headGeneration(CacheTag.task(4L))).thenReturn(0L);
+
+        assertEquals("getKeysetTaskComments|taskId=4|g=2|h=0|limit=20|first",
+                keyGenerator.generate(null, method, 4L, 20, null));
+
+        InOrder order = inOrder(cacheScopeResolver, cacheEvictionEngine);
+        order.verify(cacheScopeResolver).checkAccess(CacheTag.task(4L), user);
+        order.verify(cacheEvictionEngine).keyGeneration(CacheTag.task(4L));
+    }
+
+    @Test
+    void generate_shouldBuildProjectPageKey_perUser() throws Exception {
+        Method method = ProjectService.class.getMethod("getMyTeamProjects",
+                Integer.class, KeysetCursor.class);
+
+        when(cacheEvictionEngine.keyGeneration(CacheTag.user(5L))).thenReturn(6L);
+
+        assertEquals("getMyTeamProjects|usId=5|g=6|r=USER|limit=10|first",
+                keyGenerator.generate(null, method, 0, null));
+        verifyNoInteractions(pageWriteThroughService, cacheScopeResolver);
+    }
+
+    @Test
+    void generate_shouldBuildTaskHistoryKey_withViewAndWithoutHead() throws Exception {
+        Method method = TaskService.class.getMethod("getTaskHistory", Long.class);
+
+        when(cacheScopeResolver.view(CacheTag.taskHistory(3L), user)).thenReturn("ALL");
+        when(cacheEvictionEngine.keyGeneration(CacheTag.taskHistory(3L))).thenReturn(4L);
+
+        assertEquals("getTaskHistory|view=ALL|taskId=3|g=4", keyGenerator.generate(null, method, 3L));
+        verifyNoInteractions(pageWriteThroughService);
+    }
+
+    @Test
+    void generate_shouldCheckTeamAccess_forSharedTeamMembersKey() throws Exception {
+        Method method = TeamService.class.getMethod("getTeamMembers", Long.class);
+
+        when(cacheEvictionEngine.keyGeneration(CacheTag.team(8L))).thenReturn(1L);
+
+        assertEquals("getTeamMembers|teamId=8|g=1", keyGenerator.generate(null, method, 8L));
+        verify(cacheScopeResolver).checkAccess(CacheTag.team(8L), user);
+    }
+
+    @Test
+    void generate_shouldKeyInvitationsByCurrentUser() throws Exception {
+        Method method = TeamInvitationService.class.getMethod("getMyPendingInvitations");
+
+        when(cacheEvictionEngine.keyGeneration(CacheTag.invitations(5L))).thenReturn(2L);
+
+        assertEquals("getMyPendingInvitations|usId=5|g=2", keyGenerator.generate(null, method));
+        verifyNoInteractions(cacheScopeResolver);
+    }
+
+    @Test
+    void generate_shouldFormatCursorLikeIsoLocalDateTime() throws Exception {
+        Method method = ProjectService.class.getMethod("getMyTeamProjects",
+                Integer.class, KeysetCursor.class);
+
+        LocalDateTime[] cursors = {
+                LocalDateTime.of(2024, 1, 2, 3, 4),
+                LocalDateTime.of(2024, 12, 31, 23, 59, 59, 999_999_999),
+                LocalDateTime.of(987, 6, 7, 8, 9, 10, 123_000),
+                LocalDateTime.of(2024, 5, 1, 0, 0, 0, 10)
+        };
+
+        for (LocalDateTime cursor : cursors) {
+            String key = (String) keyGenerator.generate(null, method, 10, cursor(PaginationMode.NEXT, cursor, 1L));
+
+            assertTrue(key.endsWith("|curCreatAt=" + cursor.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "|curId=1"),
+                    key);
+        }
+    }
+
+    @Test
+    void generate_shouldReturnUniqueBypassKey_whenGenerationIsUnavailable() throws Exception {
+        Method method = CommentService.class.getMethod("getKeysetTaskComments",
+                Long.class, Integer.class, KeysetCursor.class);
+
+        when(cacheEvictionEngine.keyGeneration(CacheTag.task(4L)))
+                .thenThrow(new CacheUnavailableException("Redis circuit breaker is open"));
+
+        Object first = keyGenerator.generate(null, method, 4L, 20, null);
+        Object second = keyGenerator.generate(null, method, 4L, 20, null);
+
+        assertInstanceOf(CacheBypassKey.class, first);
+        assertNotEquals(first, second);
+        assertNotEquals(first.toString(), second.toString());
+    }
+
+    @Test
+    void afterSingletonsInstantiated_shouldFailFast_whenCachedMethodHasNoSchema() {
+        beanFactory.registerBeanDefinition("missingSchema", new RootBeanDefinition(MissingSchemaService.class));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> keyGenerator.afterSingletonsInstantiated());
+        assertTrue(error.getMessage().contains("@CacheKeySchema is missing"), error.getMessage());
+    }
+
+    @Test
+    void afterSingletonsInstantiated_shouldFailFast_whenParameterIsNotInKey() {
+        beanFactory.registerBeanDefinition("ignoredParam", new RootBeanDefinition(IgnoredParameterService.class));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> keyGenerator.afterSingletonsInstantiated());
+        assertTrue(error.getMessage().contains("parameter 'status' is not part of the key"), error.getMessage());
+    }
+
+    @Test
+    void afterSingletonsInstantiated_shouldFailFast_whenKeyIsSharedImplicitly() {
+        beanFactory.registerBeanDefinition("implicitShare", new RootBeanDefinition(ImplicitlySharedService.class));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> keyGenerator.afterSingletonsInstantiated());
+        assertTrue(error.getMessage().contains("declare shared = true"), error.getMessage());
+    }
+
+    @Test
+    void afterSingletonsInstantiated_shouldFailFast_onUnknownPlaceholder() {
+        beanFactory.registerBeanDefinition("typo", new RootBeanDefinition(UnknownPlaceholderService.class));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> keyGenerator.afterSingletonsInstantiated());
+        assertTrue(error.getMessage().contains("unknown placeholder {projId}"), error.getMessage());
+    }
+
+    private static KeysetCursor cursor(PaginationMode mode, LocalDateTime createdAt, Long id) {
+        return new KeysetCursor(mode, 0, createdAt, id);
+    }
+
+    static class MissingSchemaService {
+
+        @Cacheable(value = "taskPages", keyGenerator = UniversalKeyGenerator.BEAN_NAME)
+        public Object load(Long projectId) {
+            return null;
+        }
+    }
+
+    static class IgnoredParameterService {
+
+        @Cacheable(value = "taskPages", keyGenerator = UniversalKeyGenerator.BEAN_NAME)
+        @CacheKeySchema(value = "load|projId={projectId}|{version}",
+                scope = CacheTag.Type.PROJECT, scopeParam = "projectId", shared = true)
+        public Object load(Long projectId, String status) {
+            return null;
+        }
+    }
+
+    static class ImplicitlySharedService {
+
+        @Cacheable(value = "projectPages", keyGenerator = UniversalKeyGenerator.BEAN_NAME)
+        @CacheKeySchema(value = "load|owner={ownerId}|{version}",
+                scope = CacheTag.Type.USER, scopeParam = "ownerId")
+        public Object load(Long ownerId) {
+            return null;
+        }
+    }
+
+    static class UnknownPlaceholderService {
+
+        @Cacheable(value = "taskPages", keyGenerator = UniversalKeyGenerator.BEAN_NAME)
+        @CacheKeySchema(value = "load|projId={projId}|{version}",
+                scope = CacheTag.Type.PROJECT, scopeParam = "projectId", shared = true)
+        public Object load(Long projectId) {
+            return null;
+        }
+    }
+}
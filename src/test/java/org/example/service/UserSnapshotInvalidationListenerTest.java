@@ -0,0 +1,107 @@
+package org.example.service;
+
+import org.example.config.JwtProperties;
+import org.example.config.cache.LocalCacheInvalidationBus;
+import org.example.entity.Role;
+import org.example.entity.UserEntity;
+import org.example.repository.UserRepository;
+import org.example.security.principal.UserSnapshotCache;
+import org.example.security.principal.UserSnapshotInvalidationListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserSnapshotInvalidationListenerTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private LocalCacheInvalidationBus invalidationBus;
+
+    private UserSnapshotCache userSnapshotCache;
+    private UserSnapshotInvalidationListener listener;
+
+    private final UserEntity user = UserEntity.builder()
+            .id(7L)
+            .email("test@mail.ru")
+            .role(Role.USER)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        userSnapshotCache = new UserSnapshotCache(userRepository, new JwtProperties(), invalidationBus);
+        userSnapshotCache.init();
+        listener = new UserSnapshotInvalidationListener(userSnapshotCache);
+
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void onUserChanged_shouldEvictAndPublish_onlyAfterCommit() {
+        userSnapshotCache.get(7L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        listener.onUserChanged(user);
+
+        // До коммита снапшот остается, иначе его перечитают из еще не закоммиченной базы
+        userSnapshotCache.get(7L);
+        verify(userRepository, times(1)).findById(7L);
+        verify(invalidationBus, never()).publish(anyString(), anyString());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        userSnapshotCache.get(7L);
+        verify(userRepository, times(2)).findById(7L);
+        verify(invalidationBus).publish("userSnapshot", "7");
+    }
+
+    @Test
+    void onUserChanged_shouldNotEvict_whenTransactionRollsBack() {
+        userSnapshotCache.get(7L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        listener.onUserChanged(user);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        userSnapshotCache.get(7L);
+        verify(userRepository, times(1)).findById(7L);
+        verify(invalidationBus, never()).publish(anyString(), anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void remoteInvalidation_shouldEvictLocalSnapshot_withoutRepublishing() {
+        ArgumentCaptor<Consumer<String>> handler = ArgumentCaptor.forClass(Consumer.class);
+        verify(invalidationBus).subscribe(eq("userSnapshot"), handler.capture());
+
+        userSnapshotCache.get(7L);
+        handler.getValue().accept("7");
+        userSnapshotCache.get(7L);
+
+        verify(userRepository, times(2)).findById(7L);
+        verify(invalidationBus, never()).publish(anyString(), anyString());
+    }
+}
@@ -0,0 +1,192 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.JwtProperties;
+import org.example.config.WebSocketAuthInterceptor;
+import org.example.config.cache.LocalCacheInvalidationBus;
+import org.example.entity.Role;
+import org.example.entity.UserEntity;
+import org.example.repository.UserRepository;
+import org.example.security.principal.JwtPrincipalResolver;
+import org.example.security.principal.UserSnapshotCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebSocketAuthInterceptorTest {
+
+    private static final String TIMER = "task_manager_ws_connect_timer";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private LocalCacheInvalidationBus invalidationBus;
+
+    @Mock
+    private MessageChannel channel;
+
+    private JwtProperties properties;
+    private JwtService jwtService;
+    private SimpleMeterRegistry meterRegistry;
+    private WebSocketAuthInterceptor interceptor;
+
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        properties = new JwtProperties();
+        properties.setSecret("test-secret-test-secret-test-secret-test-secret-test-secret");
+        properties.setAccessTokenExpiration(Duration.ofMinutes(15));
+        properties.setRefreshTokenExpiration(Duration.ofDays(1));
+
+        jwtService = new JwtService(properties);
+        jwtService.init();
+
+        UserSnapshotCache userSnapshotCache = new UserSnapshotCache(userRepository, properties, invalidationBus);
+        userSnapshotCache.init();
+
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new WebSocketAuthInterceptor(
+                new JwtPrincipalResolver(jwtService, properties, userSnapshotCache, userDetailsService),
+                meterRegistry);
+
+        user = UserEntity.builder()
+                .id(7L)
+                .publicUid("ABCDEF1234")
+                .email("test@mail.ru")
+                .password("hash")
+                .firstName("Test")
+                .lastName("Test")
+                .role(Role.USER)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void preSend_shouldAuthenticateConnect_whenTokenIsValid() {
+
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+
+        StompHeaderAccessor accessor = connect("Bearer " + jwtService.generateAccessToken(user));
+
+        interceptor.preSend(message(accessor), channel);
+
+        UsernamePasswordAuthenticationToken authentication =
+                assertInstanceOf(UsernamePasswordAuthenticationToken.class, accessor.getUser());
+        assertEquals(7L, ((UserEntity) authentication.getPrincipal()).getId());
+        assertTrue(authentication.getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_USER")));
+        assertOutcome("authenticated");
+    }
+
+    @Test
+    void preSend_shouldRejectConnect_whenTokenIsInvalid() {
+
+        StompHeaderAccessor accessor = connect("Bearer not-a-jwt");
+
+        interceptor.preSend(message(accessor), channel);
+
+        assertNull(accessor.getUser());
+        assertOutcome("rejected");
+        verifyNoInteractions(userRepository, userDetailsService);
+    }
+
+    @Test
+    void preSend_shouldRejectConnect_whenTokenIsExpired() {
+
+        properties.setAccessTokenExpiration(Duration.ofMinutes(-1));
+        StompHeaderAccessor accessor = connect("Bearer " + jwtService.generateAccessToken(user));
+
+        interceptor.preSend(message(accessor), channel);
+
+        assertNull(accessor.getUser());
+        assertOutcome("rejected");
+        verifyNoInteractions(userRepository, userDetailsService);
+    }
+
+    @Test
+    void preSend_shouldLeaveConnectAnonymous_whenHeaderIsMissingOrNotBearer() {
+
+        StompHeaderAccessor missing = connect(null);
+        StompHeaderAccessor basic = connect("Basic dGVzdDp0ZXN0");
+
+        interceptor.preSend(message(missing), channel);
+        interceptor.preSend(message(basic), channel);
+
+        assertNull(missing.getUser());
+        assertNull(basic.getUser());
+        assertEquals(2, meterRegistry.get(TIMER).tag("outcome", "anonymous").timer().count());
+    }
+
+    @Test
+    void preSend_shouldRecordError_whenPrincipalCannotBeLoaded() {
+
+        when(userRepository.findById(7L)).thenThrow(new DataAccessResourceFailureException("db is down"));
+
+        StompHeaderAccessor accessor = connect("Bearer " + jwtService.generateAccessToken(user));
+
+        interceptor.preSend(message(accessor), channel);
+
+        assertNull(accessor.getUser());
+        assertOutcome("error");
+    }
+
+    @Test
+    void preSend_shouldNotTimeOtherFrames() {
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SEND);
+        accessor.setNativeHeader("Authorization", "Bearer " + jwtService.generateAccessToken(user));
+        accessor.setLeaveMutable(true);
+
+        interceptor.preSend(message(accessor), channel);
+
+        assertNull(accessor.getUser());
+        assertNull(meterRegistry.find(TIMER).timer());
+        verifyNoInteractions(userRepository);
+    }
+
+    private static StompHeaderAccessor connect(String authorization) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        if (authorization != null) {
+            accessor.setNativeHeader("Authorization", authorization);
+        }
+        // Перехватчик пишет пользователя в тот же accessor, через который проверяется результат
+        accessor.setLeaveMutable(true);
+        return accessor;
+    }
+
+    private static Message<byte[]> message(StompHeaderAccessor accessor) {
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    // Ровно одно измерение и только с ожидаемым исходом
+    private void assertOutcome(String outcome) {
+        assertEquals(1, meterRegistry.get(TIMER)
+                .tag("service", "task-manager")
+                .tag("outcome", outcome)
+                .timer().count());
+        assertEquals(1, meterRegistry.get(TIMER).timers().size());
+    }
+}